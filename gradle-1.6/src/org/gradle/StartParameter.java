@@ -69,6 +69,7 @@ public class StartParameter extends LoggingConfiguration implements Serializable
     private boolean dryRun;
     private boolean rerunTasks;
     private boolean profile;
+    private boolean profileTrace;
     private boolean continueOnFailure;
     private boolean offline;
     private File projectCacheDir;
@@ -147,6 +148,7 @@ public class StartParameter extends LoggingConfiguration implements Serializable
         p.setColorOutput(isColorOutput());
         p.setShowStacktrace(getShowStacktrace());
         p.profile = profile;
+        p.profileTrace = profileTrace;
         p.continueOnFailure = continueOnFailure;
         p.offline = offline;
         p.rerunTasks = rerunTasks;
@@ -522,6 +524,24 @@ public class StartParameter extends LoggingConfiguration implements Serializable
         return profile;
     }
 
+    /**
+     * Specifies if a trace of the build, in the Chrome trace event format, should be generated.
+     *
+     * @param profileTrace true if a trace should be generated
+     */
+    @Incubating
+    public void setProfileTrace(boolean profileTrace) {
+        this.profileTrace = profileTrace;
+    }
+
+    /**
+     * Returns true if a trace of the build will be generated.
+     */
+    @Incubating
+    public boolean isProfileTrace() {
+        return profileTrace;
+    }
+
     /**
      * Specifies whether the build should continue on task failure. The default is false.
      */
@@ -17,6 +17,7 @@ package org.gradle.api.file;
 
 import groovy.lang.Closure;
 import org.gradle.api.Action;
+import org.gradle.api.Incubating;
 import org.gradle.api.tasks.util.PatternFilterable;
 import org.gradle.api.specs.Spec;
 
@@ -95,6 +96,23 @@ public interface CopySpec extends CopySourceSpec, CopyProcessingSpec, PatternFil
      */
     void setIncludeEmptyDirs(boolean includeEmptyDirs);
 
+    /**
+     * Gets the charset used to read and write files when filtering.
+     * By default, the JVM default charset is used.
+     *
+     * @return the charset used to read and write files when filtering
+     */
+    @Incubating
+    String getFilteringCharset();
+
+    /**
+     * Specifies the charset used to read and write files when filtering.
+     *
+     * @param charset the name of the charset to use when filtering files
+     */
+    @Incubating
+    void setFilteringCharset(String charset);
+
     /**
      * Adds the given specs as a child of this spec.
      * @param sourceSpecs The specs to add
@@ -25,6 +25,11 @@ public interface TaskOutputsInternal extends TaskOutputs {
 
     FileCollection getPreviousFiles();
 
+    /**
+     * Returns true if the outputs of the task can be stored in and restored from the task output cache.
+     */
+    boolean isCacheEnabled();
+
     void setHistory(TaskExecutionHistory history);
 
 }
@@ -17,6 +17,7 @@ package org.gradle.api.internal.changedetection;
 
 import org.gradle.api.tasks.incremental.IncrementalTaskInputs;
 import org.gradle.api.internal.TaskExecutionHistory;
+import org.gradle.util.hash.HashValue;
 
 /**
  * Encapsulates the state of the task when its outputs were last generated.
@@ -29,6 +30,14 @@ public interface TaskArtifactState {
 
     IncrementalTaskInputs getInputChanges();
 
+    /**
+     * Calculates a key which identifies the outputs the task would produce from its current inputs. The key covers the task type,
+     * the input properties, the contents of the input files and the locations of the output files.
+     *
+     * @return The key, or null when the outputs of the task cannot be identified this way.
+     */
+    HashValue calculateCacheKey();
+
     /**
      * Called before the task is to be executed. Note that {@link #isUpToDate()} may not necessarily have been called.
      */
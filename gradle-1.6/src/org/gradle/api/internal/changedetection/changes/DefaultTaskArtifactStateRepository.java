@@ -16,6 +16,7 @@
 
 package org.gradle.api.internal.changedetection.changes;
 
+import com.google.common.io.ByteStreams;
 import org.gradle.api.file.FileCollection;
 import org.gradle.api.internal.TaskExecutionHistory;
 import org.gradle.api.internal.TaskInternal;
@@ -24,18 +25,30 @@ import org.gradle.api.internal.changedetection.TaskArtifactStateRepository;
 import org.gradle.api.internal.changedetection.rules.TaskStateChange;
 import org.gradle.api.internal.changedetection.rules.TaskStateChanges;
 import org.gradle.api.internal.changedetection.rules.TaskUpToDateState;
+import org.gradle.api.internal.changedetection.state.FileCollectionSnapshot;
 import org.gradle.api.internal.changedetection.state.FileSnapshotter;
+import org.gradle.api.internal.changedetection.state.InputPropertiesSerializer;
 import org.gradle.api.internal.changedetection.state.TaskExecution;
 import org.gradle.api.internal.changedetection.state.TaskHistoryRepository;
+import org.gradle.api.internal.tasks.ContextAwareTaskAction;
 import org.gradle.api.internal.file.collections.SimpleFileCollection;
 import org.gradle.api.logging.Logger;
 import org.gradle.api.logging.Logging;
 import org.gradle.api.tasks.incremental.IncrementalTaskInputs;
+import org.gradle.internal.UncheckedException;
 import org.gradle.internal.reflect.Instantiator;
+import org.gradle.util.ClassLoaderBackedClasspathSource;
+import org.gradle.util.GradleVersion;
+import org.gradle.util.hash.HashValue;
 
-import java.util.ArrayList;
-import java.util.Formatter;
-import java.util.List;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.InputStream;
+import java.net.URL;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.util.*;
 
 public class DefaultTaskArtifactStateRepository implements TaskArtifactStateRepository {
 
@@ -44,6 +57,7 @@ public class DefaultTaskArtifactStateRepository implements TaskArtifactStateRepo
     private final FileSnapshotter outputFilesSnapshotter;
     private final FileSnapshotter inputFilesSnapshotter;
     private final Instantiator instantiator;
+    private final Map<ClassLoader, HashValue> classLoaderHashes = new HashMap<ClassLoader, HashValue>();
 
     public DefaultTaskArtifactStateRepository(TaskHistoryRepository taskHistoryRepository, Instantiator instantiator,
                                               FileSnapshotter outputFilesSnapshotter, FileSnapshotter inputFilesSnapshotter) {
@@ -57,6 +71,34 @@ public class DefaultTaskArtifactStateRepository implements TaskArtifactStateRepo
         return new TaskArtifactStateImpl(task, taskHistoryRepository.getHistory(task));
     }
 
+    /**
+     * Calculates a hash of the class path visible to the given ClassLoader, including the size and modification time of each file on it.
+     */
+    private HashValue getClassLoaderHash(ClassLoader classLoader) throws Exception {
+        synchronized (classLoaderHashes) {
+            HashValue hash = classLoaderHashes.get(classLoader);
+            if (hash == null) {
+                Set<URL> classpath = new LinkedHashSet<URL>();
+                new ClassLoaderBackedClasspathSource(classLoader).collectClasspath(classpath);
+                MessageDigest digest = MessageDigest.getInstance("MD5");
+                DataOutputStream output = new DataOutputStream(new DigestOutputStream(ByteStreams.nullOutputStream(), digest));
+                output.writeInt(classpath.size());
+                for (URL url : classpath) {
+                    output.writeUTF(url.toString());
+                    if (url.getProtocol().equals("file")) {
+                        File file = new File(url.toURI());
+                        output.writeLong(file.length());
+                        output.writeLong(file.lastModified());
+                    }
+                }
+                output.flush();
+                hash = new HashValue(digest.digest());
+                classLoaderHashes.put(classLoader, hash);
+            }
+            return hash;
+        }
+    }
+
     private class TaskArtifactStateImpl implements TaskArtifactState, TaskExecutionHistory {
         private final TaskInternal task;
         private final TaskHistoryRepository.History history;
@@ -117,6 +159,77 @@ public class DefaultTaskArtifactStateRepository implements TaskArtifactStateRepo
             return instantiator.newInstance(RebuildIncrementalTaskInputs.class, task);
         }
 
+        public HashValue calculateCacheKey() {
+            TaskExecution currentExecution = history.getCurrentExecution();
+            getStates();
+            FileCollectionSnapshot inputFilesSnapshot = currentExecution.getInputFilesSnapshot();
+            if (inputFilesSnapshot == null) {
+                return null;
+            }
+
+            try {
+                MessageDigest digest = MessageDigest.getInstance("MD5");
+                DataOutputStream output = new DataOutputStream(new DigestOutputStream(ByteStreams.nullOutputStream(), digest));
+                output.writeUTF(GradleVersion.current().getVersion());
+                output.writeUTF(GradleVersion.current().getBuildTime());
+                output.writeUTF(currentExecution.getTaskClass());
+                writeClassLoaderHash(output, task.getClass().getClassLoader());
+                List<ContextAwareTaskAction> actions = task.getTaskActions();
+                output.writeInt(actions.size());
+                for (ContextAwareTaskAction action : actions) {
+                    if (!writeActionIdentity(output, action.getActionClass())) {
+                        LOGGER.debug("Not caching outputs of {} as the implementation of one of its actions cannot be identified.", task);
+                        return null;
+                    }
+                }
+                Map<String, Object> inputProperties = new TreeMap<String, Object>(currentExecution.getInputProperties());
+                new InputPropertiesSerializer(task.getClass().getClassLoader()).write((DataOutput) output, inputProperties);
+                Set<File> outputFiles = task.getOutputs().getFiles().getFiles();
+                output.writeInt(outputFiles.size());
+                for (File outputFile : outputFiles) {
+                    output.writeUTF(outputFile.getAbsolutePath());
+                }
+                output.flush();
+                inputFilesSnapshot.updateDigest(digest);
+                return new HashValue(digest.digest());
+            } catch (Exception e) {
+                throw UncheckedException.throwAsUncheckedException(e);
+            }
+        }
+
+        /**
+         * Writes the name and byte code of the given action class, along with the class path it was loaded from. Returns false when the byte code
+         * cannot be located, in which case the action cannot be told apart from a different action with the same class name.
+         */
+        private boolean writeActionIdentity(DataOutputStream output, Class<?> actionClass) throws Exception {
+            ClassLoader classLoader = actionClass.getClassLoader();
+            if (classLoader == null) {
+                output.writeUTF(actionClass.getName());
+                return true;
+            }
+            InputStream classFile = classLoader.getResourceAsStream(actionClass.getName().replace('.', '/') + ".class");
+            if (classFile == null) {
+                return false;
+            }
+            try {
+                output.writeUTF(actionClass.getName());
+                ByteStreams.copy(classFile, output);
+            } finally {
+                classFile.close();
+            }
+            writeClassLoaderHash(output, classLoader);
+            return true;
+        }
+
+        private void writeClassLoaderHash(DataOutputStream output, ClassLoader classLoader) throws Exception {
+            if (classLoader == null) {
+                output.writeBoolean(false);
+                return;
+            }
+            output.writeBoolean(true);
+            output.write(getClassLoaderHash(classLoader).asByteArray());
+        }
+
         public boolean hasHistory() {
             return history.getPreviousExecution() != null;
         }
@@ -20,6 +20,7 @@ import org.gradle.api.file.FileCollection;
 import org.gradle.api.internal.TaskExecutionHistory;
 import org.gradle.api.internal.changedetection.TaskArtifactState;
 import org.gradle.api.tasks.incremental.IncrementalTaskInputs;
+import org.gradle.util.hash.HashValue;
 
 class NoHistoryArtifactState implements TaskArtifactState, TaskExecutionHistory {
     public boolean isUpToDate() {
@@ -30,6 +31,10 @@ class NoHistoryArtifactState implements TaskArtifactState, TaskExecutionHistory
         throw new UnsupportedOperationException();
     }
 
+    public HashValue calculateCacheKey() {
+        return null;
+    }
+
     public TaskExecutionHistory getExecutionHistory() {
         return this;
     }
@@ -23,6 +23,7 @@ import org.gradle.api.internal.changedetection.TaskArtifactState;
 import org.gradle.api.internal.changedetection.TaskArtifactStateRepository;
 import org.gradle.api.tasks.incremental.IncrementalTaskInputs;
 import org.gradle.internal.reflect.Instantiator;
+import org.gradle.util.hash.HashValue;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -73,6 +74,11 @@ public class ShortCircuitTaskArtifactStateRepository implements TaskArtifactStat
             return instantiator.newInstance(RebuildIncrementalTaskInputs.class, task);
         }
 
+        public HashValue calculateCacheKey() {
+            // The outputs must be regenerated, so they cannot be taken from a cache
+            return null;
+        }
+
         public TaskExecutionHistory getExecutionHistory() {
             return delegate.getExecutionHistory();
         }
@@ -31,6 +31,7 @@ import java.util.Iterator;
 class InputFilesStateChangeRule {
     public static TaskStateChanges create(final TaskInternal task, final TaskExecution previousExecution, final TaskExecution currentExecution, final FileSnapshotter inputFilesSnapshotter) {
         final FileCollectionSnapshot inputFilesSnapshot = inputFilesSnapshotter.snapshot(task.getInputs().getFiles());
+        currentExecution.setInputFilesSnapshot(inputFilesSnapshot);
 
         return new TaskStateChanges() {
 
@@ -54,7 +55,6 @@ class InputFilesStateChangeRule {
             }
 
             public void snapshotAfterTask() {
-                currentExecution.setInputFilesSnapshot(inputFilesSnapshot);
             }
         };
     }
@@ -15,28 +15,26 @@
  */
 package org.gradle.api.internal.changedetection.state;
 
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
 import org.gradle.internal.Factory;
 import org.gradle.api.internal.TaskInternal;
-import org.gradle.messaging.serialize.DefaultSerializer;
+import org.gradle.internal.UncheckedException;
+import org.gradle.messaging.serialize.DataStreamBackedSerializer;
 import org.gradle.cache.PersistentIndexedCache;
 
-import java.io.File;
-import java.io.Serializable;
-import java.util.ArrayList;
-import java.util.HashSet;
-import java.util.List;
-import java.util.Set;
+import java.io.*;
+import java.util.*;
 
 public class CacheBackedTaskHistoryRepository implements TaskHistoryRepository {
     private final TaskArtifactStateCacheAccess cacheAccess;
     private final FileSnapshotRepository snapshotRepository;
     private final PersistentIndexedCache<String, TaskHistory> taskHistoryCache;
-    private final DefaultSerializer<TaskHistory> serializer = new DefaultSerializer<TaskHistory>();
 
     public CacheBackedTaskHistoryRepository(TaskArtifactStateCacheAccess cacheAccess, FileSnapshotRepository snapshotRepository) {
         this.cacheAccess = cacheAccess;
         this.snapshotRepository = snapshotRepository;
-        taskHistoryCache = cacheAccess.createCache("taskArtifacts", String.class, TaskHistory.class, serializer);
+        taskHistoryCache = cacheAccess.createCache("taskArtifacts", String.class, TaskHistory.class, new TaskHistorySerializer());
     }
 
     public History getHistory(final TaskInternal task) {
@@ -77,20 +75,21 @@ public class CacheBackedTaskHistoryRepository implements TaskHistoryRepository {
                         snapshotRepository.remove(execution.outputFilesSnapshotId);
                     }
                 }
-                taskHistoryCache.put(task.getPath(), history);
+                taskHistoryCache.put(task.getPath(), history.copy());
             }
         };
     }
 
     private TaskHistory loadHistory(TaskInternal task) {
-        ClassLoader original = serializer.getClassLoader();
-        serializer.setClassLoader(task.getClass().getClassLoader());
-        try {
-            TaskHistory history = taskHistoryCache.get(task.getPath());
-            return history == null ? new TaskHistory() : history;
-        } finally {
-            serializer.setClassLoader(original);
+        TaskHistory history = taskHistoryCache.get(task.getPath());
+        if (history == null) {
+            return new TaskHistory();
         }
+        TaskHistory copy = history.copy();
+        for (LazyTaskExecution configuration : copy.configurations) {
+            configuration.classLoader = task.getClass().getClassLoader();
+        }
+        return copy;
     }
 
     private static Set<String> outputFiles(TaskInternal task) {
@@ -129,16 +128,75 @@ public class CacheBackedTaskHistoryRepository implements TaskHistoryRepository {
     private static class TaskHistory implements Serializable {
         private static final int MAX_HISTORY_ENTRIES = 3;
         private final List<LazyTaskExecution> configurations = new ArrayList<LazyTaskExecution>();
+
+        /**
+         * Creates a copy of this history that does not reference any state of the current build. The cache may hold on to a history
+         * across builds, so values read from and written to the cache are never mutated.
+         */
+        public TaskHistory copy() {
+            TaskHistory copy = new TaskHistory();
+            for (LazyTaskExecution configuration : configurations) {
+                copy.configurations.add(configuration.copy());
+            }
+            return copy;
+        }
     }
 
     private static class LazyTaskExecution extends TaskExecution {
         private Long inputFilesSnapshotId;
         private Long outputFilesSnapshotId;
+        private byte[] encodedInputProperties;
+        private transient ClassLoader classLoader;
         private transient FileSnapshotRepository snapshotRepository;
         private transient FileCollectionSnapshot inputFilesSnapshot;
         private transient FileCollectionSnapshot outputFilesSnapshot;
         private transient TaskArtifactStateCacheAccess cacheAccess;
 
+        public LazyTaskExecution copy() {
+            LazyTaskExecution copy = new LazyTaskExecution();
+            copy.setTaskClass(getTaskClass());
+            // Keep the input properties in their encoded form only, so that the copy does not refer to any of the ClassLoaders of the build
+            try {
+                copy.encodedInputProperties = getEncodedInputProperties();
+            } catch (Exception e) {
+                throw UncheckedException.throwAsUncheckedException(e);
+            }
+            copy.setOutputFiles(getOutputFiles());
+            copy.inputFilesSnapshotId = inputFilesSnapshotId;
+            copy.outputFilesSnapshotId = outputFilesSnapshotId;
+            return copy;
+        }
+
+        /**
+         * Decodes the input properties on first use, as they are only needed when nothing else has changed.
+         */
+        @Override
+        public Map<String, Object> getInputProperties() {
+            if (encodedInputProperties != null && super.getInputProperties() == null) {
+                try {
+                    super.setInputProperties(new InputPropertiesSerializer(classLoader).read(new ByteArrayInputStream(encodedInputProperties)));
+                } catch (Exception e) {
+                    throw UncheckedException.throwAsUncheckedException(e);
+                }
+            }
+            return super.getInputProperties();
+        }
+
+        @Override
+        public void setInputProperties(Map<String, Object> inputProperties) {
+            super.setInputProperties(inputProperties);
+            encodedInputProperties = null;
+        }
+
+        private byte[] getEncodedInputProperties() throws Exception {
+            if (encodedInputProperties == null && super.getInputProperties() != null) {
+                ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+                new InputPropertiesSerializer(classLoader).write(outputStream, super.getInputProperties());
+                encodedInputProperties = outputStream.toByteArray();
+            }
+            return encodedInputProperties;
+        }
+
         @Override
         public FileCollectionSnapshot getInputFilesSnapshot() {
             if (inputFilesSnapshot == null) {
@@ -171,4 +229,102 @@ public class CacheBackedTaskHistoryRepository implements TaskHistoryRepository {
             outputFilesSnapshotId = null;
         }
     }
+
+    /**
+     * A versioned binary format for task history. Strings that repeat between the executions of a task, such as the
+     * task class and the output files, are written once per history.
+     */
+    private static class TaskHistorySerializer extends DataStreamBackedSerializer<TaskHistory> {
+        private static final byte VERSION = 1;
+        private static final Interner<String> STRINGS = Interners.newWeakInterner();
+
+        @Override
+        public TaskHistory read(DataInput input) throws IOException {
+            TaskHistory history = new TaskHistory();
+            if (input.readByte() != VERSION) {
+                // Written in a different format. Discard the history, which means the task is executed again
+                return history;
+            }
+            List<String> strings = new ArrayList<String>();
+            int count = input.readInt();
+            for (int i = 0; i < count; i++) {
+                LazyTaskExecution execution = new LazyTaskExecution();
+                execution.setTaskClass(readString(input, strings));
+                int outputFileCount = input.readInt();
+                Set<String> outputFiles = new HashSet<String>(outputFileCount * 2);
+                for (int j = 0; j < outputFileCount; j++) {
+                    outputFiles.add(readString(input, strings));
+                }
+                execution.setOutputFiles(outputFiles);
+                execution.inputFilesSnapshotId = input.readBoolean() ? input.readLong() : null;
+                execution.outputFilesSnapshotId = input.readBoolean() ? input.readLong() : null;
+                int encodedLength = input.readInt();
+                if (encodedLength >= 0) {
+                    execution.encodedInputProperties = new byte[encodedLength];
+                    input.readFully(execution.encodedInputProperties);
+                }
+                history.configurations.add(execution);
+            }
+            return history;
+        }
+
+        @Override
+        public void write(DataOutput output, TaskHistory value) throws IOException {
+            output.writeByte(VERSION);
+            Map<String, Integer> strings = new HashMap<String, Integer>();
+            output.writeInt(value.configurations.size());
+            for (LazyTaskExecution execution : value.configurations) {
+                writeString(output, execution.getTaskClass(), strings);
+                output.writeInt(execution.getOutputFiles().size());
+                for (String outputFile : execution.getOutputFiles()) {
+                    writeString(output, outputFile, strings);
+                }
+                writeId(output, execution.inputFilesSnapshotId);
+                writeId(output, execution.outputFilesSnapshotId);
+                byte[] encodedInputProperties;
+                try {
+                    encodedInputProperties = execution.getEncodedInputProperties();
+                } catch (Exception e) {
+                    throw UncheckedException.throwAsUncheckedException(e);
+                }
+                if (encodedInputProperties == null) {
+                    output.writeInt(-1);
+                } else {
+                    output.writeInt(encodedInputProperties.length);
+                    output.write(encodedInputProperties);
+                }
+            }
+        }
+
+        private static void writeId(DataOutput output, Long id) throws IOException {
+            output.writeBoolean(id != null);
+            if (id != null) {
+                output.writeLong(id);
+            }
+        }
+
+        /**
+         * Writes the index of a string written earlier, or the next index followed by the string itself.
+         */
+        private static void writeString(DataOutput output, String value, Map<String, Integer> strings) throws IOException {
+            Integer index = strings.get(value);
+            if (index != null) {
+                output.writeInt(index);
+            } else {
+                output.writeInt(strings.size());
+                strings.put(value, strings.size());
+                output.writeUTF(value);
+            }
+        }
+
+        private static String readString(DataInput input, List<String> strings) throws IOException {
+            int index = input.readInt();
+            if (index < strings.size()) {
+                return strings.get(index);
+            }
+            String value = STRINGS.intern(input.readUTF());
+            strings.add(value);
+            return value;
+        }
+    }
 }
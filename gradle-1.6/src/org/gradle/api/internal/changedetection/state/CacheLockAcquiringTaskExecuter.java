@@ -19,6 +19,8 @@ package org.gradle.api.internal.changedetection.state;
 import org.gradle.api.internal.TaskInternal;
 import org.gradle.api.internal.tasks.TaskExecuter;
 import org.gradle.api.internal.tasks.TaskStateInternal;
+import org.gradle.profile.TraceRecorder;
+import org.gradle.profile.TraceSpan;
 
 /**
  * Ensure that the task artifact cache is locked.
@@ -27,17 +29,33 @@ import org.gradle.api.internal.tasks.TaskStateInternal;
 public class CacheLockAcquiringTaskExecuter implements TaskExecuter {
     private final TaskExecuter executer;
     private final TaskArtifactStateCacheAccess cacheAccess;
+    private final TraceRecorder traceRecorder;
 
-    public CacheLockAcquiringTaskExecuter(TaskArtifactStateCacheAccess cacheAccess, TaskExecuter executer) {
+    public CacheLockAcquiringTaskExecuter(TaskArtifactStateCacheAccess cacheAccess, TraceRecorder traceRecorder, TaskExecuter executer) {
         this.executer = executer;
         this.cacheAccess = cacheAccess;
+        this.traceRecorder = traceRecorder;
     }
 
     public void execute(final TaskInternal task, final TaskStateInternal state) {
-        cacheAccess.useCache(String.format("execute %s", task), new Runnable() {
-            public void run() {
-                executer.execute(task, state);
-            }
-        });
+        final TraceSpan[] lockWait = new TraceSpan[]{traceRecorder.start("cache lock wait", task.getPath())};
+        try {
+            cacheAccess.useCache(String.format("execute %s", task), new Runnable() {
+                public void run() {
+                    endLockWait(lockWait);
+                    executer.execute(task, state);
+                }
+            });
+        } finally {
+            // The lock could not be acquired, so the runnable did not end the span
+            endLockWait(lockWait);
+        }
+    }
+
+    private static void endLockWait(TraceSpan[] lockWait) {
+        if (lockWait[0] != null) {
+            lockWait[0].end();
+            lockWait[0] = null;
+        }
     }
 }
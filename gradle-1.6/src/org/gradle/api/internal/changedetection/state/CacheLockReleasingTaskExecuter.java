@@ -19,21 +19,38 @@ import org.gradle.api.internal.TaskInternal;
 import org.gradle.api.internal.tasks.ContextualTaskExecuter;
 import org.gradle.api.internal.tasks.TaskExecutionContext;
 import org.gradle.api.internal.tasks.TaskStateInternal;
+import org.gradle.profile.TraceRecorder;
+import org.gradle.profile.TraceSpan;
 
 public class CacheLockReleasingTaskExecuter implements ContextualTaskExecuter {
     private final ContextualTaskExecuter executer;
     private final TaskArtifactStateCacheAccess cacheAccess;
+    private final TraceRecorder traceRecorder;
 
-    public CacheLockReleasingTaskExecuter(TaskArtifactStateCacheAccess cacheAccess, ContextualTaskExecuter executer) {
+    public CacheLockReleasingTaskExecuter(TaskArtifactStateCacheAccess cacheAccess, TraceRecorder traceRecorder, ContextualTaskExecuter executer) {
         this.executer = executer;
         this.cacheAccess = cacheAccess;
+        this.traceRecorder = traceRecorder;
     }
 
     public void execute(final TaskInternal task, final TaskStateInternal state, final TaskExecutionContext context) {
-        cacheAccess.longRunningOperation(String.format("execute %s", task), new Runnable() {
-            public void run() {
-                executer.execute(task, state, context);
+        final TraceSpan[] lockWait = new TraceSpan[1];
+        try {
+            cacheAccess.longRunningOperation(String.format("execute %s", task), new Runnable() {
+                public void run() {
+                    try {
+                        executer.execute(task, state, context);
+                    } finally {
+                        // Time spent reacquiring the cache lock once the task has finished
+                        lockWait[0] = traceRecorder.start("cache lock wait", task.getPath());
+                    }
+                }
+            });
+        } finally {
+            // End the span even when the lock could not be reacquired, so that the failed wait is traced
+            if (lockWait[0] != null) {
+                lockWait[0].end();
             }
-        });
+        }
     }
 }
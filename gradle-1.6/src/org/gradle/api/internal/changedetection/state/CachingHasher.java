@@ -15,6 +15,8 @@
  */
 package org.gradle.api.internal.changedetection.state;
 
+import org.gradle.api.file.FileTreeElement;
+import org.gradle.api.internal.file.DefaultFileTreeElement;
 import org.gradle.cache.PersistentIndexedCache;
 import org.gradle.messaging.serialize.DataStreamBackedSerializer;
 
@@ -31,10 +33,21 @@ public class CachingHasher implements Hasher {
     }
 
     public byte[] hash(File file) {
+        return hash(file, file.length(), file.lastModified());
+    }
+
+    public byte[] hash(FileTreeElement fileDetails) {
+        if (!(fileDetails instanceof DefaultFileTreeElement)) {
+            // Attributes of other elements, such as archive entries, do not describe the file itself
+            return hash(fileDetails.getFile());
+        }
+        return hash(fileDetails.getFile(), fileDetails.getSize(), fileDetails.getLastModified());
+    }
+
+    private byte[] hash(File file, long length, long timestamp) {
         FileInfo info = cache.get(file);
 
-        long length = file.length();
-        timestamp = file.lastModified();
+        this.timestamp = timestamp;
         if (info != null && length == info.length && timestamp == info.timestamp) {
             return info.hash;
         }
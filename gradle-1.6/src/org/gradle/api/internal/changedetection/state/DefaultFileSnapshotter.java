@@ -16,21 +16,33 @@
 
 package org.gradle.api.internal.changedetection.state;
 
+import org.gradle.api.file.EmptyFileVisitor;
 import org.gradle.api.file.FileCollection;
+import org.gradle.api.file.FileVisitDetails;
 import org.gradle.api.internal.file.collections.SimpleFileCollection;
+import org.gradle.internal.Factory;
+import org.gradle.profile.TraceRecorder;
+import org.gradle.profile.TraceSpan;
 import org.gradle.util.ChangeListener;
 import org.gradle.util.NoOpChangeListener;
 
 import java.io.File;
 import java.io.Serializable;
 import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.security.MessageDigest;
 import java.util.*;
 
 public class DefaultFileSnapshotter implements FileSnapshotter {
     private final Hasher hasher;
+    private final WatchedFileSnapshotCache snapshotCache;
+    private final TraceRecorder traceRecorder;
 
-    public DefaultFileSnapshotter(Hasher hasher) {
+    public DefaultFileSnapshotter(Hasher hasher, WatchedFileSnapshotCache snapshotCache, TraceRecorder traceRecorder) {
         this.hasher = hasher;
+        this.snapshotCache = snapshotCache;
+        this.traceRecorder = traceRecorder;
     }
 
     public FileCollectionSnapshot emptySnapshot() {
@@ -38,21 +50,71 @@ public class DefaultFileSnapshotter implements FileSnapshotter {
     }
 
     public FileCollectionSnapshot snapshot(FileCollection sourceFiles) {
-        Map<String, FileSnapshot> snapshots = new HashMap<String, FileSnapshot>();
-        for (File file : sourceFiles.getAsFileTree()) {
-            if (file.isFile()) {
-                snapshots.put(file.getAbsolutePath(), new FileHashSnapshot(hasher.hash(file)));
-            } else if (file.isDirectory()) {
-                snapshots.put(file.getAbsolutePath(), new DirSnapshot());
-            } else {
-                snapshots.put(file.getAbsolutePath(), new MissingFileSnapshot());
+        TraceSpan span = traceRecorder.start("snapshot", sourceFiles.toString());
+        try {
+            snapshotCache.pollChanges();
+            Map<String, FileSnapshot> snapshots = new HashMap<String, FileSnapshot>();
+            sourceFiles.getAsFileTree().visit(new SnapshotVisitor(snapshots));
+            return new FileCollectionSnapshotImpl(snapshots);
+        } finally {
+            span.end();
+        }
+    }
+
+    /**
+     * Returns a snapshotter which records the size and last modified time of each file, instead of a hash of its content. This
+     * is much cheaper for large directories of generated files, such as the outputs of a task, which are rewritten by the task
+     * and so would otherwise be hashed again after every execution.
+     */
+    public FileSnapshotter metadataSnapshotter() {
+        return new MetadataSnapshotter();
+    }
+
+    private class MetadataSnapshotter implements FileSnapshotter {
+        public FileCollectionSnapshot emptySnapshot() {
+            return DefaultFileSnapshotter.this.emptySnapshot();
+        }
+
+        public FileCollectionSnapshot snapshot(FileCollection sourceFiles) {
+            TraceSpan span = traceRecorder.start("snapshot metadata", sourceFiles.toString());
+            try {
+                final Map<String, FileSnapshot> snapshots = new HashMap<String, FileSnapshot>();
+                sourceFiles.getAsFileTree().visit(new EmptyFileVisitor() {
+                    @Override
+                    public void visitFile(FileVisitDetails fileDetails) {
+                        snapshots.put(fileDetails.getFile().getAbsolutePath(), new FileMetadataSnapshot(fileDetails.getSize(), fileDetails.getLastModified()));
+                    }
+                });
+                return new FileCollectionSnapshotImpl(snapshots);
+            } finally {
+                span.end();
             }
         }
-        return new FileCollectionSnapshotImpl(snapshots);
+    }
+
+    private class SnapshotVisitor extends EmptyFileVisitor {
+        private final Map<String, FileSnapshot> snapshots;
+
+        public SnapshotVisitor(Map<String, FileSnapshot> snapshots) {
+            this.snapshots = snapshots;
+        }
+
+        @Override
+        public void visitFile(final FileVisitDetails fileDetails) {
+            File absoluteFile = fileDetails.getFile().getAbsoluteFile();
+            FileSnapshot snapshot = (FileSnapshot) snapshotCache.get(absoluteFile, fileDetails.getSize(), fileDetails.getLastModified(), new Factory<FileSnapshot>() {
+                public FileSnapshot create() {
+                    return new FileHashSnapshot(hasher.hash(fileDetails));
+                }
+            });
+            snapshots.put(absoluteFile.getPath(), snapshot);
+        }
     }
 
     private interface FileSnapshot extends Serializable {
         boolean isUpToDate(FileSnapshot snapshot);
+
+        void updateDigest(MessageDigest digest);
     }
 
     private static class FileHashSnapshot implements FileSnapshot {
@@ -71,25 +133,68 @@ public class DefaultFileSnapshotter implements FileSnapshotter {
             return Arrays.equals(hash, other.hash);
         }
 
+        public void updateDigest(MessageDigest digest) {
+            digest.update((byte) 1);
+            digest.update(hash);
+        }
+
         @Override
         public String toString() {
             return new BigInteger(1, hash).toString(16);
         }
     }
 
+    private static class FileMetadataSnapshot implements FileSnapshot {
+        private final long length;
+        private final long lastModified;
+
+        public FileMetadataSnapshot(long length, long lastModified) {
+            this.length = length;
+            this.lastModified = lastModified;
+        }
+
+        public boolean isUpToDate(FileSnapshot snapshot) {
+            if (!(snapshot instanceof FileMetadataSnapshot)) {
+                return false;
+            }
+
+            FileMetadataSnapshot other = (FileMetadataSnapshot) snapshot;
+            return length == other.length && lastModified == other.lastModified;
+        }
+
+        public void updateDigest(MessageDigest digest) {
+            digest.update((byte) 4);
+            digest.update(ByteBuffer.allocate(16).putLong(length).putLong(lastModified).array());
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s bytes, modified %s", length, lastModified);
+        }
+    }
+
     private static class DirSnapshot implements FileSnapshot {
         public boolean isUpToDate(FileSnapshot snapshot) {
             return snapshot instanceof DirSnapshot;
         }
+
+        public void updateDigest(MessageDigest digest) {
+            digest.update((byte) 2);
+        }
     }
 
     private static class MissingFileSnapshot implements FileSnapshot {
         public boolean isUpToDate(FileSnapshot snapshot) {
             return snapshot instanceof MissingFileSnapshot;
         }
+
+        public void updateDigest(MessageDigest digest) {
+            digest.update((byte) 3);
+        }
     }
 
     private static class FileCollectionSnapshotImpl implements FileCollectionSnapshot {
+        private static final Charset UTF_8 = Charset.forName("UTF-8");
         private final Map<String, FileSnapshot> snapshots;
 
         public FileCollectionSnapshotImpl(Map<String, FileSnapshot> snapshots) {
@@ -99,13 +204,21 @@ public class DefaultFileSnapshotter implements FileSnapshotter {
         public FileCollection getFiles() {
             List<File> files = new ArrayList<File>();
             for (Map.Entry<String, FileSnapshot> entry : snapshots.entrySet()) {
-                if (entry.getValue() instanceof FileHashSnapshot) {
+                if (entry.getValue() instanceof FileHashSnapshot || entry.getValue() instanceof FileMetadataSnapshot) {
                     files.add(new File(entry.getKey()));
                 }
             }
             return new SimpleFileCollection(files);
         }
 
+        public void updateDigest(MessageDigest digest) {
+            for (Map.Entry<String, FileSnapshot> entry : new TreeMap<String, FileSnapshot>(snapshots).entrySet()) {
+                digest.update(entry.getKey().getBytes(UTF_8));
+                digest.update((byte) 0);
+                entry.getValue().updateDigest(digest);
+            }
+        }
+
         public ChangeIterator<String> iterateChangesSince(FileCollectionSnapshot oldSnapshot) {
             FileCollectionSnapshotImpl other = (FileCollectionSnapshotImpl) oldSnapshot;
             final Map<String, FileSnapshot> otherSnapshots = new HashMap<String, FileSnapshot>(other.snapshots);
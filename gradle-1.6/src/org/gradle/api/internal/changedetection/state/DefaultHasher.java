@@ -15,12 +15,67 @@
  */
 package org.gradle.api.internal.changedetection.state;
 
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+import org.gradle.api.UncheckedIOException;
+import org.gradle.api.file.FileTreeElement;
 import org.gradle.util.hash.HashUtil;
 
 import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
 
+/**
+ * Hashes the content of files for up-to-date checks. The hashes are only compared with other hashes made by this class and are
+ * never published, so a fast non-cryptographic hash function can be used instead of the default MD5. The algorithm is
+ * selected with the {@value #ALGORITHM_PROPERTY} system property.
+ */
 public class DefaultHasher implements Hasher {
+    public static final String ALGORITHM_PROPERTY = "org.gradle.internal.fileHashAlgorithm";
+    public static final String MD5 = "MD5";
+    public static final String MURMUR3 = "MURMUR3";
+
+    private final String algorithm;
+    private final HashFunction hashFunction;
+
+    public DefaultHasher() {
+        this(System.getProperty(ALGORITHM_PROPERTY, MD5));
+    }
+
+    public DefaultHasher(String algorithm) {
+        this.algorithm = algorithm;
+        // Produces a 128 bit hash, the same size as MD5
+        hashFunction = algorithm.equalsIgnoreCase(MURMUR3) ? Hashing.murmur3_128() : null;
+    }
+
     public byte[] hash(File file) {
-        return HashUtil.createHash(file, "MD5").asByteArray();
+        if (hashFunction == null) {
+            return HashUtil.createHash(file, algorithm).asByteArray();
+        }
+
+        com.google.common.hash.Hasher hasher = hashFunction.newHasher();
+        byte[] buffer = HashUtil.getBuffer();
+        try {
+            InputStream instr = new FileInputStream(file);
+            try {
+                while (true) {
+                    int nread = instr.read(buffer);
+                    if (nread < 0) {
+                        break;
+                    }
+                    hasher.putBytes(buffer, 0, nread);
+                }
+            } finally {
+                instr.close();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return hasher.hash().asBytes();
+    }
+
+    public byte[] hash(FileTreeElement fileDetails) {
+        return hash(fileDetails.getFile());
     }
-}
\ No newline at end of file
+}
@@ -20,6 +20,7 @@ import org.gradle.api.file.FileCollection;
 import org.gradle.util.ChangeListener;
 
 import java.io.Serializable;
+import java.security.MessageDigest;
 
 /**
  * An immutable snapshot of the contents of a collection of files.
@@ -32,6 +33,12 @@ public interface FileCollectionSnapshot extends Serializable {
 
     FileCollection getFiles();
 
+    /**
+     * Adds the paths and content hashes of the files in this snapshot to the given digest. The result does not depend on
+     * the order in which the files were visited.
+     */
+    void updateDigest(MessageDigest digest);
+
     public interface Diff {
         /**
          * Applies this diff to the given snapshot. Adds any added or changed files in this diff to the given snapshot.
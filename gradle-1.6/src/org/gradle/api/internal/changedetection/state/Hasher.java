@@ -15,8 +15,15 @@
  */
 package org.gradle.api.internal.changedetection.state;
 
+import org.gradle.api.file.FileTreeElement;
+
 import java.io.File;
 
 public interface Hasher {
     byte[] hash(File file);
+
+    /**
+     * Hashes the given file, reusing any attributes which have already been read for it.
+     */
+    byte[] hash(FileTreeElement fileDetails);
 }
@@ -0,0 +1,151 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gradle.api.internal.changedetection.state;
+
+import org.gradle.cache.internal.CacheDecorator;
+import org.gradle.cache.internal.FileLock;
+import org.gradle.cache.internal.MultiProcessSafePersistentIndexedCache;
+
+import java.io.File;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Retains the most recently used entries of the task artifact caches in memory, across builds. The entries for a cache are discarded whenever
+ * the cache is locked and it turns out that some other process has locked the cache since this process last released it.
+ *
+ * <p>Values are shared between all users of a cache, and must not be mutated once they have been read from or written to the cache. Values
+ * must also not refer to objects loaded by the ClassLoaders of a particular build, such as decoded task input properties, as this would keep
+ * those ClassLoaders reachable and the values would not be equal to those of later builds.</p>
+ */
+public class InMemoryTaskArtifactCache implements CacheDecorator {
+    private static final int DEFAULT_MAX_ENTRIES = 1000;
+    private static final Map<String, Integer> MAX_ENTRIES = new HashMap<String, Integer>();
+
+    static {
+        MAX_ENTRIES.put("fileHashes", 100000);
+        MAX_ENTRIES.put("fileSnapshots", 2000);
+        MAX_ENTRIES.put("taskArtifacts", 2000);
+        MAX_ENTRIES.put("outputFileStates", 5000);
+    }
+
+    private final Map<File, CacheData> cachesByFile = new HashMap<File, CacheData>();
+
+    public <K, V> MultiProcessSafePersistentIndexedCache<K, V> decorate(File cacheFile, MultiProcessSafePersistentIndexedCache<K, V> persistentCache) {
+        return new InMemoryDecoratedCache<K, V>(persistentCache, getCacheData(cacheFile.getAbsoluteFile()));
+    }
+
+    private synchronized CacheData getCacheData(File cacheFile) {
+        CacheData cacheData = cachesByFile.get(cacheFile);
+        if (cacheData == null) {
+            cacheData = new CacheData(maxEntriesFor(cacheFile));
+            cachesByFile.put(cacheFile, cacheData);
+        }
+        return cacheData;
+    }
+
+    private static int maxEntriesFor(File cacheFile) {
+        String cacheName = cacheFile.getName().replaceFirst("\\.bin$", "");
+        Integer maxEntries = MAX_ENTRIES.get(cacheName);
+        return maxEntries != null ? maxEntries : DEFAULT_MAX_ENTRIES;
+    }
+
+    private static class CacheData {
+        private final Map<Object, Object> entries;
+        private FileLock.State state;
+
+        private CacheData(final int maxEntries) {
+            entries = new LinkedHashMap<Object, Object>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Object, Object> eldest) {
+                    return size() > maxEntries;
+                }
+            };
+        }
+
+        synchronized Object get(Object key) {
+            return entries.get(key);
+        }
+
+        synchronized void put(Object key, Object value) {
+            entries.put(key, value);
+        }
+
+        synchronized void remove(Object key) {
+            entries.remove(key);
+        }
+
+        synchronized void validate(FileLock.State currentState) {
+            if (state == null || currentState.hasBeenUpdatedSince(state)) {
+                entries.clear();
+                state = null;
+            }
+        }
+
+        synchronized void setState(FileLock.State state) {
+            this.state = state;
+        }
+    }
+
+    private static class InMemoryDecoratedCache<K, V> implements MultiProcessSafePersistentIndexedCache<K, V> {
+        private final MultiProcessSafePersistentIndexedCache<K, V> delegate;
+        private final CacheData cacheData;
+
+        public InMemoryDecoratedCache(MultiProcessSafePersistentIndexedCache<K, V> delegate, CacheData cacheData) {
+            this.delegate = delegate;
+            this.cacheData = cacheData;
+        }
+
+        public V get(K key) {
+            Object value = cacheData.get(key);
+            if (value != null) {
+                return (V) value;
+            }
+            V result = delegate.get(key);
+            if (result != null) {
+                cacheData.put(key, result);
+            }
+            return result;
+        }
+
+        public void put(K key, V value) {
+            // Forget the old value first, in case the update fails part way through
+            cacheData.remove(key);
+            delegate.put(key, value);
+            cacheData.put(key, value);
+        }
+
+        public void remove(K key) {
+            cacheData.remove(key);
+            delegate.remove(key);
+        }
+
+        public void onStartWork(String operationDisplayName, FileLock.State currentCacheState) {
+            cacheData.validate(currentCacheState);
+            delegate.onStartWork(operationDisplayName, currentCacheState);
+        }
+
+        public void onEndWork(FileLock.State currentCacheState) {
+            delegate.onEndWork(currentCacheState);
+            cacheData.setState(currentCacheState);
+        }
+
+        public void close() {
+            delegate.close();
+        }
+    }
+}
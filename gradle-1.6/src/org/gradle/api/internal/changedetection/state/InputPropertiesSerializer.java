@@ -0,0 +1,126 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gradle.api.internal.changedetection.state;
+
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
+import org.gradle.internal.io.ClassLoaderObjectInputStream;
+import org.gradle.messaging.serialize.DataStreamBackedSerializer;
+
+import java.io.*;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Serializes the input properties of a task execution. Property values of the common types are written directly,
+ * other values fall back to Java serialization.
+ */
+public class InputPropertiesSerializer extends DataStreamBackedSerializer<Map<String, Object>> {
+    private static final Interner<String> PROPERTY_NAMES = Interners.newWeakInterner();
+    private static final int MAX_DIRECT_STRING_LENGTH = 65535 / 3;
+
+    private static final byte NULL = 0;
+    private static final byte STRING = 1;
+    private static final byte BOOLEAN = 2;
+    private static final byte INTEGER = 3;
+    private static final byte LONG = 4;
+    private static final byte FILE = 5;
+    private static final byte SERIALIZED = 6;
+
+    private final ClassLoader classLoader;
+
+    public InputPropertiesSerializer(ClassLoader classLoader) {
+        this.classLoader = classLoader;
+    }
+
+    @Override
+    public Map<String, Object> read(DataInput input) throws Exception {
+        int count = input.readInt();
+        Map<String, Object> properties = new HashMap<String, Object>(count * 2);
+        for (int i = 0; i < count; i++) {
+            String name = PROPERTY_NAMES.intern(input.readUTF());
+            properties.put(name, readValue(input));
+        }
+        return properties;
+    }
+
+    private Object readValue(DataInput input) throws Exception {
+        byte type = input.readByte();
+        switch (type) {
+            case NULL:
+                return null;
+            case STRING:
+                return input.readUTF();
+            case BOOLEAN:
+                return input.readBoolean();
+            case INTEGER:
+                return input.readInt();
+            case LONG:
+                return input.readLong();
+            case FILE:
+                return new File(input.readUTF());
+            case SERIALIZED:
+                byte[] serialized = new byte[input.readInt()];
+                input.readFully(serialized);
+                ObjectInputStream objectInput = new ClassLoaderObjectInputStream(new ByteArrayInputStream(serialized), classLoader);
+                try {
+                    return objectInput.readObject();
+                } finally {
+                    objectInput.close();
+                }
+            default:
+                throw new IllegalArgumentException(String.format("Unexpected input property value type %s.", type));
+        }
+    }
+
+    @Override
+    public void write(DataOutput output, Map<String, Object> properties) throws IOException {
+        output.writeInt(properties.size());
+        for (Map.Entry<String, Object> entry : properties.entrySet()) {
+            output.writeUTF(entry.getKey());
+            writeValue(output, entry.getValue());
+        }
+    }
+
+    private void writeValue(DataOutput output, Object value) throws IOException {
+        if (value == null) {
+            output.writeByte(NULL);
+        } else if (value.getClass() == String.class && ((String) value).length() <= MAX_DIRECT_STRING_LENGTH) {
+            output.writeByte(STRING);
+            output.writeUTF((String) value);
+        } else if (value.getClass() == Boolean.class) {
+            output.writeByte(BOOLEAN);
+            output.writeBoolean((Boolean) value);
+        } else if (value.getClass() == Integer.class) {
+            output.writeByte(INTEGER);
+            output.writeInt((Integer) value);
+        } else if (value.getClass() == Long.class) {
+            output.writeByte(LONG);
+            output.writeLong((Long) value);
+        } else if (value.getClass() == File.class && ((File) value).getPath().length() <= MAX_DIRECT_STRING_LENGTH) {
+            output.writeByte(FILE);
+            output.writeUTF(((File) value).getPath());
+        } else {
+            ByteArrayOutputStream serialized = new ByteArrayOutputStream();
+            ObjectOutputStream objectOutput = new ObjectOutputStream(serialized);
+            objectOutput.writeObject(value);
+            objectOutput.close();
+            output.writeByte(SERIALIZED);
+            output.writeInt(serialized.size());
+            output.write(serialized.toByteArray());
+        }
+    }
+}
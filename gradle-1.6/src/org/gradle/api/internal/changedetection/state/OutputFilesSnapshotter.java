@@ -24,6 +24,7 @@ import org.gradle.util.DiffUtil;
 import org.gradle.util.NoOpChangeListener;
 
 import java.io.File;
+import java.security.MessageDigest;
 import java.util.*;
 
 /**
@@ -33,7 +34,8 @@ import java.util.*;
  * <li>Collect the unique id for each output file and directory. The unique id is generated when we notice that
  * a file/directory has been created. The id is regenerated when the file/directory is deleted.</li>
  *
- * <li>Collect the hash of each output file and each file in each output directory.</li>
+ * <li>Collect the size and last modified time of each output file and each file in each output directory. The content of
+ * the output files is not hashed, as the task rewrites them and the hash would need to be recalculated after every execution.</li>
  * </ul>
  *
  */
@@ -41,11 +43,13 @@ public class OutputFilesSnapshotter implements FileSnapshotter {
     private final FileSnapshotter snapshotter;
     private final IdGenerator<Long> idGenerator;
     private final PersistentIndexedCache<String, Long> dirIdentiferCache;
+    private final WatchedFileSnapshotCache watchedFileSnapshotCache;
 
     public OutputFilesSnapshotter(FileSnapshotter snapshotter, IdGenerator<Long> idGenerator,
-                                  TaskArtifactStateCacheAccess cacheAccess) {
+                                  TaskArtifactStateCacheAccess cacheAccess, WatchedFileSnapshotCache watchedFileSnapshotCache) {
         this.snapshotter = snapshotter;
         this.idGenerator = idGenerator;
+        this.watchedFileSnapshotCache = watchedFileSnapshotCache;
         dirIdentiferCache = cacheAccess.createCache("outputFileStates", String.class, Long.class);
     }
 
@@ -56,6 +60,8 @@ public class OutputFilesSnapshotter implements FileSnapshotter {
     public FileCollectionSnapshot snapshot(FileCollection files) {
         Map<String, Long> snapshotDirIds = new HashMap<String, Long>();
         for (File file : files) {
+            // The task may have just written to this file, so don't trust any snapshots taken before that
+            watchedFileSnapshotCache.invalidate(file.getAbsoluteFile());
             Long dirId;
             if (file.exists()) {
                 dirId = dirIdentiferCache.get(file.getAbsolutePath());
@@ -85,6 +91,10 @@ public class OutputFilesSnapshotter implements FileSnapshotter {
             return filesSnapshot.getFiles();
         }
 
+        public void updateDigest(MessageDigest digest) {
+            filesSnapshot.updateDigest(digest);
+        }
+
         public Diff changesSince(final FileCollectionSnapshot oldSnapshot) {
             OutputFilesSnapshot other = (OutputFilesSnapshot) oldSnapshot;
             return new OutputFilesDiff(rootFileIds, other.rootFileIds, filesSnapshot.changesSince(other.filesSnapshot));
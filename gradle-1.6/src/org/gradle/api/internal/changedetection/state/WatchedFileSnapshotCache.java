@@ -0,0 +1,174 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.changedetection.state;
+
+import org.gradle.internal.Factory;
+import org.gradle.internal.filewatch.FileWatcher;
+import org.gradle.internal.filewatch.FileWatcherChanges;
+
+import java.io.File;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Retains the snapshots of individual files across builds, for files whose directory is watched by a {@link FileWatcher}. The snapshots
+ * for a directory are discarded as soon as the watcher reports a change to the directory, and all snapshots are discarded when the
+ * watcher loses track of changes.
+ *
+ * <p>The watcher reports changes asynchronously, so changes made by the current build may not have been reported yet. Callers must
+ * {@link #invalidate(File)} the files which the build is known to write to, such as the outputs of tasks. As a further guard against
+ * changes which have not been reported yet, a snapshot is only reused while the length and modification time of its file are unchanged.</p>
+ *
+ * <p>At most 100000 snapshots are retained. When there are more, the directories used least recently are discarded and
+ * are no longer watched.</p>
+ */
+public class WatchedFileSnapshotCache {
+    private static final int MAX_ENTRIES = 100000;
+    private final FileWatcher watcher;
+    private final Map<File, Map<String, CachedSnapshot>> snapshotsByDirectory = new LinkedHashMap<File, Map<String, CachedSnapshot>>(16, 0.75f, true);
+    private int entryCount;
+    private long generation;
+
+    public WatchedFileSnapshotCache(FileWatcher watcher) {
+        this.watcher = watcher;
+    }
+
+    /**
+     * Discards the snapshots for any directories which have changed since the last call.
+     */
+    public void pollChanges() {
+        FileWatcherChanges changes = watcher.pollChanges();
+        synchronized (this) {
+            if (changes.isOverflow()) {
+                snapshotsByDirectory.clear();
+                entryCount = 0;
+                generation++;
+            } else if (!changes.getUnwatchedDirectories().isEmpty()) {
+                for (File directory : changes.getUnwatchedDirectories()) {
+                    removeDirectory(directory);
+                }
+                generation++;
+            }
+        }
+    }
+
+    /**
+     * Returns the snapshot of the given file, creating it if it is not already known or if the file's length or modification time has
+     * changed since the snapshot was created.
+     *
+     * @param file The absolute file to snapshot.
+     * @param length The current length of the file.
+     * @param lastModified The current modification time of the file.
+     * @param snapshotFactory Used to create the snapshot of the file.
+     */
+    public Object get(File file, long length, long lastModified, Factory<?> snapshotFactory) {
+        File directory = file.getParentFile();
+        long initialGeneration;
+        synchronized (this) {
+            initialGeneration = generation;
+            Map<String, CachedSnapshot> snapshots = snapshotsByDirectory.get(directory);
+            if (snapshots != null) {
+                CachedSnapshot cached = snapshots.get(file.getName());
+                if (cached != null) {
+                    if (cached.length == length && cached.lastModified == lastModified) {
+                        return cached.snapshot;
+                    }
+                    snapshots.remove(file.getName());
+                    entryCount--;
+                }
+            }
+        }
+
+        // Start watching before looking at the file, so that a change made while the snapshot is being created is not missed
+        boolean watched = directory != null && watcher.watch(directory);
+        Object snapshot = snapshotFactory.create();
+        if (watched) {
+            synchronized (this) {
+                if (generation != initialGeneration) {
+                    // Something was invalidated while the snapshot was being created, and this snapshot may be stale
+                    return snapshot;
+                }
+                Map<String, CachedSnapshot> snapshots = snapshotsByDirectory.get(directory);
+                if (snapshots == null) {
+                    snapshots = new HashMap<String, CachedSnapshot>();
+                    snapshotsByDirectory.put(directory, snapshots);
+                }
+                if (snapshots.put(file.getName(), new CachedSnapshot(length, lastModified, snapshot)) == null) {
+                    entryCount++;
+                }
+                evictLeastRecentlyUsed(directory);
+            }
+        }
+        return snapshot;
+    }
+
+    private void evictLeastRecentlyUsed(File keep) {
+        Iterator<Map.Entry<File, Map<String, CachedSnapshot>>> iterator = snapshotsByDirectory.entrySet().iterator();
+        while (entryCount > MAX_ENTRIES && iterator.hasNext()) {
+            Map.Entry<File, Map<String, CachedSnapshot>> entry = iterator.next();
+            if (entry.getKey().equals(keep)) {
+                continue;
+            }
+            iterator.remove();
+            entryCount -= entry.getValue().size();
+            watcher.unwatch(entry.getKey());
+            // A snapshot created concurrently for this directory must not be added now that it is no longer watched
+            generation++;
+        }
+    }
+
+    private void removeDirectory(File directory) {
+        Map<String, CachedSnapshot> snapshots = snapshotsByDirectory.remove(directory);
+        if (snapshots != null) {
+            entryCount -= snapshots.size();
+        }
+    }
+
+    /**
+     * Discards the snapshot of the given file and, if it is a directory, the snapshots of everything below it.
+     */
+    public synchronized void invalidate(File file) {
+        Map<String, CachedSnapshot> snapshots = snapshotsByDirectory.get(file.getParentFile());
+        if (snapshots != null && snapshots.remove(file.getName()) != null) {
+            entryCount--;
+        }
+        String prefix = file.getPath() + File.separator;
+        removeDirectory(file);
+        generation++;
+        for (Iterator<Map.Entry<File, Map<String, CachedSnapshot>>> iterator = snapshotsByDirectory.entrySet().iterator(); iterator.hasNext();) {
+            Map.Entry<File, Map<String, CachedSnapshot>> entry = iterator.next();
+            if (entry.getKey().getPath().startsWith(prefix)) {
+                entryCount -= entry.getValue().size();
+                iterator.remove();
+            }
+        }
+    }
+
+    private static class CachedSnapshot {
+        private final long length;
+        private final long lastModified;
+        private final Object snapshot;
+
+        private CachedSnapshot(long length, long lastModified, Object snapshot) {
+            this.length = length;
+            this.lastModified = lastModified;
+            this.snapshot = snapshot;
+        }
+    }
+}
@@ -22,11 +22,58 @@ import java.io.File;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 public class DefaultFileVisitDetails extends DefaultFileTreeElement implements FileVisitDetails {
+    public static final int UNKNOWN_MODE = -1;
     private final AtomicBoolean stop;
+    private final boolean attributesKnown;
+    private final boolean isDirectory;
+    private final long lastModified;
+    private final long size;
+    private final int mode;
 
     public DefaultFileVisitDetails(File file, RelativePath relativePath, AtomicBoolean stop) {
         super(file, relativePath);
         this.stop = stop;
+        this.attributesKnown = false;
+        this.isDirectory = false;
+        this.lastModified = 0;
+        this.size = 0;
+        this.mode = UNKNOWN_MODE;
+    }
+
+    /**
+     * Creates details for a file whose attributes have already been read, for example while walking its parent
+     * directory. The attributes are returned as is, without querying the file system again.
+     *
+     * @param mode The unix mode of the file, or {@link #UNKNOWN_MODE} if it should be read on demand.
+     */
+    public DefaultFileVisitDetails(File file, RelativePath relativePath, AtomicBoolean stop, boolean isDirectory, long lastModified, long size, int mode) {
+        super(file, relativePath);
+        this.stop = stop;
+        this.attributesKnown = true;
+        this.isDirectory = isDirectory;
+        this.lastModified = lastModified;
+        this.size = size;
+        this.mode = mode;
+    }
+
+    @Override
+    public boolean isDirectory() {
+        return attributesKnown ? isDirectory : super.isDirectory();
+    }
+
+    @Override
+    public long getLastModified() {
+        return attributesKnown ? lastModified : super.getLastModified();
+    }
+
+    @Override
+    public long getSize() {
+        return attributesKnown ? size : super.getSize();
+    }
+
+    @Override
+    public int getMode() {
+        return mode != UNKNOWN_MODE ? mode : super.getMode();
     }
 
     public void stopVisiting() {
@@ -16,7 +16,7 @@
 
 package org.gradle.api.internal.file.collections;
 
-import org.gradle.api.GradleException;
+import org.gradle.api.JavaVersion;
 import org.gradle.api.file.*;
 import org.gradle.api.internal.file.DefaultFileTreeElement;
 import org.gradle.api.internal.file.DefaultFileVisitDetails;
@@ -25,14 +25,13 @@ import org.gradle.api.logging.Logging;
 import org.gradle.api.specs.Spec;
 import org.gradle.api.tasks.util.PatternFilterable;
 import org.gradle.api.tasks.util.PatternSet;
+import org.gradle.internal.UncheckedException;
 import org.gradle.util.GFileUtils;
 import org.gradle.util.GUtil;
 
 import java.io.File;
-import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.List;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.regex.Pattern;
 
@@ -48,6 +47,7 @@ import java.util.regex.Pattern;
  */
 public class DirectoryFileTree implements MinimalFileTree, PatternFilterableFileTree, RandomAccessFileCollection, LocalFileTree, DirectoryTree {
     private static final Logger LOGGER = Logging.getLogger(DirectoryFileTree.class);
+    private static final DirectoryWalker DIRECTORY_WALKER = createDirectoryWalker();
 
     private final File dir;
     private PatternSet patternSet;
@@ -121,7 +121,7 @@ public class DirectoryFileTree implements MinimalFileTree, PatternFilterableFile
             if (dir.isFile()) {
                 processSingleFile(dir, visitor, spec, stopFlag);
             } else {
-                walkDir(dir, path, visitor, spec, stopFlag);
+                DIRECTORY_WALKER.walkDir(dir, path, visitor, spec, stopFlag, postfix);
             }
         } else {
             LOGGER.info("file or directory '" + dir + "', not found");
@@ -136,45 +136,23 @@ public class DirectoryFileTree implements MinimalFileTree, PatternFilterableFile
         }
     }
 
-    private void walkDir(File file, RelativePath path, FileVisitor visitor, Spec<FileTreeElement> spec, AtomicBoolean stopFlag) {
-        File[] children = file.listFiles();
-        if (children == null) {
-            if (file.isDirectory() && !file.canRead()) {
-                throw new GradleException(String.format("Could not list contents of directory '%s' as it is not readable.", file));
-            }
-            // else, might be a link which points to nothing, or has been removed while we're visiting, or ...
-            throw new GradleException(String.format("Could not list contents of '%s'.", file));
-        }
-        List<FileVisitDetails> dirs = new ArrayList<FileVisitDetails>();
-        for (int i = 0; !stopFlag.get() && i < children.length; i++) {
-            File child = children[i];
-            boolean isFile = child.isFile();
-            RelativePath childPath = path.append(isFile, child.getName());
-            FileVisitDetails details = new DefaultFileVisitDetails(child, childPath, stopFlag);
-            if (isAllowed(details, spec)) {
-                if (isFile) {
-                    visitor.visitFile(details);
-                } else {
-                    dirs.add(details);
-                }
-            }
-        }
+    boolean isAllowed(FileTreeElement element, Spec<FileTreeElement> spec) {
+        return spec.isSatisfiedBy(element);
+    }
 
-        // now handle dirs
-        for (int i = 0; !stopFlag.get() && i < dirs.size(); i++) {
-            FileVisitDetails dir = dirs.get(i);
-            if (postfix) {
-                walkDir(dir.getFile(), dir.getRelativePath(), visitor, spec, stopFlag);
-                visitor.visitDir(dir);
-            } else {
-                visitor.visitDir(dir);
-                walkDir(dir.getFile(), dir.getRelativePath(), visitor, spec, stopFlag);
+    private static DirectoryWalker createDirectoryWalker() {
+        // Use java 7 APIs, if available
+        if (JavaVersion.current().isJava7Compatible()) {
+            String jdkDirectoryWalkerClass = "org.gradle.api.internal.file.collections.jdk7.Jdk7DirectoryWalker";
+            try {
+                return (DirectoryWalker) DirectoryFileTree.class.getClassLoader().loadClass(jdkDirectoryWalkerClass).newInstance();
+            } catch (ClassNotFoundException e) {
+                LOGGER.warn(String.format("Unable to load %s. Continuing with fallback.", jdkDirectoryWalkerClass));
+            } catch (Exception e) {
+                throw UncheckedException.throwAsUncheckedException(e);
             }
         }
-    }
-
-    boolean isAllowed(FileTreeElement element, Spec<FileTreeElement> spec) {
-        return spec.isSatisfiedBy(element);
+        return new DefaultDirectoryWalker();
     }
 
     /**
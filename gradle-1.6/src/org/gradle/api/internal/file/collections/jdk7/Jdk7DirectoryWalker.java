@@ -0,0 +1,117 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gradle.api.internal.file.collections.jdk7;
+
+import org.gradle.api.GradleException;
+import org.gradle.api.file.FileTreeElement;
+import org.gradle.api.file.FileVisitDetails;
+import org.gradle.api.file.FileVisitor;
+import org.gradle.api.file.RelativePath;
+import org.gradle.api.internal.file.DefaultFileVisitDetails;
+import org.gradle.api.internal.file.collections.DirectoryWalker;
+import org.gradle.api.specs.Spec;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.AccessDeniedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.PosixFileAttributes;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.gradle.internal.nativeplatform.filesystem.jdk7.PosixFilePermissionConverter.convertToInt;
+
+/**
+ * A {@link DirectoryWalker} which uses the Java 7 file APIs to read the type, size, timestamp and, where supported,
+ * the permissions of each file with a single call, while listing its parent directory.
+ */
+public class Jdk7DirectoryWalker implements DirectoryWalker {
+    private final boolean posix = FileSystems.getDefault().supportedFileAttributeViews().contains("posix");
+
+    public void walkDir(File file, RelativePath path, FileVisitor visitor, Spec<FileTreeElement> spec, AtomicBoolean stopFlag, boolean postfix) {
+        List<FileVisitDetails> dirs = new ArrayList<FileVisitDetails>();
+        DirectoryStream<Path> children = openDirectory(file);
+        try {
+            for (Path child : children) {
+                if (stopFlag.get()) {
+                    break;
+                }
+                FileVisitDetails details = getDetails(child.toFile(), path, stopFlag);
+                if (spec.isSatisfiedBy(details)) {
+                    if (details.getRelativePath().isFile()) {
+                        visitor.visitFile(details);
+                    } else {
+                        dirs.add(details);
+                    }
+                }
+            }
+        } finally {
+            try {
+                children.close();
+            } catch (IOException e) {
+                // Ignore
+            }
+        }
+
+        // now handle dirs
+        for (int i = 0; !stopFlag.get() && i < dirs.size(); i++) {
+            FileVisitDetails dir = dirs.get(i);
+            if (postfix) {
+                walkDir(dir.getFile(), dir.getRelativePath(), visitor, spec, stopFlag, postfix);
+                visitor.visitDir(dir);
+            } else {
+                visitor.visitDir(dir);
+                walkDir(dir.getFile(), dir.getRelativePath(), visitor, spec, stopFlag, postfix);
+            }
+        }
+    }
+
+    private DirectoryStream<Path> openDirectory(File file) {
+        try {
+            return Files.newDirectoryStream(file.toPath());
+        } catch (AccessDeniedException e) {
+            throw new GradleException(String.format("Could not list contents of directory '%s' as it is not readable.", file), e);
+        } catch (IOException e) {
+            // might be a link which points to nothing, or has been removed while we're visiting, or ...
+            throw new GradleException(String.format("Could not list contents of '%s'.", file), e);
+        }
+    }
+
+    private FileVisitDetails getDetails(File child, RelativePath path, AtomicBoolean stopFlag) {
+        BasicFileAttributes attributes;
+        try {
+            attributes = posix
+                    ? Files.readAttributes(child.toPath(), PosixFileAttributes.class)
+                    : Files.readAttributes(child.toPath(), BasicFileAttributes.class);
+        } catch (IOException e) {
+            // might be a link which points to nothing, or has been removed while we're visiting. Treat it the same
+            // way as File.isFile() does, and let the visitor deal with it
+            RelativePath childPath = path.append(child.isFile(), child.getName());
+            return new DefaultFileVisitDetails(child, childPath, stopFlag);
+        }
+        boolean isFile = attributes.isRegularFile();
+        int mode = attributes instanceof PosixFileAttributes
+                ? convertToInt(((PosixFileAttributes) attributes).permissions())
+                : DefaultFileVisitDetails.UNKNOWN_MODE;
+        RelativePath childPath = path.append(isFile, child.getName());
+        return new DefaultFileVisitDetails(child, childPath, stopFlag, attributes.isDirectory(), attributes.lastModifiedTime().toMillis(), attributes.size(), mode);
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.file.copy;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+
+/**
+ * An {@link InputStream} which encodes the characters read from a {@link Reader} using a given charset. Malformed and
+ * unmappable characters are replaced, as done by {@link String#getBytes(String)}. The buffers are provided by the
+ * caller, so that they can be reused once the stream is closed.
+ */
+class CharsetEncodingInputStream extends InputStream {
+    private final Reader reader;
+    private final CharsetEncoder encoder;
+    private final CharBuffer chars;
+    private final ByteBuffer bytes;
+    private final Runnable onClose;
+    private boolean endOfInput;
+    private boolean flushing;
+    private boolean finished;
+
+    public CharsetEncodingInputStream(Reader reader, Charset charset, CharBuffer chars, ByteBuffer bytes, Runnable onClose) {
+        this.reader = reader;
+        this.encoder = charset.newEncoder().onMalformedInput(CodingErrorAction.REPLACE).onUnmappableCharacter(CodingErrorAction.REPLACE);
+        this.chars = chars;
+        this.bytes = bytes;
+        this.onClose = onClose;
+        chars.clear();
+        chars.flip();
+        bytes.clear();
+        bytes.flip();
+    }
+
+    @Override
+    public int read() throws IOException {
+        while (!bytes.hasRemaining()) {
+            if (!fill()) {
+                return -1;
+            }
+        }
+        return bytes.get() & 0xff;
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) throws IOException {
+        if (length == 0) {
+            return 0;
+        }
+        while (!bytes.hasRemaining()) {
+            if (!fill()) {
+                return -1;
+            }
+        }
+        int count = Math.min(length, bytes.remaining());
+        bytes.get(buffer, offset, count);
+        return count;
+    }
+
+    private boolean fill() throws IOException {
+        if (finished) {
+            return false;
+        }
+        bytes.clear();
+        CoderResult result;
+        if (flushing) {
+            result = encoder.flush(bytes);
+        } else {
+            if (!endOfInput) {
+                chars.compact();
+                endOfInput = reader.read(chars) < 0;
+                chars.flip();
+            }
+            result = encoder.encode(chars, bytes, endOfInput);
+            if (endOfInput && result.isUnderflow()) {
+                flushing = true;
+                result = encoder.flush(bytes);
+            }
+        }
+        if (result.isError()) {
+            result.throwException();
+        }
+        if (flushing && result.isUnderflow()) {
+            finished = true;
+        }
+        bytes.flip();
+        return bytes.hasRemaining() || !finished;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            reader.close();
+        } finally {
+            onClose.run();
+        }
+    }
+}
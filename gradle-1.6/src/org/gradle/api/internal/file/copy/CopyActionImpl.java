@@ -191,6 +191,14 @@ public class CopyActionImpl implements CopyAction, CopySpecSource {
         mainContent.setIncludeEmptyDirs(includeEmptyDirs);
     }
 
+    public String getFilteringCharset() {
+        return mainContent.getFilteringCharset();
+    }
+
+    public void setFilteringCharset(String charset) {
+        mainContent.setFilteringCharset(charset);
+    }
+
     public CopySpec rename(Closure closure) {
         mainContent.rename(closure);
         return this;
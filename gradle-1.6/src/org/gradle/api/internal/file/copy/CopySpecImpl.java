@@ -17,6 +17,7 @@ package org.gradle.api.internal.file.copy;
 
 import groovy.lang.Closure;
 import org.gradle.api.Action;
+import org.gradle.api.InvalidUserDataException;
 import org.gradle.api.file.*;
 import org.gradle.api.internal.ChainingTransformer;
 import org.gradle.api.internal.ClosureBackedAction;
@@ -27,6 +28,7 @@ import org.gradle.util.ConfigureUtil;
 
 import java.io.File;
 import java.io.FilterReader;
+import java.nio.charset.Charset;
 import java.util.*;
 import java.util.regex.Pattern;
 
@@ -45,6 +47,7 @@ public class CopySpecImpl implements CopySpec, ReadableCopySpec {
     private Integer fileMode;
     private Boolean caseSensitive;
     private Boolean includeEmptyDirs;
+    private String filteringCharset;
     private PathNotationParser<String> pathNotationParser;
 
     private CopySpecImpl(FileResolver resolver, CopySpecImpl parentSpec) {
@@ -204,6 +207,26 @@ public class CopySpecImpl implements CopySpec, ReadableCopySpec {
         this.includeEmptyDirs = includeEmptyDirs;
     }
 
+    public String getFilteringCharset() {
+        if (filteringCharset != null) {
+            return filteringCharset;
+        }
+        if (parentSpec != null) {
+            return parentSpec.getFilteringCharset();
+        }
+        return Charset.defaultCharset().name();
+    }
+
+    public void setFilteringCharset(String charset) {
+        if (charset == null) {
+            throw new InvalidUserDataException("filteringCharset must not be null");
+        }
+        if (!Charset.isSupported(charset)) {
+            throw new InvalidUserDataException(String.format("filteringCharset %s is not supported by your JVM", charset));
+        }
+        this.filteringCharset = charset;
+    }
+
     public CopySpec include(String... includes) {
         patternSet.include(includes);
         return this;
@@ -457,5 +480,9 @@ public class CopySpecImpl implements CopySpec, ReadableCopySpec {
         public boolean getIncludeEmptyDirs() {
             return spec.getIncludeEmptyDirs();
         }
+
+        public String getFilteringCharset() {
+            return spec.getFilteringCharset();
+        }
     }
 }
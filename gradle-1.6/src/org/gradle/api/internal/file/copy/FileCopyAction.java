@@ -19,4 +19,9 @@ import java.io.File;
 
 public interface FileCopyAction extends CopyAction {
     File getDestinationDir();
+
+    /**
+     * Returns true if unmodified files should be hard linked into the destination directory rather than copied.
+     */
+    boolean isUseHardLinks();
 }
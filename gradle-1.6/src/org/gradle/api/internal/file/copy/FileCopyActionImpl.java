@@ -22,6 +22,7 @@ import java.io.File;
 
 public class FileCopyActionImpl extends CopyActionImpl implements FileCopyAction {
     private Object destDir;
+    private boolean useHardLinks;
 
     public FileCopyActionImpl(FileResolver resolver, CopySpecVisitor visitor) {
         super(resolver, visitor);
@@ -36,4 +37,12 @@ public class FileCopyActionImpl extends CopyActionImpl implements FileCopyAction
     public File getDestinationDir() {
         return destDir == null ? null : getResolver().resolve(destDir);
     }
+
+    public boolean isUseHardLinks() {
+        return useHardLinks;
+    }
+
+    public void setUseHardLinks(boolean useHardLinks) {
+        this.useHardLinks = useHardLinks;
+    }
 }
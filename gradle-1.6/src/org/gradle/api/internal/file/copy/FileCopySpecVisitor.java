@@ -26,6 +26,7 @@ import java.io.File;
  */
 public class FileCopySpecVisitor extends EmptyCopySpecVisitor {
     private File baseDestDir;
+    private boolean useHardLinks;
     private boolean didWork;
 
     public void startVisit(CopyAction action) {
@@ -33,9 +34,17 @@ public class FileCopySpecVisitor extends EmptyCopySpecVisitor {
         if (baseDestDir == null) {
             throw new InvalidUserDataException("No copy destination directory has been specified, use 'into' to specify a target directory.");
         }
+        useHardLinks = ((FileCopyAction) action).isUseHardLinks();
     }
 
     public void visitFile(FileVisitDetails source) {
+        if (useHardLinks && source instanceof LocalFileCopyDetails) {
+            File target = source.getRelativePath().getFile(baseDestDir);
+            if (((LocalFileCopyDetails) source).createHardLink(target)) {
+                didWork = true;
+                return;
+            }
+        }
         visitFileOrDir(source);
     }
 
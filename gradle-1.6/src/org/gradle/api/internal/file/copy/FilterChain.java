@@ -16,9 +16,6 @@
 package org.gradle.api.internal.file.copy;
 
 import groovy.lang.Closure;
-import groovy.text.SimpleTemplateEngine;
-import groovy.text.Template;
-import org.apache.tools.ant.util.ReaderInputStream;
 import org.gradle.api.InvalidUserDataException;
 import org.gradle.api.Transformer;
 import org.gradle.api.UncheckedIOException;
@@ -26,11 +23,22 @@ import org.gradle.api.internal.ChainingTransformer;
 import org.gradle.util.ConfigureUtil;
 
 import java.io.*;
-import java.lang.reflect.Constructor;
+import java.nio.charset.Charset;
 import java.util.Map;
 
 public class FilterChain implements Transformer<InputStream, InputStream> {
     private final ChainingTransformer<Reader> transformers = new ChainingTransformer<Reader>(Reader.class);
+    private final Charset charset;
+    private final FilterChainCache cache;
+
+    public FilterChain() {
+        this(Charset.defaultCharset().name(), new FilterChainCache());
+    }
+
+    public FilterChain(String charset, FilterChainCache cache) {
+        this.charset = Charset.forName(charset);
+        this.cache = cache;
+    }
 
     /**
      * Transforms the given Reader. The original Reader will be closed by the returned Reader.
@@ -43,7 +51,8 @@ public class FilterChain implements Transformer<InputStream, InputStream> {
      * Transforms the given InputStream. The original InputStream will be closed by the returned InputStream.
      */
     public InputStream transform(InputStream original) {
-        return new ReaderInputStream(transform(new InputStreamReader(original)));
+        FilterChainCache.Buffers buffers = cache.acquireBuffers();
+        return new CharsetEncodingInputStream(transform(new InputStreamReader(original, charset)), charset, buffers.chars, buffers.bytes, buffers);
     }
 
     public boolean hasFilters() {
@@ -58,8 +67,7 @@ public class FilterChain implements Transformer<InputStream, InputStream> {
         transformers.add(new Transformer<Reader, Reader>() {
             public Reader transform(Reader original) {
                 try {
-                    Constructor<? extends FilterReader> constructor = filterType.getConstructor(Reader.class);
-                    FilterReader result = constructor.newInstance(original);
+                    FilterReader result = cache.getConstructor(filterType).newInstance(original);
 
                     if (properties != null) {
                         ConfigureUtil.configureByMap(properties, result);
@@ -84,15 +92,9 @@ public class FilterChain implements Transformer<InputStream, InputStream> {
         transformers.add(new Transformer<Reader, Reader>() {
             public Reader transform(Reader original) {
                 try {
-                    Template template;
-                    try {
-                        SimpleTemplateEngine engine = new SimpleTemplateEngine();
-                        template = engine.createTemplate(original);
-                    } finally {
-                        original.close();
-                    }
-                    StringWriter writer = new StringWriter();
-                    template.make(properties).writeTo(writer);
+                    String text = cache.readFully(original);
+                    StringWriter writer = new StringWriter(text.length());
+                    cache.getTemplate(text).make(properties).writeTo(writer);
                     return new StringReader(writer.toString());
                 } catch (IOException e) {
                     throw new UncheckedIOException(e);
@@ -0,0 +1,140 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.file.copy;
+
+import groovy.text.SimpleTemplateEngine;
+import groovy.text.Template;
+import org.gradle.api.InvalidUserDataException;
+import org.gradle.internal.UncheckedException;
+
+import java.io.FilterReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.lang.reflect.Constructor;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * State which is shared by the {@link FilterChain}s of all files of a copy spec: filter constructors, compiled
+ * templates and the buffers used to read and encode the filtered content. The files of a copy are filtered one after
+ * the other, so this class is not thread-safe.
+ */
+public class FilterChainCache {
+    private static final int BUFFER_SIZE = 8192;
+    private static final int MAX_TEMPLATES = 100;
+    private final Map<Class<? extends FilterReader>, Constructor<? extends FilterReader>> constructors = new HashMap<Class<? extends FilterReader>, Constructor<? extends FilterReader>>();
+    private final Map<String, Template> templates = new LinkedHashMap<String, Template>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Template> eldest) {
+            return size() > MAX_TEMPLATES;
+        }
+    };
+    private final char[] readBuffer = new char[BUFFER_SIZE];
+    private final StringBuilder text = new StringBuilder(BUFFER_SIZE);
+    private CharBuffer chars;
+    private ByteBuffer bytes;
+
+    public Constructor<? extends FilterReader> getConstructor(Class<? extends FilterReader> filterType) {
+        Constructor<? extends FilterReader> constructor = constructors.get(filterType);
+        if (constructor == null) {
+            try {
+                constructor = filterType.getConstructor(Reader.class);
+            } catch (NoSuchMethodException e) {
+                throw new InvalidUserDataException("Error - Invalid filter specification for " + filterType.getName(), e);
+            }
+            constructors.put(filterType, constructor);
+        }
+        return constructor;
+    }
+
+    /**
+     * Returns the template for the given text. Text which refers to properties only by name is not compiled.
+     */
+    public Template getTemplate(String text) {
+        Template template = templates.get(text);
+        if (template == null) {
+            template = SimplePropertyTemplate.parse(text);
+            if (template == null) {
+                try {
+                    template = new SimpleTemplateEngine().createTemplate(text);
+                } catch (Exception e) {
+                    throw UncheckedException.throwAsUncheckedException(e);
+                }
+            }
+            templates.put(text, template);
+        }
+        return template;
+    }
+
+    /**
+     * Reads the remaining content of the given reader, and closes it.
+     */
+    public String readFully(Reader reader) throws IOException {
+        try {
+            text.setLength(0);
+            int count;
+            while ((count = reader.read(readBuffer)) >= 0) {
+                text.append(readBuffer, 0, count);
+            }
+            return text.toString();
+        } finally {
+            reader.close();
+        }
+    }
+
+    /**
+     * Returns a pair of buffers which can be used to encode content. The buffers are handed out again when they are
+     * released.
+     */
+    Buffers acquireBuffers() {
+        if (chars == null) {
+            return new Buffers(CharBuffer.allocate(BUFFER_SIZE), ByteBuffer.allocate(BUFFER_SIZE));
+        }
+        Buffers buffers = new Buffers(chars, bytes);
+        chars = null;
+        bytes = null;
+        return buffers;
+    }
+
+    class Buffers implements Runnable {
+        final CharBuffer chars;
+        final ByteBuffer bytes;
+        private boolean released;
+
+        private Buffers(CharBuffer chars, ByteBuffer bytes) {
+            this.chars = chars;
+            this.bytes = bytes;
+        }
+
+        /**
+         * Releases the buffers.
+         */
+        public void run() {
+            if (released) {
+                return;
+            }
+            released = true;
+            if (FilterChainCache.this.chars == null) {
+                FilterChainCache.this.chars = chars;
+                FilterChainCache.this.bytes = bytes;
+            }
+        }
+    }
+}
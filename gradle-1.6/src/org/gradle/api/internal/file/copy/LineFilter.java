@@ -25,6 +25,7 @@ import java.io.Reader;
 
 public class LineFilter extends Reader {
     private final Closure closure;
+    private final StringBuilder line = new StringBuilder();
     private String transformedLine;
     private int transformedIndex;
     private final BufferedReader bufferedIn;
@@ -43,7 +44,7 @@ public class LineFilter extends Reader {
     }
 
     private String getTransformedLine() throws IOException {
-        StringBuilder line = new StringBuilder();
+        line.setLength(0);
         boolean eol = false;
         int ch;
         while (!eol && (ch = bufferedIn.read()) >= 0) {
@@ -89,18 +90,21 @@ public class LineFilter extends Reader {
 
     @Override
     public int read(char[] cbuf, int off, int len) throws IOException {
-        for (int i = 0; i < len; i++) {
-            final int c = read();
-            if (c == -1) {
-                if (i == 0) {
-                    return -1;
-                } else {
-                    return i;
-                }
+        int count = 0;
+        while (count < len) {
+            ensureData();
+            if (transformedLine == null || transformedLine.length() == 0) {
+                break;
             }
-            cbuf[off + i] = (char) c;
+            int chunk = Math.min(len - count, transformedLine.length() - transformedIndex);
+            transformedLine.getChars(transformedIndex, transformedIndex + chunk, cbuf, off + count);
+            transformedIndex += chunk;
+            count += chunk;
+        }
+        if (count == 0 && len > 0) {
+            return -1;
         }
-        return len;
+        return count;
     }
 
     public void close() throws IOException {
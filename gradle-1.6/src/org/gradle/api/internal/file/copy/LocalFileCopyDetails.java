@@ -0,0 +1,38 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.file.copy;
+
+import java.io.File;
+
+/**
+ * Details of a file which may be copied from the local file system without changes to its content.
+ */
+public interface LocalFileCopyDetails {
+    /**
+     * Returns true if the file is copied from the local file system and its content is not filtered, so that the
+     * copy has the same size and content as the source file.
+     */
+    boolean isUnmodifiedLocalFile();
+
+    /**
+     * Creates a hard link to the source file, replacing the target file if it exists.
+     *
+     * @return true if the link was created, false if the file needs to be copied instead. This is the case when
+     * the content or permissions of the file are to be changed, or when the link cannot be created.
+     */
+    boolean createHardLink(File target);
+}
@@ -23,13 +23,16 @@ import org.gradle.api.file.FileCopyDetails;
 import org.gradle.api.file.FileVisitDetails;
 import org.gradle.api.file.RelativePath;
 import org.gradle.api.internal.file.AbstractFileTreeElement;
+import org.gradle.api.internal.file.DefaultFileTreeElement;
 import org.gradle.internal.nativeplatform.filesystem.FileSystem;
+import org.gradle.util.GFileUtils;
 
 import java.io.*;
 import java.util.Map;
 
 public class MappingCopySpecVisitor extends DelegatingCopySpecVisitor {
     private ReadableCopySpec spec;
+    private FilterChainCache filterChainCache;
     private FileSystem fileSystem;
 
     public MappingCopySpecVisitor(CopySpecVisitor visitor, FileSystem fileSystem) {
@@ -39,15 +42,16 @@ public class MappingCopySpecVisitor extends DelegatingCopySpecVisitor {
 
     public void visitSpec(ReadableCopySpec spec) {
         this.spec = spec;
+        this.filterChainCache = new FilterChainCache();
         getVisitor().visitSpec(spec);
     }
 
     public void visitDir(FileVisitDetails dirDetails) {
-        getVisitor().visitDir(new FileVisitDetailsImpl(dirDetails, spec, fileSystem));
+        getVisitor().visitDir(new FileVisitDetailsImpl(dirDetails, spec, filterChainCache, fileSystem));
     }
 
     public void visitFile(final FileVisitDetails fileDetails) {
-        FileVisitDetailsImpl details = new FileVisitDetailsImpl(fileDetails, spec, fileSystem);
+        FileVisitDetailsImpl details = new FileVisitDetailsImpl(fileDetails, spec, filterChainCache, fileSystem);
         for (Action<? super FileCopyDetails> action : spec.getAllCopyActions()) {
             action.execute(details);
             if (details.excluded) {
@@ -57,19 +61,20 @@ public class MappingCopySpecVisitor extends DelegatingCopySpecVisitor {
         getVisitor().visitFile(details);
     }
 
-    private static class FileVisitDetailsImpl extends AbstractFileTreeElement implements FileVisitDetails, FileCopyDetails {
+    private static class FileVisitDetailsImpl extends AbstractFileTreeElement implements FileVisitDetails, FileCopyDetails, LocalFileCopyDetails {
         private final FileVisitDetails fileDetails;
         private final ReadableCopySpec spec;
         private FileSystem fileSystem;
-        private final FilterChain filterChain = new FilterChain();
+        private final FilterChain filterChain;
         private RelativePath relativePath;
         private boolean excluded;
         private Integer mode;
 
-        public FileVisitDetailsImpl(FileVisitDetails fileDetails, ReadableCopySpec spec, FileSystem fileSystem) {
+        public FileVisitDetailsImpl(FileVisitDetails fileDetails, ReadableCopySpec spec, FilterChainCache filterChainCache, FileSystem fileSystem) {
             this.fileDetails = fileDetails;
             this.spec = spec;
             this.fileSystem = fileSystem;
+            this.filterChain = new FilterChain(spec.getFilteringCharset(), filterChainCache);
         }
 
         public String getDisplayName() {
@@ -132,6 +137,29 @@ public class MappingCopySpecVisitor extends DelegatingCopySpecVisitor {
             }
         }
 
+        public boolean isUnmodifiedLocalFile() {
+            return !filterChain.hasFilters() && fileDetails instanceof DefaultFileTreeElement;
+        }
+
+        public boolean createHardLink(File target) {
+            if (!isUnmodifiedLocalFile()) {
+                return false;
+            }
+            // The link shares its permissions with the source file, so these must not change
+            if (getMode() != fileDetails.getMode()) {
+                return false;
+            }
+            File source = fileDetails.getFile();
+            if (target.getAbsoluteFile().equals(source.getAbsoluteFile())) {
+                return false;
+            }
+            GFileUtils.mkdirs(target.getParentFile());
+            if (target.exists() && !target.delete()) {
+                return false;
+            }
+            return fileSystem.tryCreateHardLink(target, source);
+        }
+
         private void adaptPermissions(File target) {
             final Integer specMode = getMode();
             if(specMode !=null){
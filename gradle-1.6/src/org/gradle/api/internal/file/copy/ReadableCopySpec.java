@@ -38,4 +38,6 @@ public interface ReadableCopySpec {
     Collection<? extends Action<? super FileCopyDetails>> getAllCopyActions();
 
     boolean getIncludeEmptyDirs();
+
+    String getFilteringCharset();
 }
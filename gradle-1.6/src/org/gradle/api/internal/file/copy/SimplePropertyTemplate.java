@@ -0,0 +1,163 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.file.copy;
+
+import groovy.lang.Writable;
+import groovy.text.SimpleTemplateEngine;
+import groovy.text.Template;
+import org.gradle.api.UncheckedIOException;
+import org.gradle.internal.UncheckedException;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A {@link Template} for text which refers to properties only by name, such as {@code $version} or {@code ${version}}.
+ * Such text is expanded by substituting the property values, rather than by compiling it to a Groovy script. The text
+ * is compiled using a {@link SimpleTemplateEngine} when a property is missing, or has a value which Groovy would
+ * render differently to its {@code toString()}, so that the result is always the same as that of the compiled
+ * template.
+ */
+class SimplePropertyTemplate implements Template {
+    private final String text;
+    private final List<String> parts;
+    private Template compiledTemplate;
+
+    private SimplePropertyTemplate(String text, List<String> parts) {
+        this.text = text;
+        this.parts = parts;
+    }
+
+    /**
+     * Parses the given template text.
+     *
+     * @return the template, or null if the text uses any other template syntax, in which case it needs to be compiled.
+     */
+    static SimplePropertyTemplate parse(String text) {
+        if (text.indexOf('\\') >= 0 || text.contains("<%")) {
+            return null;
+        }
+        // Even elements are literal text, odd elements are property names
+        List<String> parts = new ArrayList<String>();
+        StringBuilder literal = new StringBuilder(text.length());
+        int length = text.length();
+        int pos = 0;
+        while (pos < length) {
+            char ch = text.charAt(pos);
+            if (ch == '\r') {
+                // Line endings are normalised, as done by SimpleTemplateEngine
+                literal.append('\n');
+                pos++;
+                if (pos < length && text.charAt(pos) == '\n') {
+                    pos++;
+                }
+            } else if (ch != '$') {
+                literal.append(ch);
+                pos++;
+            } else {
+                boolean braces = pos + 1 < length && text.charAt(pos + 1) == '{';
+                int start = braces ? pos + 2 : pos + 1;
+                int end = start;
+                while (end < length && isNameChar(text.charAt(end), end == start)) {
+                    end++;
+                }
+                if (end == start) {
+                    return null;
+                }
+                if (braces) {
+                    if (end == length || text.charAt(end) != '}') {
+                        return null;
+                    }
+                    pos = end + 1;
+                } else {
+                    if (end < length && text.charAt(end) == '.') {
+                        // A property path, such as $project.version
+                        return null;
+                    }
+                    pos = end;
+                }
+                parts.add(literal.toString());
+                parts.add(text.substring(start, end));
+                literal.setLength(0);
+            }
+        }
+        parts.add(literal.toString());
+        return new SimplePropertyTemplate(text, parts);
+    }
+
+    private static boolean isNameChar(char ch, boolean first) {
+        if (ch == '$') {
+            return false;
+        }
+        return first ? Character.isJavaIdentifierStart(ch) : Character.isJavaIdentifierPart(ch);
+    }
+
+    public Writable make() {
+        return make(Collections.emptyMap());
+    }
+
+    public Writable make(final Map binding) {
+        for (int i = 1; i < parts.size(); i += 2) {
+            if (!binding.containsKey(parts.get(i)) || !isSimpleValue(binding.get(parts.get(i)))) {
+                return getCompiledTemplate().make(binding);
+            }
+        }
+        return new Writable() {
+            public Writer writeTo(Writer out) throws IOException {
+                for (int i = 0; i < parts.size(); i++) {
+                    if (i % 2 == 0) {
+                        out.write(parts.get(i));
+                    } else {
+                        out.write(String.valueOf(binding.get(parts.get(i))));
+                    }
+                }
+                return out;
+            }
+
+            @Override
+            public String toString() {
+                StringWriter writer = new StringWriter(text.length());
+                try {
+                    writeTo(writer);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                return writer.toString();
+            }
+        };
+    }
+
+    private static boolean isSimpleValue(Object value) {
+        return value == null || value instanceof String || value instanceof Number || value instanceof Boolean || value instanceof Character;
+    }
+
+    private Template getCompiledTemplate() {
+        if (compiledTemplate == null) {
+            try {
+                compiledTemplate = new SimpleTemplateEngine().createTemplate(text);
+            } catch (Exception e) {
+                throw UncheckedException.throwAsUncheckedException(e);
+            }
+        }
+        return compiledTemplate;
+    }
+}
@@ -15,76 +15,189 @@
  */
 package org.gradle.api.internal.file.copy;
 
+import org.gradle.api.file.EmptyFileVisitor;
 import org.gradle.api.file.FileVisitDetails;
-import org.gradle.api.file.FileVisitor;
 import org.gradle.api.file.RelativePath;
 import org.gradle.api.internal.file.collections.DirectoryFileTree;
-import org.gradle.api.internal.file.collections.MinimalFileTree;
 import org.gradle.util.GFileUtils;
 
 import java.io.File;
-import java.util.HashSet;
-import java.util.Set;
+import java.util.HashMap;
+import java.util.Map;
 
+/**
+ * A {@link CopySpecVisitor} which removes the files from the destination directory which are not part of the copy.
+ *
+ * <p>The destination directory is scanned before anything is copied, and its contents recorded in a tree of path
+ * segments, so that the paths of a large directory share their common prefixes. When running incrementally, files
+ * whose size, timestamp and permissions match the destination are not copied again. The timestamp of each copied
+ * file is set to that of its source file, so that it can be compared on the next sync.</p>
+ */
 public class SyncCopySpecVisitor extends DelegatingCopySpecVisitor {
-    private final Set<RelativePath> visited = new HashSet<RelativePath>();
+    private PathNode destination;
     private File baseDestDir;
+    private boolean incremental;
     private boolean didWork;
 
     public SyncCopySpecVisitor(CopySpecVisitor visitor) {
         super(visitor);
     }
 
+    public boolean isIncremental() {
+        return incremental;
+    }
+
+    public void setIncremental(boolean incremental) {
+        this.incremental = incremental;
+    }
+
     public void startVisit(CopyAction action) {
         baseDestDir = ((FileCopyAction) action).getDestinationDir();
         getVisitor().startVisit(action);
+        destination = new PathNode();
+        if (!baseDestDir.isDirectory()) {
+            return;
+        }
+        new DirectoryFileTree(baseDestDir).visit(new EmptyFileVisitor() {
+            @Override
+            public void visitDir(FileVisitDetails dirDetails) {
+                destination.add(dirDetails.getRelativePath().getSegments()).recordDestination(dirDetails, incremental);
+            }
+
+            @Override
+            public void visitFile(FileVisitDetails fileDetails) {
+                destination.add(fileDetails.getRelativePath().getSegments()).recordDestination(fileDetails, incremental);
+            }
+        });
     }
 
     @Override
     public void visitDir(FileVisitDetails dirDetails) {
-        visited.add(dirDetails.getRelativePath());
+        PathNode node = destination.add(dirDetails.getRelativePath().getSegments());
+        node.recordVisited(dirDetails);
+        if (incremental && node.isUpToDate(dirDetails)) {
+            return;
+        }
         getVisitor().visitDir(dirDetails);
     }
 
     @Override
     public void visitFile(FileVisitDetails fileDetails) {
-        visited.add(fileDetails.getRelativePath());
+        PathNode node = destination.add(fileDetails.getRelativePath().getSegments());
+        node.recordVisited(fileDetails);
+        if (incremental && node.isUpToDate(fileDetails)) {
+            return;
+        }
         getVisitor().visitFile(fileDetails);
+        if (incremental && isUnmodifiedLocalFile(fileDetails)) {
+            File target = fileDetails.getRelativePath().getFile(baseDestDir);
+            target.setLastModified(fileDetails.getLastModified());
+        }
     }
 
     @Override
     public void endVisit() {
-        FileVisitor visitor = new FileVisitor() {
-            public void visitDir(FileVisitDetails dirDetails) {
-                maybeDelete(dirDetails, true);
-            }
+        deleteUnvisited(destination, baseDestDir);
+        destination = null;
 
-            public void visitFile(FileVisitDetails fileDetails) {
-                maybeDelete(fileDetails, false);
-            }
+        getVisitor().endVisit();
+    }
 
-            private void maybeDelete(FileVisitDetails fileDetails, boolean isDir) {
-                RelativePath path = fileDetails.getRelativePath();
-                if (!visited.contains(path)) {
-                    if (isDir) {
-                        GFileUtils.deleteDirectory(fileDetails.getFile());
-                    } else {
-                        GFileUtils.deleteQuietly(fileDetails.getFile());
-                    }
-                    didWork = true;
+    private void deleteUnvisited(PathNode node, File dir) {
+        if (node.children == null) {
+            return;
+        }
+        for (Map.Entry<String, PathNode> entry : node.children.entrySet()) {
+            PathNode child = entry.getValue();
+            File file = new File(dir, entry.getKey());
+            if (child.isStale()) {
+                if (child.destinationIsFile) {
+                    GFileUtils.deleteQuietly(file);
+                } else {
+                    GFileUtils.deleteDirectory(file);
                 }
+                didWork = true;
+            } else {
+                deleteUnvisited(child, file);
             }
-        };
-
-        MinimalFileTree walker = new DirectoryFileTree(baseDestDir).postfix();
-        walker.visit(visitor);
-        visited.clear();
-
-        getVisitor().endVisit();
+        }
     }
 
     @Override
     public boolean getDidWork() {
         return didWork || getVisitor().getDidWork();
     }
+
+    private static boolean isUnmodifiedLocalFile(FileVisitDetails details) {
+        return details instanceof LocalFileCopyDetails && ((LocalFileCopyDetails) details).isUnmodifiedLocalFile();
+    }
+
+    /**
+     * A path in the destination directory, and the state of the destination file and the source file copied to it.
+     */
+    private static class PathNode {
+        private static final int UNKNOWN = -1;
+        private Map<String, PathNode> children;
+        private boolean inDestination;
+        private boolean destinationIsFile;
+        private long size = UNKNOWN;
+        private long lastModified = UNKNOWN;
+        private int mode = UNKNOWN;
+        private boolean visitedAsFile;
+        private boolean visitedAsDir;
+
+        PathNode add(String[] segments) {
+            PathNode node = this;
+            for (String segment : segments) {
+                if (node.children == null) {
+                    node.children = new HashMap<String, PathNode>(4);
+                }
+                PathNode child = node.children.get(segment);
+                if (child == null) {
+                    child = new PathNode();
+                    node.children.put(segment, child);
+                }
+                node = child;
+            }
+            return node;
+        }
+
+        void recordDestination(FileVisitDetails details, boolean includeAttributes) {
+            inDestination = true;
+            destinationIsFile = details.getRelativePath().isFile();
+            if (includeAttributes) {
+                if (destinationIsFile) {
+                    size = details.getSize();
+                    lastModified = details.getLastModified();
+                }
+                mode = details.getMode();
+            }
+        }
+
+        void recordVisited(FileVisitDetails details) {
+            if (details.getRelativePath().isFile()) {
+                visitedAsFile = true;
+            } else {
+                visitedAsDir = true;
+            }
+        }
+
+        /**
+         * Returns true if the destination file exists but has been replaced by a file of another type, or is not
+         * part of the copy.
+         */
+        boolean isStale() {
+            return inDestination && !(destinationIsFile ? visitedAsFile : visitedAsDir);
+        }
+
+        boolean isUpToDate(FileVisitDetails details) {
+            if (!inDestination || mode == UNKNOWN || destinationIsFile != details.getRelativePath().isFile()) {
+                return false;
+            }
+            if (destinationIsFile && !(isUnmodifiedLocalFile(details) && size == details.getSize() && lastModified == details.getLastModified())) {
+                return false;
+            }
+            return mode == details.getMode();
+        }
+    }
 }
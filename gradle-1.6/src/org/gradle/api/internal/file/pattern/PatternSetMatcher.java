@@ -0,0 +1,109 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gradle.api.internal.file.pattern;
+
+import org.gradle.api.file.RelativePath;
+import org.gradle.api.specs.Spec;
+
+import java.util.*;
+
+/**
+ * Matches a path against a set of patterns, and is satisfied when any of the patterns matches. Equivalent to combining the matchers
+ * returned by {@link PatternMatcherFactory} for each pattern, but the common '**&#47;name' and '**&#47;name&#47;**' forms, such as those
+ * in the default excludes, are answered with a set lookup per path segment rather than by evaluating each pattern in turn.
+ *
+ * <p>A '**&#47;name&#47;**' pattern matches any path with a 'name' segment, and so also matches the directory 'name' itself. When used to
+ * exclude elements from a file tree walk, this means that the walk never descends into such a directory.</p>
+ */
+public class PatternSetMatcher implements Spec<RelativePath> {
+    private final boolean partialMatchDirs;
+    private final boolean caseSensitive;
+    private final Set<String> anySegmentNames = new HashSet<String>();
+    private final Set<String> fileNames = new HashSet<String>();
+    private final List<PatternStep> fileNameSteps = new ArrayList<PatternStep>();
+    private final List<Spec<RelativePath>> matchers = new ArrayList<Spec<RelativePath>>();
+
+    public PatternSetMatcher(boolean partialMatchDirs, boolean caseSensitive, Collection<String> patterns) {
+        this.partialMatchDirs = partialMatchDirs;
+        this.caseSensitive = caseSensitive;
+        for (String pattern : patterns) {
+            compile(pattern);
+        }
+    }
+
+    private void compile(String pattern) {
+        // trailing / or \ assumes **
+        if (pattern.endsWith("/") || pattern.endsWith("\\")) {
+            pattern = pattern + "**";
+        }
+        String[] parts = pattern.split("\\\\|/");
+        if (!partialMatchDirs && parts.length == 3 && parts[0].equals("**") && parts[2].equals("**") && isLiteral(parts[1])) {
+            anySegmentNames.add(normalise(parts[1]));
+        } else if (parts.length == 2 && parts[0].equals("**") && !parts[1].equals("**")) {
+            if (isLiteral(parts[1])) {
+                fileNames.add(normalise(parts[1]));
+            } else {
+                fileNameSteps.add(PatternStepFactory.getStep(parts[1], true, caseSensitive));
+            }
+        } else {
+            matchers.add(PatternMatcherFactory.getPatternMatcher(partialMatchDirs, caseSensitive, pattern));
+        }
+    }
+
+    private static boolean isLiteral(String part) {
+        return part.length() > 0 && part.indexOf('*') < 0 && part.indexOf('?') < 0;
+    }
+
+    private String normalise(String name) {
+        return caseSensitive ? name : name.toLowerCase(Locale.ENGLISH);
+    }
+
+    public boolean isSatisfiedBy(RelativePath path) {
+        String[] segments = path.getSegments();
+        if (!anySegmentNames.isEmpty()) {
+            for (String segment : segments) {
+                if (anySegmentNames.contains(normalise(segment))) {
+                    return true;
+                }
+            }
+        }
+
+        if (!fileNames.isEmpty() || !fileNameSteps.isEmpty()) {
+            if (!path.isFile()) {
+                if (partialMatchDirs) {
+                    return true;
+                }
+            } else if (segments.length > 0) {
+                String name = segments[segments.length - 1];
+                if (fileNames.contains(normalise(name))) {
+                    return true;
+                }
+                for (PatternStep step : fileNameSteps) {
+                    if (step.matches(name, true)) {
+                        return true;
+                    }
+                }
+            }
+        }
+
+        for (Spec<RelativePath> matcher : matchers) {
+            if (matcher.isSatisfiedBy(path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -18,16 +18,21 @@ package org.gradle.api.internal.project;
 
 import org.gradle.StartParameter;
 import org.gradle.api.internal.*;
+import org.gradle.api.internal.changedetection.state.InMemoryTaskArtifactCache;
+import org.gradle.api.internal.changedetection.state.WatchedFileSnapshotCache;
 import org.gradle.api.internal.classpath.DefaultModuleRegistry;
 import org.gradle.api.internal.classpath.DefaultPluginModuleRegistry;
 import org.gradle.api.internal.classpath.ModuleRegistry;
 import org.gradle.api.internal.classpath.PluginModuleRegistry;
+import org.gradle.api.internal.tasks.compile.daemon.CompilerDaemonManager;
 import org.gradle.cache.internal.*;
 import org.gradle.cli.CommandLineConverter;
 import org.gradle.initialization.ClassLoaderRegistry;
 import org.gradle.initialization.DefaultClassLoaderRegistry;
 import org.gradle.initialization.DefaultCommandLineConverter;
 import org.gradle.internal.Factory;
+import org.gradle.internal.filewatch.FileWatcher;
+import org.gradle.internal.filewatch.NoOpFileWatcher;
 import org.gradle.internal.nativeplatform.ProcessEnvironment;
 import org.gradle.internal.nativeplatform.services.NativeServices;
 import org.gradle.internal.reflect.DirectInstantiator;
@@ -39,6 +44,7 @@ import org.gradle.listener.ListenerManager;
 import org.gradle.logging.LoggingServiceRegistry;
 import org.gradle.messaging.remote.MessagingServer;
 import org.gradle.messaging.remote.internal.MessagingServices;
+import org.gradle.process.internal.WorkerProcessPool;
 import org.gradle.util.ClassLoaderFactory;
 import org.gradle.util.DefaultClassLoaderFactory;
 
@@ -99,6 +105,33 @@ public class GlobalServicesRegistry extends DefaultServiceRegistry {
         return get(MessagingServices.class).get(MessagingServer.class);
     }
 
+    protected WorkerProcessPool createWorkerProcessPool() {
+        return new WorkerProcessPool();
+    }
+
+    /**
+     * Returns a manager which stops the compiler daemons at the end of each build. Long-running processes can override this.
+     */
+    protected CompilerDaemonManager createCompilerDaemonManager() {
+        return new CompilerDaemonManager();
+    }
+
+    /**
+     * Returns a watcher which cannot watch anything, as the services of a short-lived process are not around long enough to benefit
+     * from watching. Long-running processes can override this.
+     */
+    protected FileWatcher createFileWatcher() {
+        return new NoOpFileWatcher();
+    }
+
+    protected WatchedFileSnapshotCache createWatchedFileSnapshotCache() {
+        return new WatchedFileSnapshotCache(get(FileWatcher.class));
+    }
+
+    protected InMemoryTaskArtifactCache createInMemoryTaskArtifactCache() {
+        return new InMemoryTaskArtifactCache();
+    }
+
     protected ClassGenerator createClassGenerator() {
         return new AsmBackedClassGenerator();
     }
@@ -107,7 +140,15 @@ public class GlobalServicesRegistry extends DefaultServiceRegistry {
         return new ClassGeneratorBackedInstantiator(get(ClassGenerator.class), new DirectInstantiator());
     }
 
+    /**
+     * Returns a handler which does not listen for requests to release file locks, so other processes poll for locks held by this process.
+     * Long-running processes can override this.
+     */
+    protected FileLockContentionHandler createFileLockContentionHandler() {
+        return new NoOpFileLockContentionHandler();
+    }
+
     protected FileLockManager createFileLockManager() {
-        return new DefaultFileLockManager(new DefaultProcessMetaDataProvider(get(ProcessEnvironment.class)));
+        return new DefaultFileLockManager(new DefaultProcessMetaDataProvider(get(ProcessEnvironment.class)), get(FileLockContentionHandler.class));
     }
 }
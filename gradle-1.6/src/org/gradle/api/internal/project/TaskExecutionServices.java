@@ -22,6 +22,8 @@ import org.gradle.api.internal.changedetection.changes.DefaultTaskArtifactStateR
 import org.gradle.api.internal.changedetection.changes.ShortCircuitTaskArtifactStateRepository;
 import org.gradle.api.internal.changedetection.state.*;
 import org.gradle.api.internal.tasks.TaskExecuter;
+import org.gradle.api.internal.tasks.cache.LocalDirectoryTaskOutputCache;
+import org.gradle.api.internal.tasks.cache.TaskOutputCache;
 import org.gradle.api.internal.tasks.execution.*;
 import org.gradle.api.invocation.Gradle;
 import org.gradle.cache.CacheRepository;
@@ -32,6 +34,7 @@ import org.gradle.internal.reflect.Instantiator;
 import org.gradle.internal.service.DefaultServiceRegistry;
 import org.gradle.internal.service.ServiceRegistry;
 import org.gradle.listener.ListenerManager;
+import org.gradle.profile.TraceRecorder;
 
 public class TaskExecutionServices extends DefaultServiceRegistry {
     private final Gradle gradle;
@@ -44,34 +47,45 @@ public class TaskExecutionServices extends DefaultServiceRegistry {
     protected TaskExecuter createTaskExecuter() {
         TaskArtifactStateCacheAccess cacheAccess = get(TaskArtifactStateCacheAccess.class);
         TaskArtifactStateRepository repository = get(TaskArtifactStateRepository.class);
+        TraceRecorder traceRecorder = get(TraceRecorder.class);
+        TaskOutputCache taskOutputCache = get(TaskOutputCache.class);
         return new ExecuteAtMostOnceTaskExecuter(
                 new SkipOnlyIfTaskExecuter(
                         new SkipTaskWithNoActionsExecuter(
                                 new SkipEmptySourceFilesTaskExecuter(
                                         new ValidatingTaskExecuter(
-                                                new CacheLockAcquiringTaskExecuter(cacheAccess,
+                                                new CacheLockAcquiringTaskExecuter(cacheAccess, traceRecorder,
                                                         new ContextualisingTaskExecuter(
-                                                                new SkipUpToDateTaskExecuter(repository,
-                                                                        new CacheLockReleasingTaskExecuter(cacheAccess,
-                                                                                new PostExecutionAnalysisTaskExecuter(
-                                                                                        new ExecuteActionsTaskExecuter(
-                                                                                                get(ListenerManager.class).getBroadcaster(TaskActionListener.class)
-                                                                                        )))))))))));
+                                                                new SkipUpToDateTaskExecuter(repository, traceRecorder,
+                                                                        new CacheLockReleasingTaskExecuter(cacheAccess, traceRecorder,
+                                                                                new SkipCachedTaskExecuter(taskOutputCache, traceRecorder,
+                                                                                        new PostExecutionAnalysisTaskExecuter(
+                                                                                                new ExecuteActionsTaskExecuter(
+                                                                                                        get(ListenerManager.class).getBroadcaster(TaskActionListener.class),
+                                                                                                        traceRecorder
+                                                                                                ))))))))))));
+    }
+
+    protected TaskOutputCache createTaskOutputCache() {
+        return new LocalDirectoryTaskOutputCache(get(CacheRepository.class), LocalDirectoryTaskOutputCache.DEFAULT_MAX_SIZE);
     }
 
     protected TaskArtifactStateCacheAccess createCacheAccess() {
-        return new DefaultTaskArtifactStateCacheAccess(gradle, get(CacheRepository.class));
+        return new DefaultTaskArtifactStateCacheAccess(gradle, get(CacheRepository.class), get(InMemoryTaskArtifactCache.class));
     }
 
     protected TaskArtifactStateRepository createTaskArtifactStateRepository() {
         TaskArtifactStateCacheAccess cacheAccess = get(TaskArtifactStateCacheAccess.class);
+        WatchedFileSnapshotCache watchedFileSnapshotCache = get(WatchedFileSnapshotCache.class);
 
-        FileSnapshotter fileSnapshotter = new DefaultFileSnapshotter(
+        DefaultFileSnapshotter fileSnapshotter = new DefaultFileSnapshotter(
                 new CachingHasher(
                         new DefaultHasher(),
-                        cacheAccess));
+                        cacheAccess),
+                watchedFileSnapshotCache,
+                get(TraceRecorder.class));
 
-        FileSnapshotter outputFilesSnapshotter = new OutputFilesSnapshotter(fileSnapshotter, new RandomLongIdGenerator(), cacheAccess);
+        FileSnapshotter outputFilesSnapshotter = new OutputFilesSnapshotter(fileSnapshotter.metadataSnapshotter(), new RandomLongIdGenerator(), cacheAccess, watchedFileSnapshotCache);
 
         TaskHistoryRepository taskHistoryRepository = new CacheBackedTaskHistoryRepository(cacheAccess, new CacheBackedFileSnapshotRepository(cacheAccess));
 
@@ -91,6 +105,6 @@ public class TaskExecutionServices extends DefaultServiceRegistry {
     protected TaskPlanExecutor createTaskExecutorFactory() {
         StartParameter startParameter = gradle.getStartParameter();
         TaskArtifactStateCacheAccess cacheAccess = get(TaskArtifactStateCacheAccess.class);
-        return new TaskPlanExecutorFactory(cacheAccess, startParameter.getParallelThreadCount()).create();
+        return new TaskPlanExecutorFactory(cacheAccess, get(TraceRecorder.class), startParameter.getParallelThreadCount()).create();
     }
 }
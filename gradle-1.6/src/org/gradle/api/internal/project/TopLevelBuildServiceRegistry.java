@@ -40,6 +40,7 @@ import org.gradle.cache.CacheRepository;
 import org.gradle.cache.CacheValidator;
 import org.gradle.cache.internal.CacheFactory;
 import org.gradle.cache.internal.DefaultCacheRepository;
+import org.gradle.cache.internal.FileLockManager;
 import org.gradle.configuration.*;
 import org.gradle.groovy.scripts.DefaultScriptCompilerFactory;
 import org.gradle.groovy.scripts.ScriptCompilerFactory;
@@ -63,9 +64,13 @@ import org.gradle.messaging.actor.internal.DefaultActorFactory;
 import org.gradle.messaging.remote.MessagingServer;
 import org.gradle.process.internal.DefaultWorkerProcessFactory;
 import org.gradle.process.internal.WorkerProcessBuilder;
+import org.gradle.process.internal.WorkerProcessPool;
 import org.gradle.process.internal.child.WorkerProcessClassPathProvider;
+import org.gradle.profile.DefaultTraceRecorder;
+import org.gradle.profile.NoOpTraceRecorder;
 import org.gradle.profile.ProfileEventAdapter;
 import org.gradle.profile.ProfileListener;
+import org.gradle.profile.TraceRecorder;
 import org.gradle.util.ClassLoaderFactory;
 import org.gradle.util.MultiParentClassLoader;
 
@@ -222,7 +227,7 @@ public class TopLevelBuildServiceRegistry extends DefaultServiceRegistry impleme
     protected Factory<WorkerProcessBuilder> createWorkerProcessFactory() {
         ClassPathRegistry classPathRegistry = get(ClassPathRegistry.class);
         return new DefaultWorkerProcessFactory(startParameter.getLogLevel(), get(MessagingServer.class), classPathRegistry,
-                new IdentityFileResolver(), new LongIdGenerator());
+                new IdentityFileResolver(), new LongIdGenerator(), get(WorkerProcessPool.class));
     }
 
     protected BuildConfigurer createBuildConfigurer() {
@@ -234,7 +239,14 @@ public class TopLevelBuildServiceRegistry extends DefaultServiceRegistry impleme
     }
 
     protected ProfileEventAdapter createProfileEventAdapter() {
-        return new ProfileEventAdapter(get(BuildRequestMetaData.class), get(TimeProvider.class), get(ListenerManager.class).getBroadcaster(ProfileListener.class));
+        return new ProfileEventAdapter(get(BuildRequestMetaData.class), get(TimeProvider.class), get(ListenerManager.class).getBroadcaster(ProfileListener.class), get(FileLockManager.class));
+    }
+
+    protected TraceRecorder createTraceRecorder() {
+        if (startParameter.isProfileTrace()) {
+            return new DefaultTraceRecorder();
+        }
+        return new NoOpTraceRecorder();
     }
 
     protected PluginRegistry createPluginRegistry() {
@@ -196,13 +196,20 @@ public class AnnotationProcessingTaskFactory implements ITaskFactory {
                 && method.getParameterTypes().length == 0 && !Modifier.isStatic(method.getModifiers());
     }
 
-    private static class StandardTaskAction implements Action<Task> {
+    private static class StandardTaskAction implements ContextAwareTaskAction {
         private final Method method;
 
         public StandardTaskAction(Method method) {
             this.method = method;
         }
 
+        public void contextualise(TaskExecutionContext context) {
+        }
+
+        public Class<?> getActionClass() {
+            return method.getDeclaringClass();
+        }
+
         public void execute(Task task) {
             ClassLoader original = Thread.currentThread().getContextClassLoader();
             Thread.currentThread().setContextClassLoader(method.getDeclaringClass().getClassLoader());
@@ -218,7 +225,7 @@ public class AnnotationProcessingTaskFactory implements ITaskFactory {
         }
     }
 
-    public static class IncrementalTaskAction extends StandardTaskAction implements ContextAwareTaskAction {
+    public static class IncrementalTaskAction extends StandardTaskAction {
 
         private TaskArtifactState taskArtifactState;
 
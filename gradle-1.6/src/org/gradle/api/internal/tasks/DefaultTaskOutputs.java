@@ -31,10 +31,13 @@ import org.gradle.api.tasks.TaskOutputs;
 public class DefaultTaskOutputs implements TaskOutputsInternal {
     private final DefaultConfigurableFileCollection outputFiles;
     private AndSpec<TaskInternal> upToDateSpec = new AndSpec<TaskInternal>();
+    private AndSpec<TaskInternal> cacheIfSpec = new AndSpec<TaskInternal>();
+    private final TaskInternal task;
     private TaskExecutionHistory history;
     private final TaskStatusNagger taskStatusNagger;
 
     public DefaultTaskOutputs(FileResolver resolver, TaskInternal task, TaskStatusNagger taskStatusNagger) {
+        this.task = task;
         this.taskStatusNagger = taskStatusNagger;
         outputFiles = new DefaultConfigurableFileCollection(String.format("%s output files", task), resolver, null);
         outputFiles.builtBy(task);
@@ -54,6 +57,20 @@ public class DefaultTaskOutputs implements TaskOutputsInternal {
         this.upToDateSpec = this.upToDateSpec.and(upToDateSpec);
     }
 
+    public void cacheIf(Closure cacheClosure) {
+        taskStatusNagger.nagIfTaskNotInConfigurableState("TaskOutputs.cacheIf(Closure)");
+        cacheIfSpec = cacheIfSpec.and(cacheClosure);
+    }
+
+    public void cacheIf(Spec<? super Task> cacheSpec) {
+        taskStatusNagger.nagIfTaskNotInConfigurableState("TaskOutputs.cacheIf(Spec)");
+        cacheIfSpec = cacheIfSpec.and(cacheSpec);
+    }
+
+    public boolean isCacheEnabled() {
+        return !cacheIfSpec.getSpecs().isEmpty() && !outputFiles.getFrom().isEmpty() && cacheIfSpec.isSatisfiedBy(task);
+    }
+
     public boolean getHasOutput() {
         return !outputFiles.getFrom().isEmpty() || !upToDateSpec.getSpecs().isEmpty();
     }
@@ -0,0 +1,221 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.tasks.cache;
+
+import org.apache.commons.io.IOUtils;
+import org.gradle.api.UncheckedIOException;
+import org.gradle.cache.CacheRepository;
+import org.gradle.cache.internal.FileLockManager;
+import org.gradle.util.GFileUtils;
+import org.gradle.util.hash.HashValue;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.*;
+import java.util.*;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * A {@link TaskOutputCache} which keeps each entry as a compressed archive in a directory under the user's Gradle home directory.
+ * The total size of the entries is bounded. When the bound is exceeded, the least recently used entries are discarded.
+ *
+ * <p>Within an archive, the entry for output file {@code n} is named {@code n}, and the entries for the contents of output directory
+ * {@code n} are named {@code n/relative/path}.</p>
+ */
+public class LocalDirectoryTaskOutputCache implements TaskOutputCache {
+    public static final long DEFAULT_MAX_SIZE = 5L * 1024 * 1024 * 1024;
+    private static final Logger LOGGER = LoggerFactory.getLogger(LocalDirectoryTaskOutputCache.class);
+    private static final String ENTRY_EXTENSION = ".zip";
+    private final CacheRepository cacheRepository;
+    private final long maxSize;
+    private final Object evictionLock = new Object();
+    private File cacheDir;
+
+    public LocalDirectoryTaskOutputCache(CacheRepository cacheRepository, long maxSize) {
+        this.cacheRepository = cacheRepository;
+        this.maxSize = maxSize;
+    }
+
+    private synchronized File getCacheDir() {
+        if (cacheDir == null) {
+            cacheDir = cacheRepository.cache("taskOutputs").withDisplayName("task output cache").withLockMode(FileLockManager.LockMode.None).open().getBaseDir();
+        }
+        return cacheDir;
+    }
+
+    public boolean load(HashValue key, List<File> outputFiles) {
+        File entry = entryFile(key);
+        if (!entry.isFile()) {
+            return false;
+        }
+        // Record the use of the entry, for eviction
+        entry.setLastModified(System.currentTimeMillis());
+
+        try {
+            for (File outputFile : outputFiles) {
+                GFileUtils.deleteQuietly(outputFile);
+            }
+            unpack(entry, outputFiles);
+            return true;
+        } catch (Exception e) {
+            LOGGER.warn(String.format("Could not restore task outputs from %s, discarding the entry.", entry), e);
+            entry.delete();
+            for (File outputFile : outputFiles) {
+                GFileUtils.deleteQuietly(outputFile);
+            }
+            return false;
+        }
+    }
+
+    public void store(HashValue key, List<File> outputFiles) {
+        File entry = entryFile(key);
+        File tempFile = new File(entry.getParentFile(), entry.getName() + "." + UUID.randomUUID() + ".tmp");
+        try {
+            pack(outputFiles, tempFile);
+            if (!tempFile.renameTo(entry) && !entry.isFile()) {
+                throw new IOException(String.format("Could not rename %s to %s.", tempFile, entry));
+            }
+        } catch (Exception e) {
+            LOGGER.warn(String.format("Could not store task outputs in %s.", entry), e);
+            return;
+        } finally {
+            tempFile.delete();
+        }
+        evict();
+    }
+
+    private File entryFile(HashValue key) {
+        return new File(getCacheDir(), key.asCompactString() + ENTRY_EXTENSION);
+    }
+
+    private void pack(List<File> outputFiles, File archive) throws IOException {
+        ZipOutputStream output = new ZipOutputStream(new BufferedOutputStream(new FileOutputStream(archive)));
+        try {
+            for (int i = 0; i < outputFiles.size(); i++) {
+                File outputFile = outputFiles.get(i);
+                String name = String.valueOf(i);
+                if (outputFile.isFile()) {
+                    packFile(outputFile, name, output);
+                } else if (outputFile.isDirectory()) {
+                    packDirectory(outputFile, name + "/", output);
+                }
+            }
+        } finally {
+            output.close();
+        }
+    }
+
+    private void packDirectory(File dir, String name, ZipOutputStream output) throws IOException {
+        ZipEntry dirEntry = new ZipEntry(name);
+        dirEntry.setTime(dir.lastModified());
+        output.putNextEntry(dirEntry);
+        output.closeEntry();
+
+        File[] children = dir.listFiles();
+        if (children == null) {
+            throw new IOException(String.format("Could not list contents of %s.", dir));
+        }
+        Arrays.sort(children);
+        for (File child : children) {
+            if (child.isDirectory()) {
+                packDirectory(child, name + child.getName() + "/", output);
+            } else {
+                packFile(child, name + child.getName(), output);
+            }
+        }
+    }
+
+    private void packFile(File file, String name, ZipOutputStream output) throws IOException {
+        ZipEntry fileEntry = new ZipEntry(name);
+        fileEntry.setTime(file.lastModified());
+        output.putNextEntry(fileEntry);
+        InputStream input = new FileInputStream(file);
+        try {
+            IOUtils.copy(input, output);
+        } finally {
+            input.close();
+        }
+        output.closeEntry();
+    }
+
+    private void unpack(File archive, List<File> outputFiles) throws IOException {
+        ZipInputStream input = new ZipInputStream(new BufferedInputStream(new FileInputStream(archive)));
+        try {
+            ZipEntry zipEntry;
+            while ((zipEntry = input.getNextEntry()) != null) {
+                String name = zipEntry.getName();
+                int separator = name.indexOf('/');
+                int index = Integer.parseInt(separator < 0 ? name : name.substring(0, separator));
+                File root = outputFiles.get(index);
+                File target = separator < 0 || separator == name.length() - 1 ? root : new File(root, name.substring(separator + 1));
+
+                if (zipEntry.isDirectory()) {
+                    GFileUtils.mkdirs(target);
+                } else {
+                    GFileUtils.parentMkdirs(target);
+                    OutputStream output = new FileOutputStream(target);
+                    try {
+                        IOUtils.copy(input, output);
+                    } finally {
+                        output.close();
+                    }
+                }
+                target.setLastModified(zipEntry.getTime());
+            }
+        } finally {
+            input.close();
+        }
+    }
+
+    private void evict() {
+        synchronized (evictionLock) {
+            File[] entries = getCacheDir().listFiles(new FilenameFilter() {
+                public boolean accept(File dir, String name) {
+                    return name.endsWith(ENTRY_EXTENSION);
+                }
+            });
+            if (entries == null) {
+                throw new UncheckedIOException(String.format("Could not list contents of %s.", getCacheDir()));
+            }
+
+            long totalSize = 0;
+            final Map<File, Long> lastUsed = new HashMap<File, Long>();
+            for (File entry : entries) {
+                totalSize += entry.length();
+                lastUsed.put(entry, entry.lastModified());
+            }
+            if (totalSize <= maxSize) {
+                return;
+            }
+
+            Arrays.sort(entries, new Comparator<File>() {
+                public int compare(File file1, File file2) {
+                    return lastUsed.get(file1).compareTo(lastUsed.get(file2));
+                }
+            });
+            for (int i = 0; i < entries.length && totalSize > maxSize; i++) {
+                long size = entries[i].length();
+                if (entries[i].delete()) {
+                    LOGGER.debug("Evicted {} from the task output cache.", entries[i]);
+                    totalSize -= size;
+                }
+            }
+        }
+    }
+}
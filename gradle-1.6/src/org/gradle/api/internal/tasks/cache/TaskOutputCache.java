@@ -0,0 +1,39 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.tasks.cache;
+
+import org.gradle.util.hash.HashValue;
+
+import java.io.File;
+import java.util.List;
+
+/**
+ * Stores and restores the output files of tasks, keyed by a hash of the task inputs.
+ */
+public interface TaskOutputCache {
+    /**
+     * Replaces the given output files with the content of the cache entry with the given key, if there is one.
+     *
+     * @return true if the outputs were restored, false if there is no usable entry with the given key.
+     */
+    boolean load(HashValue key, List<File> outputFiles);
+
+    /**
+     * Stores the current content of the given output files under the given key.
+     */
+    void store(HashValue key, List<File> outputFiles);
+}
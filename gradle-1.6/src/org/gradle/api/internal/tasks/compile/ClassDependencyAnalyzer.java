@@ -0,0 +1,127 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gradle.api.internal.tasks.compile;
+
+import org.apache.commons.io.FileUtils;
+import org.gradle.api.UncheckedIOException;
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.ClassVisitor;
+import org.objectweb.asm.FieldVisitor;
+import org.objectweb.asm.Opcodes;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Extracts the classes a compiled class depends on from its constant pool. Every class the compiled code refers to
+ * shows up in the constant pool, either as a class entry or inside a type descriptor or signature.
+ */
+public class ClassDependencyAnalyzer {
+    private static final int CONSTANT_UTF8 = 1;
+    private static final int CONSTANT_CLASS = 7;
+    private static final Pattern TYPE_DESCRIPTOR = Pattern.compile("L([^;<>()\\[]+)[;<]");
+
+    public CompiledClassInfo analyze(File classFile) {
+        byte[] bytes;
+        try {
+            bytes = FileUtils.readFileToByteArray(classFile);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        ClassReader reader = new ClassReader(bytes);
+        Set<String> dependencies = new HashSet<String>();
+        char[] buffer = new char[reader.getMaxStringLength()];
+        for (int i = 1; i < reader.getItemCount(); i++) {
+            int offset = reader.getItem(i);
+            if (offset == 0) {
+                // Second slot of a long or double constant
+                continue;
+            }
+            int tag = bytes[offset - 1];
+            if (tag == CONSTANT_CLASS) {
+                String className = reader.readUTF8(offset, buffer);
+                if (className.startsWith("[")) {
+                    addDescriptorTypes(className, dependencies);
+                } else {
+                    dependencies.add(className);
+                }
+            } else if (tag == CONSTANT_UTF8) {
+                addDescriptorTypes(readUtf8(bytes, offset), dependencies);
+            }
+        }
+
+        ClassInfoVisitor visitor = new ClassInfoVisitor();
+        reader.accept(visitor, ClassReader.SKIP_CODE | ClassReader.SKIP_FRAMES);
+        dependencies.remove(visitor.className);
+
+        String constants = visitor.constants.isEmpty() ? null : visitor.constants.toString();
+        return new CompiledClassInfo(visitor.className, visitor.sourceFileName, dependencies, constants);
+    }
+
+    private static void addDescriptorTypes(String value, Set<String> dependencies) {
+        if (value.indexOf(';') < 0) {
+            return;
+        }
+        Matcher matcher = TYPE_DESCRIPTOR.matcher(value);
+        while (matcher.find()) {
+            dependencies.add(matcher.group(1));
+        }
+    }
+
+    private static String readUtf8(byte[] bytes, int offset) {
+        // A CONSTANT_Utf8 entry has the same layout as DataInput.readUTF() expects: a length followed by modified UTF-8
+        try {
+            return new DataInputStream(new ByteArrayInputStream(bytes, offset, bytes.length - offset)).readUTF();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static class ClassInfoVisitor extends ClassVisitor {
+        private final SortedSet<String> constants = new TreeSet<String>();
+        private String className;
+        private String sourceFileName;
+
+        public ClassInfoVisitor() {
+            super(Opcodes.ASM4);
+        }
+
+        @Override
+        public void visit(int version, int access, String name, String signature, String superName, String[] interfaces) {
+            className = name;
+        }
+
+        @Override
+        public void visitSource(String source, String debug) {
+            sourceFileName = source;
+        }
+
+        @Override
+        public FieldVisitor visitField(int access, String name, String desc, String signature, Object value) {
+            int constantAccess = Opcodes.ACC_STATIC | Opcodes.ACC_FINAL;
+            if (value != null && (access & constantAccess) == constantAccess && (access & Opcodes.ACC_PRIVATE) == 0) {
+                constants.add(name + ":" + desc + "=" + value);
+            }
+            return null;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gradle.api.internal.tasks.compile;
+
+import java.io.Serializable;
+import java.util.Set;
+
+/**
+ * What incremental compilation needs to know about a single compiled class.
+ */
+public class CompiledClassInfo implements Serializable {
+    private final String className;
+    private final String sourceFileName;
+    private final Set<String> dependencies;
+    private final String constants;
+
+    public CompiledClassInfo(String className, String sourceFileName, Set<String> dependencies, String constants) {
+        this.className = className;
+        this.sourceFileName = sourceFileName;
+        this.dependencies = dependencies;
+        this.constants = constants;
+    }
+
+    /**
+     * The internal name of the class, eg {@code org/gradle/Foo$Bar}.
+     */
+    public String getClassName() {
+        return className;
+    }
+
+    /**
+     * The name of the source file this class was compiled from, without its directory. Null when the class was
+     * compiled without debug information.
+     */
+    public String getSourceFileName() {
+        return sourceFileName;
+    }
+
+    /**
+     * The internal names of the classes this class refers to.
+     */
+    public Set<String> getDependencies() {
+        return dependencies;
+    }
+
+    /**
+     * The compile time constants this class declares that other classes may inline, or null when there are none.
+     */
+    public String getConstants() {
+        return constants;
+    }
+}
@@ -0,0 +1,187 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gradle.api.internal.tasks.compile;
+
+import org.gradle.api.UncheckedIOException;
+import org.gradle.messaging.serialize.DefaultSerializer;
+import org.gradle.messaging.serialize.Serializer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.*;
+import java.util.*;
+
+/**
+ * The class level dependency graph of the output of a Java compilation, along with the source file each class was
+ * compiled from. Persisted between builds to decide which source files need to be recompiled.
+ */
+public class IncrementalCompileState implements Serializable {
+    private static final Logger LOGGER = LoggerFactory.getLogger(IncrementalCompileState.class);
+
+    private final String fingerprint;
+    private final Map<String, SourceFileInfo> sources = new HashMap<String, SourceFileInfo>();
+    private final Map<String, CompiledClassInfo> classes = new HashMap<String, CompiledClassInfo>();
+    private transient Map<String, String> classSources;
+    private transient Map<String, Set<String>> dependents;
+
+    public IncrementalCompileState(String fingerprint) {
+        this.fingerprint = fingerprint;
+    }
+
+    /**
+     * A hash of everything other than the source files that affects the compiled classes.
+     */
+    public String getFingerprint() {
+        return fingerprint;
+    }
+
+    public Set<String> getSourcePaths() {
+        return sources.keySet();
+    }
+
+    public boolean isUpToDate(File sourceFile) {
+        SourceFileInfo info = sources.get(sourceFile.getAbsolutePath());
+        return info != null && info.length == sourceFile.length() && info.lastModified == sourceFile.lastModified();
+    }
+
+    public Set<String> getClassNames(String sourcePath) {
+        SourceFileInfo info = sources.get(sourcePath);
+        return info == null ? Collections.<String>emptySet() : info.classNames;
+    }
+
+    public Set<String> getClassNames() {
+        return classes.keySet();
+    }
+
+    public CompiledClassInfo getClassInfo(String className) {
+        return classes.get(className);
+    }
+
+    public String getSourcePath(String className) {
+        if (classSources == null) {
+            classSources = new HashMap<String, String>();
+            for (Map.Entry<String, SourceFileInfo> entry : sources.entrySet()) {
+                for (String name : entry.getValue().classNames) {
+                    classSources.put(name, entry.getKey());
+                }
+            }
+        }
+        return classSources.get(className);
+    }
+
+    /**
+     * Returns the classes that directly refer to the given class.
+     */
+    public Set<String> getDependents(String className) {
+        if (dependents == null) {
+            dependents = new HashMap<String, Set<String>>();
+            for (CompiledClassInfo info : classes.values()) {
+                for (String dependency : info.getDependencies()) {
+                    Set<String> classDependents = dependents.get(dependency);
+                    if (classDependents == null) {
+                        classDependents = new HashSet<String>();
+                        dependents.put(dependency, classDependents);
+                    }
+                    classDependents.add(info.getClassName());
+                }
+            }
+        }
+        Set<String> classDependents = dependents.get(className);
+        return classDependents == null ? Collections.<String>emptySet() : classDependents;
+    }
+
+    public void addSourceFile(File sourceFile, Collection<CompiledClassInfo> compiledClasses) {
+        Set<String> classNames = new HashSet<String>();
+        for (CompiledClassInfo info : compiledClasses) {
+            classNames.add(info.getClassName());
+            classes.put(info.getClassName(), info);
+        }
+        sources.put(sourceFile.getAbsolutePath(), new SourceFileInfo(sourceFile.length(), sourceFile.lastModified(), classNames));
+        classSources = null;
+        dependents = null;
+    }
+
+    /**
+     * Copies the given source file, and the classes compiled from it, from another state.
+     */
+    public void copySourceFile(String sourcePath, IncrementalCompileState other) {
+        SourceFileInfo info = other.sources.get(sourcePath);
+        sources.put(sourcePath, info);
+        for (String className : info.classNames) {
+            classes.put(className, other.classes.get(className));
+        }
+        classSources = null;
+        dependents = null;
+    }
+
+    /**
+     * Drops the dependencies on classes that are not part of this compilation, such as library classes.
+     */
+    public void retainInternalDependencies() {
+        for (CompiledClassInfo info : classes.values()) {
+            info.getDependencies().retainAll(classes.keySet());
+        }
+        dependents = null;
+    }
+
+    /**
+     * Loads the state from the given file. Returns null when there is no usable state.
+     */
+    public static IncrementalCompileState load(File stateFile) {
+        if (!stateFile.isFile()) {
+            return null;
+        }
+        Serializer<IncrementalCompileState> serializer = new DefaultSerializer<IncrementalCompileState>(IncrementalCompileState.class.getClassLoader());
+        try {
+            InputStream inputStream = new BufferedInputStream(new FileInputStream(stateFile));
+            try {
+                return serializer.read(inputStream);
+            } finally {
+                inputStream.close();
+            }
+        } catch (Exception e) {
+            LOGGER.debug(String.format("Could not read incremental compile state from %s.", stateFile), e);
+            return null;
+        }
+    }
+
+    public void store(File stateFile) {
+        Serializer<IncrementalCompileState> serializer = new DefaultSerializer<IncrementalCompileState>(IncrementalCompileState.class.getClassLoader());
+        stateFile.getParentFile().mkdirs();
+        try {
+            OutputStream outputStream = new BufferedOutputStream(new FileOutputStream(stateFile));
+            try {
+                serializer.write(outputStream, this);
+            } finally {
+                outputStream.close();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static class SourceFileInfo implements Serializable {
+        private final long length;
+        private final long lastModified;
+        private final Set<String> classNames;
+
+        private SourceFileInfo(long length, long lastModified, Set<String> classNames) {
+            this.length = length;
+            this.lastModified = lastModified;
+            this.classNames = classNames;
+        }
+    }
+}
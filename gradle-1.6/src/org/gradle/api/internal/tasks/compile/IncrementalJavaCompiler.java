@@ -18,6 +18,7 @@ package org.gradle.api.internal.tasks.compile;
 import org.gradle.api.AntBuilder;
 import org.gradle.internal.Factory;
 import org.gradle.api.internal.TaskOutputsInternal;
+import org.gradle.api.tasks.WorkResult;
 import org.gradle.language.jvm.tasks.SimpleStaleClassCleaner;
 import org.gradle.language.jvm.tasks.StaleClassCleaner;
 
@@ -33,6 +34,14 @@ public class IncrementalJavaCompiler extends IncrementalJavaCompilerSupport<Java
         this.taskOutputs = taskOutputs;
     }
 
+    @Override
+    public WorkResult execute(JavaCompileSpec spec) {
+        if (spec.getCompileOptions().isIncremental() && spec.getDependencyCacheDir() != null) {
+            return new SelectiveJavaCompiler(compiler, taskOutputs).execute(spec);
+        }
+        return super.execute(spec);
+    }
+
     @Override
     protected Compiler<JavaCompileSpec> getCompiler() {
         return compiler;
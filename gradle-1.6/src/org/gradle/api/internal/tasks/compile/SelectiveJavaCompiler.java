@@ -0,0 +1,329 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gradle.api.internal.tasks.compile;
+
+import org.gradle.api.file.EmptyFileVisitor;
+import org.gradle.api.file.FileCollection;
+import org.gradle.api.file.FileVisitDetails;
+import org.gradle.api.internal.TaskOutputsInternal;
+import org.gradle.api.internal.file.collections.SimpleFileCollection;
+import org.gradle.api.tasks.WorkResult;
+import org.gradle.api.tasks.compile.CompileOptions;
+import org.gradle.language.jvm.tasks.SimpleStaleClassCleaner;
+import org.gradle.language.jvm.tasks.StaleClassCleaner;
+import org.gradle.util.hash.HashUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.util.*;
+
+/**
+ * An incremental Java compiler that only recompiles the source files that changed since the previous compilation,
+ * along with the source files of the classes that transitively depend on them.
+ *
+ * <p>Falls back to recompiling everything when there is no usable state from the previous compilation, when anything
+ * other than the source files changed, or when a compile time constant changed. Compile time constants are inlined by
+ * javac, so the classes that use them cannot be found from the compiled classes.</p>
+ */
+public class SelectiveJavaCompiler implements Compiler<JavaCompileSpec> {
+    private static final Logger LOGGER = LoggerFactory.getLogger(SelectiveJavaCompiler.class);
+    private final Compiler<JavaCompileSpec> compiler;
+    private final TaskOutputsInternal taskOutputs;
+    private final ClassDependencyAnalyzer analyzer = new ClassDependencyAnalyzer();
+
+    public SelectiveJavaCompiler(Compiler<JavaCompileSpec> compiler, TaskOutputsInternal taskOutputs) {
+        this.compiler = compiler;
+        this.taskOutputs = taskOutputs;
+    }
+
+    public WorkResult execute(JavaCompileSpec spec) {
+        File stateFile = new File(spec.getDependencyCacheDir(), String.format("incremental-%s.bin", HashUtil.createCompactMD5(spec.getDestinationDir().getAbsolutePath())));
+        IncrementalCompileState previous = IncrementalCompileState.load(stateFile);
+        // A failed compilation leaves no state behind, so that the next compilation is a full one
+        stateFile.delete();
+
+        String fingerprint = fingerprint(spec);
+        Map<String, File> sourceFiles = sourceFiles(spec);
+        IncrementalCompileState state;
+        if (previous == null || !previous.getFingerprint().equals(fingerprint) || !allClassFilesExist(previous, spec.getDestinationDir())) {
+            LOGGER.info("No usable incremental compile state found. Compiling all source files.");
+            state = compileAll(spec, fingerprint, sourceFiles, Collections.<String>emptySet());
+        } else {
+            Map<String, File> sourceFilesByPath = new HashMap<String, File>();
+            for (File sourceFile : sourceFiles.values()) {
+                sourceFilesByPath.put(sourceFile.getAbsolutePath(), sourceFile);
+            }
+            Set<String> staleClasses = new HashSet<String>();
+            Set<String> staleSources = findStaleSources(previous, sourceFilesByPath, staleClasses);
+            if (staleSources.isEmpty()) {
+                previous.store(stateFile);
+                return new SimpleWorkResult(false);
+            }
+            state = compileChanges(spec, previous, fingerprint, sourceFiles, sourceFilesByPath, staleSources, staleClasses);
+        }
+
+        if (state != null) {
+            state.store(stateFile);
+        }
+        return new SimpleWorkResult(true);
+    }
+
+    /**
+     * Finds the changed and removed source files, and the source files of the classes that transitively depend on the
+     * classes compiled from them.
+     */
+    private Set<String> findStaleSources(IncrementalCompileState previous, Map<String, File> sourceFilesByPath, Set<String> staleClasses) {
+        LinkedList<String> pending = new LinkedList<String>();
+        for (File sourceFile : sourceFilesByPath.values()) {
+            if (!previous.isUpToDate(sourceFile)) {
+                pending.add(sourceFile.getAbsolutePath());
+            }
+        }
+        for (String sourcePath : previous.getSourcePaths()) {
+            if (!sourceFilesByPath.containsKey(sourcePath)) {
+                pending.add(sourcePath);
+            }
+        }
+
+        Set<String> staleSources = new HashSet<String>();
+        while (!pending.isEmpty()) {
+            String sourcePath = pending.removeFirst();
+            if (!staleSources.add(sourcePath)) {
+                continue;
+            }
+            for (String className : previous.getClassNames(sourcePath)) {
+                if (staleClasses.add(className)) {
+                    for (String dependent : previous.getDependents(className)) {
+                        String dependentSource = previous.getSourcePath(dependent);
+                        if (dependentSource != null) {
+                            pending.add(dependentSource);
+                        }
+                    }
+                }
+            }
+        }
+        return staleSources;
+    }
+
+    private IncrementalCompileState compileChanges(JavaCompileSpec spec, IncrementalCompileState previous, String fingerprint, Map<String, File> sourceFiles,
+                                                   Map<String, File> sourceFilesByPath, Set<String> staleSources, Set<String> staleClasses) {
+        List<File> recompile = new ArrayList<File>();
+        for (String sourcePath : staleSources) {
+            File sourceFile = sourceFilesByPath.get(sourcePath);
+            if (sourceFile != null) {
+                recompile.add(sourceFile);
+            }
+        }
+        LOGGER.info("Recompiling {} of {} source files.", recompile.size(), sourceFiles.size());
+
+        File destinationDir = spec.getDestinationDir();
+        deleteClasses(destinationDir, staleClasses);
+        if (!recompile.isEmpty()) {
+            FileCollection source = spec.getSource();
+            Iterable<File> classpath = spec.getClasspath();
+            List<File> incrementalClasspath = new ArrayList<File>();
+            incrementalClasspath.add(destinationDir);
+            if (classpath != null) {
+                for (File file : classpath) {
+                    incrementalClasspath.add(file);
+                }
+            }
+            spec.setSource(new SimpleFileCollection(recompile));
+            spec.setClasspath(incrementalClasspath);
+            try {
+                compiler.execute(spec);
+            } finally {
+                spec.setSource(source);
+                spec.setClasspath(classpath);
+            }
+        }
+
+        Set<String> retainedClasses = new HashSet<String>(previous.getClassNames());
+        retainedClasses.removeAll(staleClasses);
+        Collection<CompiledClassInfo> compiledClasses = analyzeClasses(destinationDir, retainedClasses);
+
+        if (constantsChanged(previous, staleClasses, compiledClasses)) {
+            LOGGER.info("A compile time constant has changed. Compiling all source files.");
+            Set<String> knownClasses = new HashSet<String>(retainedClasses);
+            for (CompiledClassInfo compiledClass : compiledClasses) {
+                knownClasses.add(compiledClass.getClassName());
+            }
+            return compileAll(spec, fingerprint, sourceFiles, knownClasses);
+        }
+
+        Set<String> retainedSources = new HashSet<String>(previous.getSourcePaths());
+        retainedSources.removeAll(staleSources);
+        return buildState(fingerprint, sourceFiles, compiledClasses, recompile, previous, retainedSources);
+    }
+
+    private IncrementalCompileState compileAll(JavaCompileSpec spec, String fingerprint, Map<String, File> sourceFiles, Set<String> knownClasses) {
+        deleteClasses(spec.getDestinationDir(), knownClasses);
+        StaleClassCleaner cleaner = new SimpleStaleClassCleaner(taskOutputs);
+        cleaner.setDestinationDir(spec.getDestinationDir());
+        cleaner.setSource(spec.getSource());
+        cleaner.execute();
+
+        compiler.execute(spec);
+
+        Collection<CompiledClassInfo> compiledClasses = analyzeClasses(spec.getDestinationDir(), Collections.<String>emptySet());
+        return buildState(fingerprint, sourceFiles, compiledClasses, sourceFiles.values(), null, Collections.<String>emptySet());
+    }
+
+    private boolean constantsChanged(IncrementalCompileState previous, Set<String> staleClasses, Collection<CompiledClassInfo> compiledClasses) {
+        Map<String, String> constants = new HashMap<String, String>();
+        for (CompiledClassInfo compiledClass : compiledClasses) {
+            constants.put(compiledClass.getClassName(), compiledClass.getConstants());
+        }
+        for (String className : staleClasses) {
+            String previousConstants = previous.getClassInfo(className).getConstants();
+            if (previousConstants != null && !previousConstants.equals(constants.get(className))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Builds the state for the new compilation. Returns null when a compiled class cannot be traced back to its source
+     * file, in which case the next compilation is a full one.
+     */
+    private IncrementalCompileState buildState(String fingerprint, Map<String, File> sourceFiles, Collection<CompiledClassInfo> compiledClasses,
+                                               Collection<File> compiledSources, IncrementalCompileState previous, Set<String> retainedSources) {
+        Map<File, List<CompiledClassInfo>> classesBySource = new HashMap<File, List<CompiledClassInfo>>();
+        for (File sourceFile : compiledSources) {
+            classesBySource.put(sourceFile, new ArrayList<CompiledClassInfo>());
+        }
+        for (CompiledClassInfo compiledClass : compiledClasses) {
+            String className = compiledClass.getClassName();
+            File sourceFile = null;
+            if (compiledClass.getSourceFileName() != null) {
+                String packagePath = className.substring(0, className.lastIndexOf('/') + 1);
+                sourceFile = sourceFiles.get(packagePath + compiledClass.getSourceFileName());
+            }
+            if (sourceFile == null) {
+                LOGGER.info("Cannot determine the source file of class {}. The next compilation will compile all source files.", className);
+                return null;
+            }
+            List<CompiledClassInfo> sourceClasses = classesBySource.get(sourceFile);
+            if (sourceClasses == null) {
+                sourceClasses = new ArrayList<CompiledClassInfo>();
+                classesBySource.put(sourceFile, sourceClasses);
+            }
+            sourceClasses.add(compiledClass);
+        }
+
+        IncrementalCompileState state = new IncrementalCompileState(fingerprint);
+        for (String sourcePath : retainedSources) {
+            state.copySourceFile(sourcePath, previous);
+        }
+        for (Map.Entry<File, List<CompiledClassInfo>> entry : classesBySource.entrySet()) {
+            state.addSourceFile(entry.getKey(), entry.getValue());
+        }
+        state.retainInternalDependencies();
+        return state;
+    }
+
+    private Collection<CompiledClassInfo> analyzeClasses(File destinationDir, Set<String> excludedClasses) {
+        Map<String, File> classFiles = new HashMap<String, File>();
+        findClassFiles(destinationDir, "", classFiles);
+        List<CompiledClassInfo> compiledClasses = new ArrayList<CompiledClassInfo>();
+        for (Map.Entry<String, File> entry : classFiles.entrySet()) {
+            if (!excludedClasses.contains(entry.getKey())) {
+                compiledClasses.add(analyzer.analyze(entry.getValue()));
+            }
+        }
+        return compiledClasses;
+    }
+
+    private void findClassFiles(File dir, String packagePath, Map<String, File> classFiles) {
+        File[] files = dir.listFiles();
+        if (files == null) {
+            return;
+        }
+        for (File file : files) {
+            String name = file.getName();
+            if (file.isDirectory()) {
+                findClassFiles(file, packagePath + name + "/", classFiles);
+            } else if (name.endsWith(".class")) {
+                classFiles.put(packagePath + name.substring(0, name.length() - ".class".length()), file);
+            }
+        }
+    }
+
+    private boolean allClassFilesExist(IncrementalCompileState state, File destinationDir) {
+        for (String className : state.getClassNames()) {
+            if (!new File(destinationDir, className + ".class").isFile()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void deleteClasses(File destinationDir, Set<String> classNames) {
+        for (String className : classNames) {
+            new File(destinationDir, className + ".class").delete();
+        }
+    }
+
+    private Map<String, File> sourceFiles(JavaCompileSpec spec) {
+        final Map<String, File> sourceFiles = new HashMap<String, File>();
+        spec.getSource().getAsFileTree().visit(new EmptyFileVisitor() {
+            @Override
+            public void visitFile(FileVisitDetails fileDetails) {
+                sourceFiles.put(fileDetails.getRelativePath().getPathString(), fileDetails.getFile());
+            }
+        });
+        return sourceFiles;
+    }
+
+    /**
+     * Hashes everything other than the source files that affects the compiled classes: the compiler settings and the
+     * compile classpath.
+     */
+    private String fingerprint(JavaCompileSpec spec) {
+        CompileOptions options = spec.getCompileOptions();
+        StringBuilder builder = new StringBuilder();
+        builder.append(spec.getDestinationDir().getAbsolutePath()).append('\n');
+        builder.append(spec.getSourceCompatibility()).append('\n');
+        builder.append(spec.getTargetCompatibility()).append('\n');
+        builder.append(new TreeMap<String, Object>(options.optionMap())).append('\n');
+        builder.append(options.getCompilerArgs()).append('\n');
+        if (spec.getClasspath() != null) {
+            for (File file : spec.getClasspath()) {
+                appendClasspathEntry(builder, file, spec.getDestinationDir());
+            }
+        }
+        return HashUtil.createCompactMD5(builder.toString());
+    }
+
+    private void appendClasspathEntry(StringBuilder builder, File file, File destinationDir) {
+        if (file.equals(destinationDir)) {
+            return;
+        }
+        if (file.isDirectory()) {
+            File[] files = file.listFiles();
+            if (files != null) {
+                Arrays.sort(files);
+                for (File child : files) {
+                    appendClasspathEntry(builder, child, destinationDir);
+                }
+            }
+        } else {
+            builder.append(file.getAbsolutePath()).append(':').append(file.length()).append(':').append(file.lastModified()).append('\n');
+        }
+    }
+}
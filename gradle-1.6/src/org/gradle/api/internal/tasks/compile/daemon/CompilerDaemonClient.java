@@ -25,6 +25,7 @@ import org.gradle.process.internal.WorkerProcess;
 
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 
@@ -35,11 +36,20 @@ public class CompilerDaemonClient implements CompilerDaemon, CompilerDaemonClien
     private final CompilerDaemonServerProtocol server;
     private final BlockingQueue<CompileResult> compileResults = new SynchronousQueue<CompileResult>();
     private final Lock lock = new ReentrantLock(true);
+    private final AtomicBoolean exited;
 
     public CompilerDaemonClient(DaemonForkOptions forkOptions, WorkerProcess workerProcess, CompilerDaemonServerProtocol server) {
+        this(forkOptions, workerProcess, server, new AtomicBoolean());
+    }
+
+    /**
+     * @param exited Set once the daemon process has exited.
+     */
+    public CompilerDaemonClient(DaemonForkOptions forkOptions, WorkerProcess workerProcess, CompilerDaemonServerProtocol server, AtomicBoolean exited) {
         this.forkOptions = forkOptions;
         this.workerProcess = workerProcess;
         this.server = server;
+        this.exited = exited;
     }
 
     public <T extends CompileSpec> CompileResult execute(Compiler<T> compiler, T spec) {
@@ -60,9 +70,16 @@ public class CompilerDaemonClient implements CompilerDaemon, CompilerDaemonClien
         return forkOptions.isCompatibleWith(required);
     }
 
+    public boolean isRunning() {
+        return !exited.get();
+    }
+
     public void stop() {
         lock.lock();
         try {
+            if (exited.get()) {
+                return;
+            }
             server.stop();
             workerProcess.waitForStop();
         } finally {
@@ -20,45 +20,71 @@ import net.jcip.annotations.ThreadSafe;
 import org.gradle.BuildAdapter;
 import org.gradle.BuildResult;
 import org.gradle.api.internal.project.ProjectInternal;
+import org.gradle.api.invocation.Gradle;
 import org.gradle.api.logging.Logger;
 import org.gradle.api.logging.Logging;
 import org.gradle.internal.CompositeStoppable;
+import org.gradle.internal.Stoppable;
 import org.gradle.internal.jvm.Jvm;
+import org.gradle.process.ExecResult;
+import org.gradle.process.internal.ExecHandle;
+import org.gradle.process.internal.ExecHandleListener;
 import org.gradle.process.internal.JavaExecHandleBuilder;
 import org.gradle.process.internal.WorkerProcess;
 import org.gradle.process.internal.WorkerProcessBuilder;
 
 import java.io.File;
 import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
- * Controls the lifecycle of the compiler daemon and provides access to it.
+ * Controls the lifecycle of the compiler daemons and provides access to them.
+ *
+ * <p>By default, the compiler daemons are stopped when the build finishes. A manager which retains its daemons keeps the most recently
+ * used ones running between builds, so that a long-lived process, such as the Gradle daemon, can hand a warm compiler, and whatever
+ * the compiler caches in memory, to the next build.</p>
  */
 @ThreadSafe
-public class CompilerDaemonManager implements CompilerDaemonFactory {
+public class CompilerDaemonManager implements CompilerDaemonFactory, Stoppable {
     private static final Logger LOGGER = Logging.getLogger(CompilerDaemonManager.class);
-    private static final CompilerDaemonManager INSTANCE = new CompilerDaemonManager();
-    
-    private final List<CompilerDaemonClient> clients = new ArrayList<CompilerDaemonClient>();
+    static final int MAX_RETAINED_DAEMONS = 2;
+
+    // Ordered from least to most recently used
+    private final LinkedList<CompilerDaemonClient> clients = new LinkedList<CompilerDaemonClient>();
+    private final boolean retainDaemons;
+    private Gradle currentBuild;
+
+    public CompilerDaemonManager() {
+        this(false);
+    }
 
-    public static CompilerDaemonManager getInstance() {
-        return INSTANCE;
+    public CompilerDaemonManager(boolean retainDaemons) {
+        this.retainDaemons = retainDaemons;
     }
 
     public synchronized CompilerDaemon getDaemon(ProjectInternal project, DaemonForkOptions forkOptions) {
-        if (clients.isEmpty()) {
-            registerStopOnBuildFinished(project);
+        if (currentBuild != project.getGradle()) {
+            currentBuild = project.getGradle();
+            registerBuildFinished(currentBuild);
         }
 
-        for (CompilerDaemonClient client: clients) {
-            if (client.isCompatibleWith(forkOptions)) {
+        for (Iterator<CompilerDaemonClient> iterator = clients.iterator(); iterator.hasNext();) {
+            CompilerDaemonClient client = iterator.next();
+            if (!client.isRunning()) {
+                LOGGER.info("Discarding a Gradle compiler daemon which has exited.");
+                iterator.remove();
+            } else if (client.isCompatibleWith(forkOptions)) {
+                iterator.remove();
+                clients.addLast(client);
                 return client;
             }
         }
 
         CompilerDaemonClient client = startDaemon(project, forkOptions);
-        clients.add(client);
+        clients.addLast(client);
         return client;
     }
 
@@ -69,11 +95,28 @@ public class CompilerDaemonManager implements CompilerDaemonFactory {
         clients.clear();
     }
 
-    private void registerStopOnBuildFinished(ProjectInternal project) {
-        project.getGradle().addBuildListener(new BuildAdapter() {
+    private synchronized void buildFinished() {
+        currentBuild = null;
+        if (!retainDaemons) {
+            stop();
+            return;
+        }
+        List<CompilerDaemonClient> evicted = new ArrayList<CompilerDaemonClient>();
+        while (clients.size() > MAX_RETAINED_DAEMONS) {
+            evicted.add(clients.removeFirst());
+        }
+        if (!evicted.isEmpty()) {
+            LOGGER.info("Stopping {} least recently used Gradle compiler daemon(s).", evicted.size());
+            CompositeStoppable.stoppable(evicted).stop();
+        }
+        LOGGER.info("Keeping {} Gradle compiler daemon(s) running for the next build.", clients.size());
+    }
+
+    private void registerBuildFinished(Gradle build) {
+        build.addBuildListener(new BuildAdapter() {
             @Override
             public void buildFinished(BuildResult result) {
-                stop();
+                CompilerDaemonManager.this.buildFinished();
             }
         });
     }
@@ -97,10 +140,19 @@ public class CompilerDaemonManager implements CompilerDaemonFactory {
         javaCommand.setMaxHeapSize(forkOptions.getMaxHeapSize());
         javaCommand.setJvmArgs(forkOptions.getJvmArgs());
         javaCommand.setWorkingDir(project.getRootProject().getProjectDir());
+        final AtomicBoolean exited = new AtomicBoolean();
+        javaCommand.listener(new ExecHandleListener() {
+            public void executionStarted(ExecHandle execHandle) {
+            }
+
+            public void executionFinished(ExecHandle execHandle, ExecResult execResult) {
+                exited.set(true);
+            }
+        });
         WorkerProcess process = builder.worker(new CompilerDaemonServer()).build();
         process.start();
         CompilerDaemonServerProtocol server = process.getConnection().addOutgoing(CompilerDaemonServerProtocol.class);
-        CompilerDaemonClient client = new CompilerDaemonClient(forkOptions, process, server);
+        CompilerDaemonClient client = new CompilerDaemonClient(forkOptions, process, server, exited);
         process.getConnection().addIncoming(CompilerDaemonClientProtocol.class, client);
 
         LOGGER.info("Started Gradle compiler daemon with fork options {}.", forkOptions);
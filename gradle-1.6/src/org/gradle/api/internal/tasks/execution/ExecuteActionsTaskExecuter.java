@@ -24,6 +24,8 @@ import org.gradle.api.logging.Logging;
 import org.gradle.api.tasks.StopActionException;
 import org.gradle.api.tasks.StopExecutionException;
 import org.gradle.api.tasks.TaskExecutionException;
+import org.gradle.profile.TraceRecorder;
+import org.gradle.profile.TraceSpan;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -34,9 +36,11 @@ import java.util.List;
 public class ExecuteActionsTaskExecuter implements ContextualTaskExecuter {
     private static Logger logger = Logging.getLogger(ExecuteActionsTaskExecuter.class);
     private final TaskActionListener listener;
+    private final TraceRecorder traceRecorder;
 
-    public ExecuteActionsTaskExecuter(TaskActionListener listener) {
+    public ExecuteActionsTaskExecuter(TaskActionListener listener, TraceRecorder traceRecorder) {
         this.listener = listener;
+        this.traceRecorder = traceRecorder;
     }
 
     public void execute(TaskInternal task, TaskStateInternal state, TaskExecutionContext context) {
@@ -76,9 +80,11 @@ public class ExecuteActionsTaskExecuter implements ContextualTaskExecuter {
 
     private void executeAction(TaskInternal task, ContextAwareTaskAction action, TaskExecutionContext context) {
         action.contextualise(context);
+        TraceSpan span = traceRecorder.start("task action", task.getPath());
         try {
             action.execute(task);
         } finally {
+            span.end();
             action.contextualise(null);
         }
     }
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.tasks.execution;
+
+import org.gradle.api.internal.TaskInternal;
+import org.gradle.api.internal.tasks.ContextualTaskExecuter;
+import org.gradle.api.internal.tasks.TaskExecutionContext;
+import org.gradle.api.internal.tasks.TaskStateInternal;
+import org.gradle.api.internal.tasks.cache.TaskOutputCache;
+import org.gradle.profile.TraceRecorder;
+import org.gradle.profile.TraceSpan;
+import org.gradle.util.hash.HashValue;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A {@link ContextualTaskExecuter} which restores the outputs of cacheable tasks from a {@link TaskOutputCache} instead of executing them,
+ * and stores the outputs of cacheable tasks once they have executed successfully.
+ */
+public class SkipCachedTaskExecuter implements ContextualTaskExecuter {
+    private static final Logger LOGGER = LoggerFactory.getLogger(SkipCachedTaskExecuter.class);
+    private final ContextualTaskExecuter executer;
+    private final TaskOutputCache cache;
+    private final TraceRecorder traceRecorder;
+
+    public SkipCachedTaskExecuter(TaskOutputCache cache, TraceRecorder traceRecorder, ContextualTaskExecuter executer) {
+        this.executer = executer;
+        this.cache = cache;
+        this.traceRecorder = traceRecorder;
+    }
+
+    public void execute(TaskInternal task, TaskStateInternal state, TaskExecutionContext context) {
+        HashValue cacheKey = null;
+        if (task.getOutputs().isCacheEnabled()) {
+            cacheKey = context.getTaskArtifactState().calculateCacheKey();
+        }
+        if (cacheKey == null) {
+            executer.execute(task, state, context);
+            return;
+        }
+
+        List<File> outputFiles = new ArrayList<File>(task.getOutputs().getFiles().getFiles());
+        TraceSpan span = traceRecorder.start("load cached task outputs", task.getPath());
+        boolean restored;
+        try {
+            restored = cache.load(cacheKey, outputFiles);
+        } finally {
+            span.end();
+        }
+        if (restored) {
+            LOGGER.info("Skipping {} as its outputs were restored from the task output cache.", task);
+            state.skipped("FROM-CACHE");
+            return;
+        }
+
+        executer.execute(task, state, context);
+        if (state.getFailure() == null) {
+            span = traceRecorder.start("store cached task outputs", task.getPath());
+            try {
+                cache.store(cacheKey, outputFiles);
+            } finally {
+                span.end();
+            }
+        }
+    }
+}
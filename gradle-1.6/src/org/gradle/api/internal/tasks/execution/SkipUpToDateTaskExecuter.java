@@ -22,6 +22,8 @@ import org.gradle.api.internal.changedetection.TaskArtifactStateRepository;
 import org.gradle.api.internal.tasks.ContextualTaskExecuter;
 import org.gradle.api.internal.tasks.TaskExecutionContext;
 import org.gradle.api.internal.tasks.TaskStateInternal;
+import org.gradle.profile.TraceRecorder;
+import org.gradle.profile.TraceSpan;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -32,17 +34,19 @@ public class SkipUpToDateTaskExecuter implements ContextualTaskExecuter {
     private static final Logger LOGGER = LoggerFactory.getLogger(SkipUpToDateTaskExecuter.class);
     private final ContextualTaskExecuter executer;
     private final TaskArtifactStateRepository repository;
+    private final TraceRecorder traceRecorder;
 
-    public SkipUpToDateTaskExecuter(TaskArtifactStateRepository repository, ContextualTaskExecuter executer) {
+    public SkipUpToDateTaskExecuter(TaskArtifactStateRepository repository, TraceRecorder traceRecorder, ContextualTaskExecuter executer) {
         this.executer = executer;
         this.repository = repository;
+        this.traceRecorder = traceRecorder;
     }
 
     public void execute(TaskInternal task, TaskStateInternal state, TaskExecutionContext context) {
         LOGGER.debug("Determining if {} is up-to-date", task);
         TaskArtifactState taskArtifactState = repository.getStateFor(task);
         try {
-            if (taskArtifactState.isUpToDate()) {
+            if (isUpToDate(task, taskArtifactState)) {
                 LOGGER.info("Skipping {} as it is up-to-date", task);
                 state.upToDate();
                 return;
@@ -57,7 +61,12 @@ public class SkipUpToDateTaskExecuter implements ContextualTaskExecuter {
             try {
                 executer.execute(task, state, context);
                 if (state.getFailure() == null) {
-                    taskArtifactState.afterTask();
+                    TraceSpan span = traceRecorder.start("store task history", task.getPath());
+                    try {
+                        taskArtifactState.afterTask();
+                    } finally {
+                        span.end();
+                    }
                 }
             } finally {
                 task.getOutputs().setHistory(null);
@@ -67,4 +76,13 @@ public class SkipUpToDateTaskExecuter implements ContextualTaskExecuter {
             taskArtifactState.finished();
         }
     }
+
+    private boolean isUpToDate(TaskInternal task, TaskArtifactState taskArtifactState) {
+        TraceSpan span = traceRecorder.start("up-to-date check", task.getPath());
+        try {
+            return taskArtifactState.isUpToDate();
+        } finally {
+            span.end();
+        }
+    }
 }
@@ -13,79 +13,70 @@
  * See the License for the specific language governing permissions and
  * limitations under the License.
  */
-
 package org.gradle.api.internal.tasks.testing.detection;
 
-import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.FileUtils;
 import org.apache.commons.lang.StringUtils;
 import org.gradle.api.GradleException;
 import org.gradle.api.file.FileCollection;
 import org.gradle.api.internal.tasks.testing.DefaultTestClassRunInfo;
-import org.gradle.api.internal.tasks.testing.TestClassProcessor;
+import org.gradle.api.internal.tasks.testing.TestClassRunInfo;
+import org.gradle.util.hash.HashUtil;
 import org.objectweb.asm.ClassReader;
 import org.objectweb.asm.Type;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
-import java.io.BufferedInputStream;
 import java.io.File;
-import java.io.FileInputStream;
-import java.io.InputStream;
+import java.io.IOException;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * @author Tom Eyckmans
  */
 public abstract class AbstractTestFrameworkDetector<T extends TestClassVisitor> implements TestFrameworkDetector {
+    private static final Logger LOGGER = LoggerFactory.getLogger(AbstractTestFrameworkDetector.class);
     protected static final String TEST_CASE = "junit/framework/TestCase";
     protected static final String GROOVY_TEST_CASE = "groovy/util/GroovyTestCase";
 
     private List<File> testClassDirectories;
-    private final ClassFileExtractionManager classFileExtractionManager;
-    private final Map<File, Boolean> superClasses;
-    private TestClassProcessor testClassProcessor;
+    private final LibraryClassFileReader libraryClassFileReader;
+    private final ConcurrentMap<String, Boolean> superClasses;
     private final List<String> knownTestCaseClassNames;
 
     private File testClassesDirectory;
     private FileCollection testClasspath;
+    private TestClassDetectionCache detectionCache;
 
-    protected AbstractTestFrameworkDetector(ClassFileExtractionManager classFileExtractionManager) {
-        assert classFileExtractionManager != null;
-        this.classFileExtractionManager = classFileExtractionManager;
-        this.superClasses = new HashMap<File, Boolean>();
+    protected AbstractTestFrameworkDetector(LibraryClassFileReader libraryClassFileReader) {
+        assert libraryClassFileReader != null;
+        this.libraryClassFileReader = libraryClassFileReader;
+        this.superClasses = new ConcurrentHashMap<String, Boolean>();
         this.knownTestCaseClassNames = new ArrayList<String>();
         addKnownTestCaseClassNames(TEST_CASE, GROOVY_TEST_CASE);
     }
 
     protected abstract T createClassVisitor();
 
-    protected File getSuperTestClassFile(String superClassName) {
-        prepareClasspath();
+    protected byte[] getSuperTestClassFile(String superClassName) {
         if (StringUtils.isEmpty(superClassName)) {
             throw new IllegalArgumentException("superClassName is empty!");
         }
 
-        final Iterator<File> testClassDirectoriesIt = testClassDirectories.iterator();
-
-        File superTestClassFile = null;
-        while (superTestClassFile == null && testClassDirectoriesIt.hasNext()) {
-            final File testClassDirectory = testClassDirectoriesIt.next();
+        for (File testClassDirectory : testClassDirectories) {
             final File superTestClassFileCandidate = new File(testClassDirectory, superClassName + ".class");
             if (superTestClassFileCandidate.exists()) {
-                superTestClassFile = superTestClassFileCandidate;
+                return readClassFile(superTestClassFileCandidate);
             }
         }
 
-        if (superTestClassFile != null) {
-            return superTestClassFile;
-        } else { // super test class file not in test class directories
-            return classFileExtractionManager.getLibraryClassFile(superClassName);
-        }
+        // super test class file not in test class directories
+        return libraryClassFileReader.getLibraryClassFile(superClassName);
     }
 
     private void prepareClasspath() {
-        if (testClassDirectories != null) {
-            return;
-        }
-
         testClassDirectories = new ArrayList<File>();
 
         if (testClassesDirectory != null) {
@@ -96,7 +87,7 @@ public abstract class AbstractTestFrameworkDetector<T extends TestClassVisitor>
                 if (file.isDirectory()) {
                     testClassDirectories.add(file);
                 } else if (file.isFile() && file.getName().endsWith(".jar")) {
-                    classFileExtractionManager.addLibraryJar(file);
+                    libraryClassFileReader.addLibraryJar(file);
                 }
             }
         }
@@ -110,58 +101,104 @@ public abstract class AbstractTestFrameworkDetector<T extends TestClassVisitor>
         this.testClasspath = testClasspath;
     }
 
-    protected TestClassVisitor classVisitor(final File testClassFile) {
-        final TestClassVisitor classVisitor = createClassVisitor();
+    public void setDetectionCache(TestClassDetectionCache detectionCache) {
+        this.detectionCache = detectionCache;
+    }
 
-        InputStream classStream = null;
+    private byte[] readClassFile(File classFile) {
         try {
-            classStream = new BufferedInputStream(new FileInputStream(testClassFile));
-            final ClassReader classReader = new ClassReader(classStream);
+            return FileUtils.readFileToByteArray(classFile);
+        } catch (IOException e) {
+            throw new GradleException("failed to read class file " + classFile.getAbsolutePath(), e);
+        }
+    }
+
+    /**
+     * Scans the given class file content, or returns the result of an earlier scan of the same content when the
+     * detection cache contains one.
+     */
+    protected TestClassCandidate scanClass(byte[] classFile, String displayName) {
+        String cacheKey = null;
+        if (detectionCache != null) {
+            cacheKey = HashUtil.sha1(classFile).asCompactString();
+            TestClassCandidate candidate = detectionCache.get(cacheKey);
+            if (candidate != null) {
+                return candidate;
+            }
+        }
+
+        final TestClassVisitor classVisitor = createClassVisitor();
+        try {
+            final ClassReader classReader = new ClassReader(classFile);
             classReader.accept(classVisitor, ClassReader.SKIP_DEBUG | ClassReader.SKIP_CODE | ClassReader.SKIP_FRAMES);
         } catch (Throwable e) {
-            throw new GradleException("failed to read class file " + testClassFile.getAbsolutePath(), e);
-        } finally {
-            IOUtils.closeQuietly(classStream);
+            throw new GradleException("failed to read class file " + displayName, e);
         }
+        TestClassCandidate candidate = new TestClassCandidate(classVisitor.getClassName(), classVisitor.getSuperClassName(),
+                classVisitor.isTest(), classVisitor.isAbstract());
 
-        return classVisitor;
+        if (detectionCache != null) {
+            detectionCache.put(cacheKey, candidate);
+        }
+        return candidate;
     }
 
-    public boolean processTestClass(File testClassFile) {
-        return processTestClass(testClassFile, false);
+    /**
+     * A test class is detected when the class is a test and it is not abstract. Super classes are only used to decide
+     * whether an extending class is a test, they are never detected themselves.
+     */
+    public TestClassRunInfo detectTestClass(File testClassFile) {
+        TestClassCandidate candidate = scanClass(readClassFile(testClassFile), testClassFile.getAbsolutePath());
+        if (candidate.isAbstract() || !isTest(candidate)) {
+            return null;
+        }
+        return new DefaultTestClassRunInfo(Type.getObjectType(candidate.getClassName()).getClassName());
     }
 
-    protected abstract boolean processTestClass(File testClassFile, boolean superClass);
+    /**
+     * Uses the scanned class to decide whether it is a test class. <p/> If the class is not a test, this function will
+     * go up the inheritance tree to check if a parent class is a test class. <p/> When a parent class is a test class
+     * all the extending classes are marked as test classes.
+     */
+    protected boolean isTest(TestClassCandidate candidate) {
+        if (candidate.isTest()) {
+            return true;
+        }
 
-    protected boolean processSuperClass(File testClassFile) {
-        boolean isTest = false;
+        final String superClassName = candidate.getSuperClassName();
+        if (StringUtils.isEmpty(superClassName)) {
+            return false;
+        }
+        return isSuperClassTest(superClassName);
+    }
 
-        Boolean isSuperTest = superClasses.get(testClassFile);
+    protected boolean isSuperClassTest(String superClassName) {
+        Boolean isSuperTest = superClasses.get(superClassName);
 
         if (isSuperTest == null) {
-            isTest = processTestClass(testClassFile, true);
+            final byte[] superClassFile = getSuperTestClassFile(superClassName);
+
+            if (superClassFile != null) {
+                isSuperTest = isTest(scanClass(superClassFile, superClassName));
+            } else {
+                LOGGER.debug("test-class-scan : failed to scan parent class {}, could not find the class file",
+                        superClassName);
+                isSuperTest = false;
+            }
 
-            superClasses.put(testClassFile, isTest);
-        } else {
-            isTest = isSuperTest;
+            superClasses.putIfAbsent(superClassName, isSuperTest);
         }
 
-        return isTest;
+        return isSuperTest;
     }
 
-    /**
-     * In none super class mode a test class is published when the class is a test and it is not abstract. In super class mode it must not publish the class otherwise it will get published multiple
-     * times (for each extending class).
-     */
-    protected void publishTestClass(boolean isTest, TestClassVisitor classVisitor, boolean superClass) {
-        if (isTest && !classVisitor.isAbstract() && !superClass) {
-            String className = Type.getObjectType(classVisitor.getClassName()).getClassName();
-            testClassProcessor.processTestClass(new DefaultTestClassRunInfo(className));
-        }
+    public void startDetection() {
+        superClasses.clear();
+        prepareClasspath();
     }
 
-    public void startDetection(TestClassProcessor testClassProcessor) {
-        this.testClassProcessor = testClassProcessor;
+    public void endDetection() {
+        libraryClassFileReader.close();
     }
 
     public void addKnownTestCaseClassNames(String... knownTestCaseClassNames) {
@@ -22,12 +22,23 @@ import org.gradle.api.file.FileVisitDetails;
 import org.gradle.api.internal.tasks.testing.DefaultTestClassRunInfo;
 import org.gradle.api.internal.tasks.testing.TestClassProcessor;
 import org.gradle.api.internal.tasks.testing.TestClassRunInfo;
+import org.gradle.internal.UncheckedException;
+import org.gradle.internal.concurrent.ExecutorFactory;
+import org.gradle.internal.concurrent.StoppableExecutor;
 
 import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * The default test class scanner. Depending on the availability of a test framework detector,
- * a detection or filename scan is performed to find test classes.
+ * a detection or filename scan is performed to find test classes. Detection is spread over a worker per available
+ * processor, and the detected test classes are handed to the test class processor in the order the candidate class
+ * files are visited.
  *
  * @author Tom Eyckmans
  */
@@ -35,12 +46,14 @@ public class DefaultTestClassScanner implements Runnable {
     private final FileTree candidateClassFiles;
     private final TestFrameworkDetector testFrameworkDetector;
     private final TestClassProcessor testClassProcessor;
+    private final ExecutorFactory executorFactory;
 
     public DefaultTestClassScanner(FileTree candidateClassFiles, TestFrameworkDetector testFrameworkDetector,
-                                   TestClassProcessor testClassProcessor) {
+                                   TestClassProcessor testClassProcessor, ExecutorFactory executorFactory) {
         this.candidateClassFiles = candidateClassFiles;
         this.testFrameworkDetector = testFrameworkDetector;
         this.testClassProcessor = testClassProcessor;
+        this.executorFactory = executorFactory;
     }
 
     public void run() {
@@ -52,12 +65,59 @@ public class DefaultTestClassScanner implements Runnable {
     }
 
     private void detectionScan() {
-        testFrameworkDetector.startDetection(testClassProcessor);
+        final List<FutureTask<TestClassRunInfo>> detections = new ArrayList<FutureTask<TestClassRunInfo>>();
         candidateClassFiles.visit(new ClassFileVisitor() {
             public void visitClassFile(FileVisitDetails fileDetails) {
-                testFrameworkDetector.processTestClass(fileDetails.getFile());
+                final File testClassFile = fileDetails.getFile();
+                detections.add(new FutureTask<TestClassRunInfo>(new Callable<TestClassRunInfo>() {
+                    public TestClassRunInfo call() {
+                        return testFrameworkDetector.detectTestClass(testClassFile);
+                    }
+                }));
             }
         });
+        if (detections.isEmpty()) {
+            return;
+        }
+
+        testFrameworkDetector.startDetection();
+        StoppableExecutor executor = executorFactory.create("test class detection");
+        try {
+            final AtomicInteger nextDetection = new AtomicInteger();
+            int workers = Math.min(Runtime.getRuntime().availableProcessors(), detections.size());
+            for (int i = 0; i < workers; i++) {
+                executor.execute(new Runnable() {
+                    public void run() {
+                        int index;
+                        while ((index = nextDetection.getAndIncrement()) < detections.size()) {
+                            detections.get(index).run();
+                        }
+                    }
+                });
+            }
+            for (FutureTask<TestClassRunInfo> detection : detections) {
+                TestClassRunInfo testClass = getResult(detection);
+                if (testClass != null) {
+                    testClassProcessor.processTestClass(testClass);
+                }
+            }
+        } finally {
+            for (FutureTask<TestClassRunInfo> detection : detections) {
+                detection.cancel(false);
+            }
+            executor.stop();
+            testFrameworkDetector.endDetection();
+        }
+    }
+
+    private TestClassRunInfo getResult(FutureTask<TestClassRunInfo> detection) {
+        try {
+            return detection.get();
+        } catch (InterruptedException e) {
+            throw UncheckedException.throwAsUncheckedException(e);
+        } catch (ExecutionException e) {
+            throw UncheckedException.throwAsUncheckedException(e.getCause());
+        }
     }
 
     private void filenameScan() {
@@ -26,8 +26,11 @@ import org.gradle.api.internal.tasks.testing.processors.RestartEveryNTestClassPr
 import org.gradle.api.internal.tasks.testing.processors.TestMainAction;
 import org.gradle.api.internal.tasks.testing.worker.ForkingTestClassProcessor;
 import org.gradle.api.tasks.testing.Test;
+import org.gradle.cache.CacheRepository;
+import org.gradle.cache.PersistentIndexedCache;
 import org.gradle.internal.Factory;
 import org.gradle.internal.TrueTimeProvider;
+import org.gradle.internal.concurrent.ExecutorFactory;
 import org.gradle.messaging.actor.ActorFactory;
 import org.gradle.process.internal.WorkerProcessBuilder;
 
@@ -39,19 +42,25 @@ import org.gradle.process.internal.WorkerProcessBuilder;
 public class DefaultTestExecuter implements TestExecuter {
     private final Factory<WorkerProcessBuilder> workerFactory;
     private final ActorFactory actorFactor;
+    private final ExecutorFactory executorFactory;
+    private final CacheRepository cacheRepository;
 
-    public DefaultTestExecuter(Factory<WorkerProcessBuilder> workerFactory, ActorFactory actorFactor) {
+    public DefaultTestExecuter(Factory<WorkerProcessBuilder> workerFactory, ActorFactory actorFactor,
+                               ExecutorFactory executorFactory, CacheRepository cacheRepository) {
         this.workerFactory = workerFactory;
         this.actorFactor = actorFactor;
+        this.executorFactory = executorFactory;
+        this.cacheRepository = cacheRepository;
     }
 
     public void execute(final Test testTask, TestResultProcessor testResultProcessor) {
         final TestFramework testFramework = testTask.getTestFramework();
         final WorkerTestClassProcessorFactory testInstanceFactory = testFramework.getProcessorFactory();
+        final boolean reuseForks = testTask.isReuseForks() && testTask.getForkEvery() == 0;
         final Factory<TestClassProcessor> forkingProcessorFactory = new Factory<TestClassProcessor>() {
             public TestClassProcessor create() {
                 return new ForkingTestClassProcessor(workerFactory, testInstanceFactory, testTask,
-                        testTask.getClasspath(), testFramework.getWorkerConfigurationAction());
+                        testTask.getClasspath(), testFramework.getWorkerConfigurationAction(), reuseForks);
             }
         };
         Factory<TestClassProcessor> reforkingProcessorFactory = new Factory<TestClassProcessor>() {
@@ -66,14 +75,28 @@ public class DefaultTestExecuter implements TestExecuter {
         final FileTree testClassFiles = testTask.getCandidateClassFiles();
 
         Runnable detector;
+        TestClassDetectionCache detectionCache = null;
         if (testTask.isScanForTestClasses()) {
             TestFrameworkDetector testFrameworkDetector = testTask.getTestFramework().getDetector();
             testFrameworkDetector.setTestClassesDirectory(testTask.getTestClassesDir());
             testFrameworkDetector.setTestClasspath(testTask.getClasspath());
-            detector = new DefaultTestClassScanner(testClassFiles, testFrameworkDetector, processor);
+            detectionCache = openDetectionCache(testTask, testFrameworkDetector);
+            testFrameworkDetector.setDetectionCache(detectionCache);
+            detector = new DefaultTestClassScanner(testClassFiles, testFrameworkDetector, processor, executorFactory);
         } else {
-            detector = new DefaultTestClassScanner(testClassFiles, null, processor);
+            detector = new DefaultTestClassScanner(testClassFiles, null, processor, executorFactory);
         }
         new TestMainAction(detector, processor, testResultProcessor, new TrueTimeProvider()).run();
+        if (detectionCache != null) {
+            detectionCache.store();
+        }
+    }
+
+    private TestClassDetectionCache openDetectionCache(Test testTask, TestFrameworkDetector testFrameworkDetector) {
+        PersistentIndexedCache<String, TestClassDetectionCache.DetectionResults> cache = cacheRepository
+                .indexedCache(String.class, TestClassDetectionCache.DetectionResults.class, "testClassDetection")
+                .forObject(testTask.getProject().getGradle())
+                .open();
+        return new TestClassDetectionCache(cache, testTask.getPath() + ":" + testFrameworkDetector.getClass().getName());
     }
 }
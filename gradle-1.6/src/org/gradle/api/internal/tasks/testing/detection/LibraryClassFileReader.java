@@ -0,0 +1,134 @@
+/*
+ * Copyright 2009 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gradle.api.internal.tasks.testing.detection;
+
+import org.apache.commons.io.IOUtils;
+import org.gradle.api.GradleException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.*;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * This class reads class files from library jar files. The class files are read directly from the jars, without
+ * extracting them to the file system. This class is thread-safe.
+ *
+ * @author Tom Eyckmans
+ */
+public class LibraryClassFileReader {
+    private static final Logger LOGGER = LoggerFactory.getLogger(LibraryClassFileReader.class);
+    private final Map<String, Set<File>> packageJarFilesMappings;
+    private final Map<File, ZipFile> openJarFiles;
+
+    public LibraryClassFileReader() {
+        packageJarFilesMappings = new HashMap<String, Set<File>>();
+        openJarFiles = new HashMap<File, ZipFile>();
+    }
+
+    /**
+     * Add all packages found in the jar file to the package <> jar(s) index.
+     *
+     * @param libraryJar Jar file to add to the index.
+     */
+    public synchronized void addLibraryJar(final File libraryJar) {
+        new JarFilePackageLister().listJarPackages(libraryJar, new JarFilePackageListener() {
+            public void receivePackage(String packageName) {
+                Set<File> jarFiles = packageJarFilesMappings.get(packageName);
+                if (jarFiles == null) {
+                    jarFiles = new TreeSet<File>();
+                }
+                jarFiles.add(libraryJar);
+
+                packageJarFilesMappings.put(packageName, jarFiles);
+            }
+        });
+    }
+
+    /**
+     * Retrieve the contents of the class file for the given class from the library jars.
+     *
+     * @param className Name of the class to read.
+     * @return The contents of the class file, or null when the class is not found in any of the library jars.
+     */
+    public synchronized byte[] getLibraryClassFile(final String className) {
+        final String classNamePackage = classNamePackage(className);
+        final Set<File> packageJarFiles = packageJarFilesMappings.get(classNamePackage);
+
+        if (packageJarFiles == null) {
+            return null; // super class not on the classpath - unable to scan parent class
+        }
+
+        final String classFileName = className + ".class";
+        for (File jarFile : packageJarFiles) {
+            try {
+                ZipFile zipFile = openJarFile(jarFile);
+                ZipEntry classFileEntry = zipFile.getEntry(classFileName);
+                if (classFileEntry != null) {
+                    InputStream classStream = zipFile.getInputStream(classFileEntry);
+                    try {
+                        LOGGER.debug("read class {} from {}", className, jarFile.getName());
+                        return IOUtils.toByteArray(classStream);
+                    } finally {
+                        classStream.close();
+                    }
+                }
+            } catch (IOException e) {
+                throw new GradleException("failed to read class file from jar (" + jarFile + ")", e);
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Closes the library jars opened by this reader and clears the package index.
+     */
+    public synchronized void close() {
+        for (ZipFile zipFile : openJarFiles.values()) {
+            try {
+                zipFile.close();
+            } catch (IOException e) {
+                LOGGER.debug("failed to close jar file " + zipFile.getName(), e);
+            }
+        }
+        openJarFiles.clear();
+        packageJarFilesMappings.clear();
+    }
+
+    private ZipFile openJarFile(File jarFile) throws IOException {
+        ZipFile zipFile = openJarFiles.get(jarFile);
+        if (zipFile == null) {
+            zipFile = new ZipFile(jarFile);
+            openJarFiles.put(jarFile, zipFile);
+        }
+        return zipFile;
+    }
+
+    private String classNamePackage(final String className) {
+        final int lastSlashIndex = className.lastIndexOf('/');
+
+        if (lastSlashIndex == -1) {
+            return null; // class in root package - should not happen
+        } else {
+            return className.substring(0, lastSlashIndex + 1);
+        }
+    }
+}
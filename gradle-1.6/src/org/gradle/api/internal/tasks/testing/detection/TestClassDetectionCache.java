@@ -0,0 +1,80 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.tasks.testing.detection;
+
+import org.gradle.cache.PersistentIndexedCache;
+
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The results of scanning class files during test class detection, keyed by the hash of the class file content. The results are
+ * persisted per test task and detector, and only the results used by the most recent detection run are kept, so the results for
+ * class files which no longer exist are discarded.
+ */
+public class TestClassDetectionCache {
+    private final PersistentIndexedCache<String, DetectionResults> cache;
+    private final String key;
+    private final Map<String, TestClassCandidate> previousResults;
+    private final Map<String, TestClassCandidate> currentResults = new ConcurrentHashMap<String, TestClassCandidate>();
+
+    public TestClassDetectionCache(PersistentIndexedCache<String, DetectionResults> cache, String key) {
+        this.cache = cache;
+        this.key = key;
+        DetectionResults results = cache.get(key);
+        previousResults = results == null ? new HashMap<String, TestClassCandidate>() : results.candidates;
+    }
+
+    /**
+     * Returns the result for the class file with the given content hash from this run or the previous run, or null if there is none.
+     * May be called concurrently.
+     */
+    public TestClassCandidate get(String classFileHash) {
+        TestClassCandidate candidate = currentResults.get(classFileHash);
+        if (candidate == null) {
+            candidate = previousResults.get(classFileHash);
+            if (candidate != null) {
+                currentResults.put(classFileHash, candidate);
+            }
+        }
+        return candidate;
+    }
+
+    /**
+     * Records the result for the class file with the given content hash. May be called concurrently.
+     */
+    public void put(String classFileHash, TestClassCandidate candidate) {
+        currentResults.put(classFileHash, candidate);
+    }
+
+    /**
+     * Replaces the persisted results with those used by this run.
+     */
+    public void store() {
+        cache.put(key, new DetectionResults(new HashMap<String, TestClassCandidate>(currentResults)));
+    }
+
+    public static class DetectionResults implements Serializable {
+        private final Map<String, TestClassCandidate> candidates;
+
+        public DetectionResults(Map<String, TestClassCandidate> candidates) {
+            this.candidates = candidates;
+        }
+    }
+}
@@ -16,7 +16,7 @@
 package org.gradle.api.internal.tasks.testing.detection;
 
 import org.gradle.api.file.FileCollection;
-import org.gradle.api.internal.tasks.testing.TestClassProcessor;
+import org.gradle.api.internal.tasks.testing.TestClassRunInfo;
 
 import java.io.File;
 
@@ -24,11 +24,21 @@ import java.io.File;
  * @author Tom Eyckmans
  */
 public interface TestFrameworkDetector {
-    void startDetection(TestClassProcessor testClassProcessor);
+    void startDetection();
 
-    boolean processTestClass(File testClassFile);
+    /**
+     * Detects whether the given class file contains a test class. May be called concurrently from multiple threads
+     * between {@link #startDetection()} and {@link #endDetection()}.
+     *
+     * @return the test class, or null when the class file does not contain a test class.
+     */
+    TestClassRunInfo detectTestClass(File testClassFile);
+
+    void endDetection();
 
     void setTestClassesDirectory(File testClassesDir);
 
     void setTestClasspath(FileCollection classpath);
+
+    void setDetectionCache(TestClassDetectionCache detectionCache);
 }
@@ -16,51 +16,22 @@
 package org.gradle.api.internal.tasks.testing.junit;
 
 import org.gradle.api.internal.tasks.testing.detection.AbstractTestFrameworkDetector;
-import org.gradle.api.internal.tasks.testing.detection.ClassFileExtractionManager;
-import org.gradle.api.internal.tasks.testing.detection.TestClassVisitor;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-
-import java.io.File;
+import org.gradle.api.internal.tasks.testing.detection.LibraryClassFileReader;
 
 /**
  * @author Tom Eyckmans
  */
 public class JUnitDetector extends AbstractTestFrameworkDetector<JUnitTestClassDetecter> {
-    private static final Logger LOGGER = LoggerFactory.getLogger(JUnitDetector.class);
-
-    public JUnitDetector(ClassFileExtractionManager classFileExtractionManager) {
-        super(classFileExtractionManager);
+    public JUnitDetector(LibraryClassFileReader libraryClassFileReader) {
+        super(libraryClassFileReader);
     }
 
     protected JUnitTestClassDetecter createClassVisitor() {
         return new JUnitTestClassDetecter(this);
     }
 
-    protected boolean processTestClass(final File testClassFile, boolean superClass) {
-        final TestClassVisitor classVisitor = classVisitor(testClassFile);
-
-        boolean isTest = classVisitor.isTest();
-
-        if (!isTest) { // scan parent class
-            final String superClassName = classVisitor.getSuperClassName();
-
-            if (isKnownTestCaseClassName(superClassName)) {
-                isTest = true;
-            } else {
-                final File superClassFile = getSuperTestClassFile(superClassName);
-
-                if (superClassFile != null) {
-                    isTest = processSuperClass(superClassFile);
-                } else {
-                    LOGGER.debug("test-class-scan : failed to scan parent class {}, could not find the class file",
-                            superClassName);
-                }
-            }
-        }
-
-        publishTestClass(isTest, classVisitor, superClass);
-
-        return isTest;
+    @Override
+    protected boolean isSuperClassTest(String superClassName) {
+        return isKnownTestCaseClassName(superClassName) || super.isSuperClassTest(superClassName);
     }
 }
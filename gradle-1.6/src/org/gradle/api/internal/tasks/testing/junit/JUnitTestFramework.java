@@ -21,7 +21,7 @@ import org.gradle.api.GradleException;
 import org.gradle.api.internal.tasks.testing.TestClassProcessor;
 import org.gradle.api.internal.tasks.testing.TestFramework;
 import org.gradle.api.internal.tasks.testing.WorkerTestClassProcessorFactory;
-import org.gradle.api.internal.tasks.testing.detection.ClassFileExtractionManager;
+import org.gradle.api.internal.tasks.testing.detection.LibraryClassFileReader;
 import org.gradle.api.tasks.testing.Test;
 import org.gradle.api.tasks.testing.junit.JUnitOptions;
 import org.gradle.internal.classpath.DefaultClassPath;
@@ -44,7 +44,7 @@ public class JUnitTestFramework implements TestFramework {
     public JUnitTestFramework(Test testTask) {
         this.testTask = testTask;
         options = new JUnitOptions();
-        detector = new JUnitDetector(new ClassFileExtractionManager(testTask.getTemporaryDirFactory()));
+        detector = new JUnitDetector(new LibraryClassFileReader());
     }
 
     public WorkerTestClassProcessorFactory getProcessorFactory() {
@@ -34,16 +34,18 @@ public class ForkingTestClassProcessor implements TestClassProcessor {
     private final JavaForkOptions options;
     private final Iterable<File> classPath;
     private final Action<WorkerProcessBuilder> buildConfigAction;
+    private final boolean reuseProcess;
     private RemoteTestClassProcessor remoteProcessor;
     private WorkerProcess workerProcess;
     private TestResultProcessor resultProcessor;
 
-    public ForkingTestClassProcessor(Factory<WorkerProcessBuilder> workerFactory, WorkerTestClassProcessorFactory processorFactory, JavaForkOptions options, Iterable<File> classPath, Action<WorkerProcessBuilder> buildConfigAction) {
+    public ForkingTestClassProcessor(Factory<WorkerProcessBuilder> workerFactory, WorkerTestClassProcessorFactory processorFactory, JavaForkOptions options, Iterable<File> classPath, Action<WorkerProcessBuilder> buildConfigAction, boolean reuseProcess) {
         this.workerFactory = workerFactory;
         this.processorFactory = processorFactory;
         this.options = options;
         this.classPath = classPath;
         this.buildConfigAction = buildConfigAction;
+        this.reuseProcess = reuseProcess;
     }
 
     public void startProcessing(TestResultProcessor resultProcessor) {
@@ -54,7 +56,8 @@ public class ForkingTestClassProcessor implements TestClassProcessor {
         if (remoteProcessor == null) {
             WorkerProcessBuilder builder = workerFactory.create();
             builder.applicationClasspath(classPath);
-            builder.setLoadApplicationInSystemClassLoader(true);
+            builder.setLoadApplicationInSystemClassLoader(!reuseProcess);
+            builder.setReusable(reuseProcess);
             builder.worker(new TestWorker(processorFactory));
             options.copyTo(builder.getJavaCommand());
             buildConfigAction.execute(builder);
@@ -18,18 +18,27 @@ package org.gradle.api.plugins.buildcomparison.compare.internal;
 
 import org.gradle.api.plugins.buildcomparison.outcome.internal.BuildOutcome;
 import org.gradle.api.plugins.buildcomparison.outcome.internal.BuildOutcomeAssociation;
-
-import java.util.HashSet;
-import java.util.LinkedList;
-import java.util.List;
-import java.util.Set;
-
+import org.gradle.internal.UncheckedException;
+import org.gradle.internal.concurrent.ExecutorFactory;
+import org.gradle.internal.concurrent.StoppableExecutor;
+
+import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Compares the associated outcomes of two builds. Outcomes are compared concurrently, so comparators must be thread-safe.
+ */
 public class DefaultBuildComparator implements BuildComparator {
 
     BuildOutcomeComparatorFactory comparatorFactory;
+    private final ExecutorFactory executorFactory;
 
-    public DefaultBuildComparator(BuildOutcomeComparatorFactory comparatorFactory) {
+    public DefaultBuildComparator(BuildOutcomeComparatorFactory comparatorFactory, ExecutorFactory executorFactory) {
         this.comparatorFactory = comparatorFactory;
+        this.executorFactory = executorFactory;
     }
 
     public BuildComparisonResult compareBuilds(BuildComparisonSpec spec) {
@@ -39,7 +48,7 @@ public class DefaultBuildComparator implements BuildComparator {
         Set<BuildOutcome> unknownFrom = new HashSet<BuildOutcome>();
         Set<BuildOutcome> unknownTo = new HashSet<BuildOutcome>();
 
-        List<BuildOutcomeComparisonResult<?>> results = new LinkedList<BuildOutcomeComparisonResult<?>>();
+        List<FutureTask<BuildOutcomeComparisonResult<?>>> comparisons = new ArrayList<FutureTask<BuildOutcomeComparisonResult<?>>>();
 
         for (BuildOutcomeAssociation<? extends BuildOutcome> outcomeAssociation : spec.getOutcomeAssociations()) {
             BuildOutcome from = outcomeAssociation.getSource();
@@ -58,20 +67,60 @@ public class DefaultBuildComparator implements BuildComparator {
 
             // TODO - error if there are unknowns?
             if (!unknown) {
-                BuildOutcomeComparator<?, ?> comparator = comparatorFactory.getComparator(outcomeAssociation.getType());
+                final BuildOutcomeComparator<?, ?> comparator = comparatorFactory.getComparator(outcomeAssociation.getType());
                 if (comparator == null) {
                     // TODO - better exception
                     throw new RuntimeException(String.format("No comparator for %s", outcomeAssociation.getType()));
                 }
 
-                @SuppressWarnings("unchecked")
-                BuildOutcomeComparisonResult<?> comparisonResult = comparator.compare((BuildOutcomeAssociation) outcomeAssociation);
-
-                results.add(comparisonResult);
+                final BuildOutcomeAssociation<? extends BuildOutcome> association = outcomeAssociation;
+                comparisons.add(new FutureTask<BuildOutcomeComparisonResult<?>>(new Callable<BuildOutcomeComparisonResult<?>>() {
+                    @SuppressWarnings("unchecked")
+                    public BuildOutcomeComparisonResult<?> call() {
+                        return comparator.compare((BuildOutcomeAssociation) association);
+                    }
+                }));
             }
         }
 
+        List<BuildOutcomeComparisonResult<?>> results = new LinkedList<BuildOutcomeComparisonResult<?>>();
+        compareAll(comparisons, results);
         return new BuildComparisonResult(uncomparedFrom, uncomparedTo, results);
     }
 
+    private void compareAll(final List<FutureTask<BuildOutcomeComparisonResult<?>>> comparisons, List<BuildOutcomeComparisonResult<?>> results) {
+        if (comparisons.isEmpty()) {
+            return;
+        }
+
+        StoppableExecutor executor = executorFactory.create("Build outcome comparison");
+        try {
+            final AtomicInteger nextComparison = new AtomicInteger();
+            int workers = Math.min(Runtime.getRuntime().availableProcessors(), comparisons.size());
+            for (int i = 0; i < workers; i++) {
+                executor.execute(new Runnable() {
+                    public void run() {
+                        int index;
+                        while ((index = nextComparison.getAndIncrement()) < comparisons.size()) {
+                            comparisons.get(index).run();
+                        }
+                    }
+                });
+            }
+            // Collect in association order, so that the results do not depend on which comparison finishes first
+            for (FutureTask<BuildOutcomeComparisonResult<?>> comparison : comparisons) {
+                results.add(comparison.get());
+            }
+        } catch (ExecutionException e) {
+            throw UncheckedException.throwAsUncheckedException(e.getCause());
+        } catch (InterruptedException e) {
+            throw UncheckedException.throwAsUncheckedException(e);
+        } finally {
+            for (FutureTask<BuildOutcomeComparisonResult<?>> comparison : comparisons) {
+                comparison.cancel(false);
+            }
+            executor.stop();
+        }
+    }
+
 }
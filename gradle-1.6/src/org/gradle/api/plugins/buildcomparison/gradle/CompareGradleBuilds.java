@@ -37,6 +37,7 @@ import org.gradle.api.specs.Spec;
 import org.gradle.api.tasks.OutputDirectory;
 import org.gradle.api.tasks.TaskAction;
 import org.gradle.api.tasks.VerificationTask;
+import org.gradle.internal.concurrent.ExecutorFactory;
 import org.gradle.internal.reflect.Instantiator;
 import org.gradle.logging.ConsoleRenderer;
 import org.gradle.logging.ProgressLogger;
@@ -67,11 +68,13 @@ public class CompareGradleBuilds extends DefaultTask implements VerificationTask
 
     private final FileResolver fileResolver;
     private final ProgressLoggerFactory progressLoggerFactory;
+    private final ExecutorFactory executorFactory;
 
     @Inject
-    public CompareGradleBuilds(FileResolver fileResolver, ProgressLoggerFactory progressLoggerFactory, Instantiator instantiator) {
+    public CompareGradleBuilds(FileResolver fileResolver, ProgressLoggerFactory progressLoggerFactory, Instantiator instantiator, ExecutorFactory executorFactory) {
         this.fileResolver = fileResolver;
         this.progressLoggerFactory = progressLoggerFactory;
+        this.executorFactory = executorFactory;
 
         sourceBuild = instantiator.newInstance(DefaultGradleBuildInvocationSpec.class, fileResolver, getProject().getRootDir());
         sourceBuild.setTasks(DEFAULT_TASKS);
@@ -216,7 +219,8 @@ public class CompareGradleBuilds extends DefaultTask implements VerificationTask
         GradleBuildComparison comparison = new GradleBuildComparison(
                 sourceBuildExecuter, targetBuildExecuter,
                 logger, progressLogger,
-                getProject().getGradle()
+                getProject().getGradle(),
+                executorFactory
         );
 
         comparison.registerType(
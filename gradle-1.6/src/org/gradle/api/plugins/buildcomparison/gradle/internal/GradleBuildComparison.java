@@ -31,6 +31,7 @@ import org.gradle.api.plugins.buildcomparison.outcome.internal.CompositeBuildOut
 import org.gradle.api.plugins.buildcomparison.render.internal.*;
 import org.gradle.api.plugins.buildcomparison.render.internal.html.GradleBuildComparisonResultHtmlRenderer;
 import org.gradle.api.plugins.buildcomparison.render.internal.html.HtmlRenderContext;
+import org.gradle.internal.concurrent.ExecutorFactory;
 import org.gradle.logging.ProgressLogger;
 import org.gradle.tooling.GradleConnector;
 import org.gradle.tooling.ProjectConnection;
@@ -65,18 +66,21 @@ public class GradleBuildComparison {
     private final Logger logger;
     private final ProgressLogger progressLogger;
     private final Gradle gradle;
+    private final ExecutorFactory executorFactory;
 
     public GradleBuildComparison(
             ComparableGradleBuildExecuter sourceBuildExecuter,
             ComparableGradleBuildExecuter targetBuildExecuter,
             Logger logger,
             ProgressLogger progressLogger,
-            Gradle gradle) {
+            Gradle gradle,
+            ExecutorFactory executorFactory) {
         this.sourceBuildExecuter = sourceBuildExecuter;
         this.targetBuildExecuter = targetBuildExecuter;
         this.logger = logger;
         this.progressLogger = progressLogger;
         this.gradle = gradle;
+        this.executorFactory = executorFactory;
     }
 
     public <T extends BuildOutcome, R extends BuildOutcomeComparisonResult<T>> void registerType(
@@ -188,7 +192,7 @@ public class GradleBuildComparison {
     private BuildComparisonResult compareBuilds(Set<BuildOutcome> sourceOutcomes, Set<BuildOutcome> targetOutcomes) {
         BuildComparisonSpecFactory specFactory = new BuildComparisonSpecFactory(createBuildOutcomeAssociator());
         BuildComparisonSpec comparisonSpec = specFactory.createSpec(sourceOutcomes, targetOutcomes);
-        BuildComparator buildComparator = new DefaultBuildComparator(outcomeComparatorFactory);
+        BuildComparator buildComparator = new DefaultBuildComparator(outcomeComparatorFactory, executorFactory);
         return buildComparator.compareBuilds(comparisonSpec);
     }
 
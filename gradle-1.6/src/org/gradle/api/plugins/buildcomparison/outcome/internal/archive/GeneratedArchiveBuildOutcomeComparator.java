@@ -16,7 +16,9 @@
 
 package org.gradle.api.plugins.buildcomparison.outcome.internal.archive;
 
+import org.apache.commons.io.IOUtils;
 import org.gradle.api.Transformer;
+import org.gradle.api.UncheckedIOException;
 import org.gradle.api.plugins.buildcomparison.compare.internal.BuildOutcomeComparator;
 import org.gradle.api.plugins.buildcomparison.outcome.internal.BuildOutcomeAssociation;
 import org.gradle.api.plugins.buildcomparison.outcome.internal.archive.entry.ArchiveEntry;
@@ -26,7 +28,10 @@ import org.gradle.api.plugins.buildcomparison.outcome.internal.archive.entry.Fil
 import org.gradle.util.CollectionUtils;
 
 import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.*;
+import java.util.zip.ZipFile;
 
 public class GeneratedArchiveBuildOutcomeComparator implements BuildOutcomeComparator<GeneratedArchiveBuildOutcome, GeneratedArchiveBuildOutcomeComparisonResult> {
 
@@ -78,8 +83,16 @@ public class GeneratedArchiveBuildOutcomeComparator implements BuildOutcomeCompa
             entryComparisons.add(new ArchiveEntryComparison(sourceOnly.getPath(), sourceOnly, null));
         }
 
+        List<CollectionUtils.SetDiff.Pair<ArchiveEntry>> changedContent = new ArrayList<CollectionUtils.SetDiff.Pair<ArchiveEntry>>();
         for (CollectionUtils.SetDiff.Pair<ArchiveEntry> pair : diff.common) {
-            entryComparisons.add(new ArchiveEntryComparison(pair.left.getPath(), pair.left, pair.right));
+            if (hasChangedContent(pair.left, pair.right)) {
+                changedContent.add(pair);
+            } else {
+                entryComparisons.add(new ArchiveEntryComparison(pair.left.getPath(), pair.left, pair.right));
+            }
+        }
+        if (!changedContent.isEmpty()) {
+            compareContent(source.getArchiveFile(), target.getArchiveFile(), changedContent, entryComparisons);
         }
 
         for (ArchiveEntry targetOnly : diff.rightOnly) {
@@ -88,4 +101,89 @@ public class GeneratedArchiveBuildOutcomeComparator implements BuildOutcomeCompa
 
         return new GeneratedArchiveBuildOutcomeComparisonResult(association, entryComparisons);
     }
+
+    /**
+     * Entries of the same size with different checksums have the same shape but different content, so are worth comparing byte by byte.
+     * Entries with equal checksums are taken to be equal, and entries of different sizes are already known to differ.
+     */
+    private boolean hasChangedContent(ArchiveEntry source, ArchiveEntry target) {
+        return !source.isDirectory() && !target.isDirectory() && source.getSize() == target.getSize() && source.getCrc() != target.getCrc();
+    }
+
+    private void compareContent(File sourceArchive, File targetArchive, List<CollectionUtils.SetDiff.Pair<ArchiveEntry>> pairs, Set<ArchiveEntryComparison> entryComparisons) {
+        ZipFile sourceZip = null;
+        ZipFile targetZip = null;
+        try {
+            sourceZip = new ZipFile(sourceArchive);
+            targetZip = new ZipFile(targetArchive);
+            for (CollectionUtils.SetDiff.Pair<ArchiveEntry> pair : pairs) {
+                long offset = findFirstDifference(sourceZip, targetZip, pair.left.getPath());
+                entryComparisons.add(new ArchiveEntryComparison(pair.left.getPath(), pair.left, pair.right, offset));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            closeQuietly(sourceZip);
+            closeQuietly(targetZip);
+        }
+    }
+
+    /**
+     * Streams the content of both entries, so that the memory used does not depend on the size of the entries.
+     */
+    private long findFirstDifference(ZipFile sourceZip, ZipFile targetZip, String path) throws IOException {
+        InputStream sourceStream = sourceZip.getInputStream(sourceZip.getEntry(path));
+        InputStream targetStream = targetZip.getInputStream(targetZip.getEntry(path));
+        try {
+            byte[] sourceBuffer = new byte[8192];
+            byte[] targetBuffer = new byte[8192];
+            long offset = 0;
+            while (true) {
+                int sourceRead = read(sourceStream, sourceBuffer);
+                int targetRead = read(targetStream, targetBuffer);
+                int common = Math.min(sourceRead, targetRead);
+                for (int i = 0; i < common; i++) {
+                    if (sourceBuffer[i] != targetBuffer[i]) {
+                        return offset + i;
+                    }
+                }
+                if (sourceRead != targetRead) {
+                    return offset + common;
+                }
+                if (sourceRead < sourceBuffer.length) {
+                    return -1;
+                }
+                offset += sourceRead;
+            }
+        } finally {
+            IOUtils.closeQuietly(sourceStream);
+            IOUtils.closeQuietly(targetStream);
+        }
+    }
+
+    /**
+     * Fills the buffer, unless the end of the stream is reached. Returns the number of bytes read.
+     */
+    private int read(InputStream inputStream, byte[] buffer) throws IOException {
+        int total = 0;
+        while (total < buffer.length) {
+            int read = inputStream.read(buffer, total, buffer.length - total);
+            if (read < 0) {
+                break;
+            }
+            total += read;
+        }
+        return total;
+    }
+
+    private void closeQuietly(ZipFile zipFile) {
+        if (zipFile == null) {
+            return;
+        }
+        try {
+            zipFile.close();
+        } catch (IOException e) {
+            // Ignore
+        }
+    }
 }
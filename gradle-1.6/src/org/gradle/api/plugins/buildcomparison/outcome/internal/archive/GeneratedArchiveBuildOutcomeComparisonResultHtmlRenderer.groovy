@@ -120,7 +120,8 @@ class GeneratedArchiveBuildOutcomeComparisonResultHtmlRenderer extends BuildOutc
                 "entry does not exist in source build archive"
                 break
             case UNEQUAL:
-                toDifferenceDescription(entryComparison.source, entryComparison.target)
+                def description = toDifferenceDescription(entryComparison.source, entryComparison.target)
+                entryComparison.firstDifferenceOffset < 0 ? description : "$description (first difference at byte $entryComparison.firstDifferenceOffset)"
                 break
             default:
                 entryComparison.comparisonResultType.throwUnsupported()
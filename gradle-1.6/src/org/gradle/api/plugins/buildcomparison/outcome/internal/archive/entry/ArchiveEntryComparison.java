@@ -23,8 +23,16 @@ public class ArchiveEntryComparison {
     private final String path;
     private final ArchiveEntry source;
     private final ArchiveEntry target;
+    private final long firstDifferenceOffset;
 
     public ArchiveEntryComparison(String path, ArchiveEntry source, ArchiveEntry target) {
+        this(path, source, target, -1);
+    }
+
+    /**
+     * @param firstDifferenceOffset The offset of the first byte which differs between the content of the entries, or -1 when not known.
+     */
+    public ArchiveEntryComparison(String path, ArchiveEntry source, ArchiveEntry target, long firstDifferenceOffset) {
         if (source == null && target == null) {
             throw new IllegalArgumentException("Both 'from' and 'to' cannot be null");
         }
@@ -32,6 +40,7 @@ public class ArchiveEntryComparison {
         this.path = path;
         this.source = source;
         this.target = target;
+        this.firstDifferenceOffset = firstDifferenceOffset;
     }
 
     public ComparisonResultType getComparisonResultType() {
@@ -56,4 +65,8 @@ public class ArchiveEntryComparison {
     public ArchiveEntry getTarget() {
         return target;
     }
+
+    public long getFirstDifferenceOffset() {
+        return firstDifferenceOffset;
+    }
 }
@@ -21,14 +21,18 @@ import org.gradle.api.Transformer;
 import org.gradle.api.UncheckedIOException;
 
 import java.io.File;
-import java.io.FileInputStream;
-import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.io.InputStream;
+import java.util.Enumeration;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.zip.CRC32;
 import java.util.zip.ZipEntry;
-import java.util.zip.ZipInputStream;
+import java.util.zip.ZipFile;
 
+/**
+ * Reads the entries of an archive from its central directory, so that the content of the entries does not need to be read.
+ */
 public class FileToArchiveEntrySetTransformer implements Transformer<Set<ArchiveEntry>, File> {
 
     private final Transformer<ArchiveEntry, ZipEntry> entryTransformer;
@@ -40,29 +44,53 @@ public class FileToArchiveEntrySetTransformer implements Transformer<Set<Archive
     public Set<ArchiveEntry> transform(File archiveFile) {
         Set<ArchiveEntry> entries = new HashSet<ArchiveEntry>();
 
-        FileInputStream fileInputStream;
+        ZipFile zipFile;
         try {
-            fileInputStream = new FileInputStream(archiveFile);
-        } catch (FileNotFoundException e) {
+            zipFile = new ZipFile(archiveFile);
+        } catch (IOException e) {
             throw new UncheckedIOException(e);
         }
 
-        ZipInputStream zipStream = new ZipInputStream(fileInputStream);
-
         try {
-            ZipEntry entry = zipStream.getNextEntry();
-            while (entry != null) {
-                entries.add(entryTransformer.transform(entry));
-                zipStream.closeEntry();
-                entry = zipStream.getNextEntry();
+            Enumeration<? extends ZipEntry> zipEntries = zipFile.entries();
+            while (zipEntries.hasMoreElements()) {
+                ZipEntry entry = zipEntries.nextElement();
+                ArchiveEntry archiveEntry = entryTransformer.transform(entry);
+                if (!entry.isDirectory() && (archiveEntry.getCrc() == -1 || archiveEntry.getSize() == -1)) {
+                    // Not recorded in the archive, so calculate from the content
+                    calculateCrcAndSize(zipFile, entry, archiveEntry);
+                }
+                entries.add(archiveEntry);
             }
         } catch (IOException e) {
             throw new UncheckedIOException(e);
         } finally {
-            IOUtils.closeQuietly(zipStream);
+            try {
+                zipFile.close();
+            } catch (IOException e) {
+                // Ignore
+            }
         }
 
         return entries;
     }
 
+    private void calculateCrcAndSize(ZipFile zipFile, ZipEntry entry, ArchiveEntry archiveEntry) throws IOException {
+        CRC32 crc = new CRC32();
+        long size = 0;
+        byte[] buffer = new byte[8192];
+        InputStream inputStream = zipFile.getInputStream(entry);
+        try {
+            int read;
+            while ((read = inputStream.read(buffer)) >= 0) {
+                crc.update(buffer, 0, read);
+                size += read;
+            }
+        } finally {
+            IOUtils.closeQuietly(inputStream);
+        }
+        archiveEntry.setCrc(crc.getValue());
+        archiveEntry.setSize(size);
+    }
+
 }
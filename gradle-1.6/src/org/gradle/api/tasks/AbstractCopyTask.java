@@ -17,6 +17,7 @@ package org.gradle.api.tasks;
 
 import groovy.lang.Closure;
 import org.gradle.api.Action;
+import org.gradle.api.Incubating;
 import org.gradle.api.file.*;
 import org.gradle.api.internal.ConventionTask;
 import org.gradle.api.internal.file.copy.CopyActionImpl;
@@ -121,6 +122,22 @@ public abstract class AbstractCopyTask extends ConventionTask implements CopySpe
         getMainSpec().setIncludeEmptyDirs(includeEmptyDirs);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Incubating
+    public String getFilteringCharset() {
+        return getMainSpec().getFilteringCharset();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Incubating
+    public void setFilteringCharset(String charset) {
+        getMainSpec().setFilteringCharset(charset);
+    }
+
     /**
      * {@inheritDoc}
      */
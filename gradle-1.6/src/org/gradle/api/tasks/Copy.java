@@ -16,6 +16,7 @@
 
 package org.gradle.api.tasks;
 
+import org.gradle.api.Incubating;
 import org.gradle.api.internal.file.FileResolver;
 import org.gradle.api.internal.file.copy.FileCopyActionImpl;
 import org.gradle.api.internal.file.copy.FileCopySpecVisitor;
@@ -101,4 +102,30 @@ public class Copy extends AbstractCopyTask {
     public void setDestinationDir(File destinationDir) {
         into(destinationDir);
     }
+
+    /**
+     * Returns whether files which are not filtered and keep their permissions are hard linked into the destination
+     * directory, rather than copied. When a link cannot be created, for example because the source and destination
+     * are located on different file systems, the file is copied instead. Defaults to false.
+     *
+     * <p>Note that a hard linked file shares its content with the source file, so a change to either file is
+     * visible through the other.</p>
+     *
+     * @return true if files are hard linked.
+     */
+    @Incubating
+    public boolean isUseHardLinks() {
+        return getCopyAction().isUseHardLinks();
+    }
+
+    /**
+     * Sets whether files which are not filtered and keep their permissions are hard linked into the destination
+     * directory, rather than copied.
+     *
+     * @param useHardLinks true to hard link files.
+     */
+    @Incubating
+    public void setUseHardLinks(boolean useHardLinks) {
+        getCopyAction().setUseHardLinks(useHardLinks);
+    }
 }
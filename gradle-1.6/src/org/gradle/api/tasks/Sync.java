@@ -16,6 +16,7 @@
 
 package org.gradle.api.tasks;
 
+import org.gradle.api.Incubating;
 import org.gradle.api.internal.file.FileResolver;
 import org.gradle.api.internal.file.copy.FileCopyActionImpl;
 import org.gradle.api.internal.file.copy.FileCopySpecVisitor;
@@ -28,10 +29,12 @@ import java.io.File;
  */
 public class Sync extends AbstractCopyTask {
     private FileCopyActionImpl action;
+    private SyncCopySpecVisitor syncVisitor;
 
     public Sync() {
         FileResolver fileResolver = getServices().get(FileResolver.class);
-        action = new FileCopyActionImpl(fileResolver, new SyncCopySpecVisitor(new FileCopySpecVisitor()));
+        syncVisitor = new SyncCopySpecVisitor(new FileCopySpecVisitor());
+        action = new FileCopyActionImpl(fileResolver, syncVisitor);
     }
 
     @Override
@@ -57,4 +60,53 @@ public class Sync extends AbstractCopyTask {
     public void setDestinationDir(File destinationDir) {
         into(destinationDir);
     }
+
+    /**
+     * Returns whether files which are not filtered and keep their permissions are hard linked into the destination
+     * directory, rather than copied. When a link cannot be created, for example because the source and destination
+     * are located on different file systems, the file is copied instead. Defaults to false.
+     *
+     * <p>Note that a hard linked file shares its content with the source file, so a change to either file is
+     * visible through the other.</p>
+     *
+     * @return true if files are hard linked.
+     */
+    @Incubating
+    public boolean isUseHardLinks() {
+        return getCopyAction().isUseHardLinks();
+    }
+
+    /**
+     * Sets whether files which are not filtered and keep their permissions are hard linked into the destination
+     * directory, rather than copied.
+     *
+     * @param useHardLinks true to hard link files.
+     */
+    @Incubating
+    public void setUseHardLinks(boolean useHardLinks) {
+        getCopyAction().setUseHardLinks(useHardLinks);
+    }
+
+    /**
+     * Returns whether only changed files are copied into the destination directory. When true, a file which has the
+     * same size, timestamp and permissions as the existing destination file is not copied again. Files whose
+     * content is filtered are always copied. The timestamp of each copied file is set to that of its source file.
+     * Defaults to false.
+     *
+     * @return true if only changed files are copied.
+     */
+    @Incubating
+    public boolean isIncremental() {
+        return syncVisitor.isIncremental();
+    }
+
+    /**
+     * Sets whether only changed files are copied into the destination directory.
+     *
+     * @param incremental true to only copy changed files.
+     */
+    @Incubating
+    public void setIncremental(boolean incremental) {
+        syncVisitor.setIncremental(incremental);
+    }
 }
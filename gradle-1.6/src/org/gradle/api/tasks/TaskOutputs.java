@@ -17,6 +17,7 @@
 package org.gradle.api.tasks;
 
 import groovy.lang.Closure;
+import org.gradle.api.Incubating;
 import org.gradle.api.Task;
 import org.gradle.api.file.FileCollection;
 import org.gradle.api.specs.Spec;
@@ -51,6 +52,31 @@ public interface TaskOutputs {
      */
     void upToDateWhen(Spec<? super Task> upToDateSpec);
 
+    /**
+     * <p>Adds a predicate to determine whether the outputs of this task can be stored in and restored from the local task
+     * output cache. The given closure is executed at task execution time. The closure is passed the task as a parameter.</p>
+     *
+     * <p>When caching is enabled and the cache holds the outputs generated from the same task type, input properties and
+     * input files, the outputs are restored from the cache and the task is not executed.</p>
+     *
+     * <p>You can add multiple such predicates. Caching is only enabled when all predicates return true.</p>
+     *
+     * @param cacheClosure The closure to use to determine whether the task outputs can be cached.
+     */
+    @Incubating
+    void cacheIf(Closure cacheClosure);
+
+    /**
+     * <p>Adds a predicate to determine whether the outputs of this task can be stored in and restored from the local task
+     * output cache. The given spec is evaluated at task execution time.</p>
+     *
+     * <p>You can add multiple such predicates. Caching is only enabled when all predicates return true.</p>
+     *
+     * @param cacheSpec The spec to use to determine whether the task outputs can be cached.
+     */
+    @Incubating
+    void cacheIf(Spec<? super Task> cacheSpec);
+
     /**
      * Returns true if this task has declared any outputs. Note that a task may be able to produce output files and
      * still have an empty set of output files.
@@ -18,6 +18,7 @@ package org.gradle.api.tasks.compile;
 
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Lists;
+import org.gradle.api.Incubating;
 import org.gradle.api.tasks.Input;
 import org.gradle.api.tasks.Nested;
 import org.gradle.api.tasks.Optional;
@@ -35,7 +36,7 @@ public class CompileOptions extends AbstractOptions {
     private static final long serialVersionUID = 0;
 
     private static final ImmutableSet<String> EXCLUDE_FROM_ANT_PROPERTIES =
-            ImmutableSet.of("debugOptions", "forkOptions", "compilerArgs", "dependOptions", "useDepend", "useAnt");
+            ImmutableSet.of("debugOptions", "forkOptions", "compilerArgs", "dependOptions", "useDepend", "useAnt", "incremental");
 
     private boolean failOnError = true;
 
@@ -63,6 +64,8 @@ public class CompileOptions extends AbstractOptions {
 
     private DependOptions dependOptions = new DependOptions();
 
+    private boolean incremental;
+
     private String compiler;
 
     private boolean includeJavaRuntime;
@@ -314,6 +317,24 @@ public class CompileOptions extends AbstractOptions {
         this.dependOptions = dependOptions;
     }
 
+    /**
+     * Tells whether to only recompile the source files that have changed since the previous compilation, along with
+     * the source files that depend on them. Defaults to {@code false}.
+     */
+    @Incubating
+    public boolean isIncremental() {
+        return incremental;
+    }
+
+    /**
+     * Sets whether to only recompile the source files that have changed since the previous compilation, along with
+     * the source files that depend on them. Defaults to {@code false}.
+     */
+    @Incubating
+    public void setIncremental(boolean incremental) {
+        this.incremental = incremental;
+    }
+
     /**
      * Returns the compiler to be used. Only takes effect if {@code useAnt} is {@code true}.
      *
@@ -43,7 +43,9 @@ import org.gradle.api.tasks.testing.logging.TestLogging;
 import org.gradle.api.tasks.testing.logging.TestLoggingContainer;
 import org.gradle.api.tasks.util.PatternFilterable;
 import org.gradle.api.tasks.util.PatternSet;
+import org.gradle.cache.CacheRepository;
 import org.gradle.internal.Factory;
+import org.gradle.internal.concurrent.ExecutorFactory;
 import org.gradle.internal.reflect.Instantiator;
 import org.gradle.listener.ClosureBackedMethodInvocationDispatch;
 import org.gradle.listener.ListenerBroadcast;
@@ -132,19 +134,20 @@ public class Test extends ConventionTask implements JavaForkOptions, PatternFilt
     private boolean scanForTestClasses = true;
     private long forkEvery;
     private int maxParallelForks = 1;
+    private boolean reuseForks;
     private TestReporter testReporter;
 
     @Inject
     public Test(ListenerManager listenerManager, StyledTextOutputFactory textOutputFactory, FileResolver fileResolver,
                 Factory<WorkerProcessBuilder> processBuilderFactory, ActorFactory actorFactory, Instantiator instantiator,
-                ProgressLoggerFactory progressLoggerFactory) {
+                ProgressLoggerFactory progressLoggerFactory, ExecutorFactory executorFactory, CacheRepository cacheRepository) {
         this.progressLoggerFactory = progressLoggerFactory;
         testListenerBroadcaster = listenerManager.createAnonymousBroadcaster(TestListener.class);
         testOutputListenerBroadcaster = listenerManager.createAnonymousBroadcaster(TestOutputListener.class);
         this.textOutputFactory = textOutputFactory;
         forkOptions = new DefaultJavaForkOptions(fileResolver);
         forkOptions.setEnableAssertions(true);
-        testExecuter = new DefaultTestExecuter(processBuilderFactory, actorFactory);
+        testExecuter = new DefaultTestExecuter(processBuilderFactory, actorFactory, executorFactory, cacheRepository);
         testLogging = instantiator.newInstance(DefaultTestLoggingContainer.class, instantiator);
         testReporter = new DefaultTestReport();
     }
@@ -955,6 +958,29 @@ public class Test extends ConventionTask implements JavaForkOptions, PatternFilt
         this.maxParallelForks = maxParallelForks;
     }
 
+    /**
+     * Returns whether forked test processes may be taken from, and returned to, a pool of worker processes which lives as long as the
+     * Gradle process (for example, the daemon), instead of starting a new process for each fork. Pooled test processes load the test
+     * classes in an isolated ClassLoader, rather than the system ClassLoader. Forks are never reused when {@link #getForkEvery()} is
+     * set. The default value is {@code false}.
+     *
+     * @return Whether forked test processes may be reused.
+     */
+    @Incubating
+    public boolean isReuseForks() {
+        return reuseForks;
+    }
+
+    /**
+     * Sets whether forked test processes may be reused across test tasks and builds.
+     *
+     * @param reuseForks Whether forked test processes may be reused.
+     */
+    @Incubating
+    public void setReuseForks(boolean reuseForks) {
+        this.reuseForks = reuseForks;
+    }
+
     /**
      * Returns the classes files to scan for test classes.
      *
@@ -24,7 +24,7 @@ import org.gradle.api.Action;
 import org.gradle.api.file.FileTreeElement;
 import org.gradle.api.file.RelativePath;
 import org.gradle.api.internal.file.RelativePathSpec;
-import org.gradle.api.internal.file.pattern.PatternMatcherFactory;
+import org.gradle.api.internal.file.pattern.PatternSetMatcher;
 import org.gradle.api.internal.notations.NotationParserBuilder;
 import org.gradle.api.internal.notations.api.NotationParser;
 import org.gradle.api.internal.notations.parsers.CharSequenceNotationParser;
@@ -39,6 +39,8 @@ import java.util.*;
  * Standalone implementation of {@link PatternFilterable}.
  */
 public class PatternSet implements AntBuilderAware, PatternFilterable {
+    private static final Map<Boolean, Spec<RelativePath>> DEFAULT_EXCLUDES_MATCHERS = new HashMap<Boolean, Spec<RelativePath>>();
+    private static List<String> defaultExcludesForMatchers;
 
     private final Set<String> includes = Sets.newLinkedHashSet();
     private final Set<String> excludes = Sets.newLinkedHashSet();
@@ -123,9 +125,8 @@ public class PatternSet implements AntBuilderAware, PatternFilterable {
 
     public Spec<FileTreeElement> getAsIncludeSpec() {
         List<Spec<FileTreeElement>> matchers = Lists.newArrayList();
-        for (String include : includes) {
-            Spec<RelativePath> patternMatcher = PatternMatcherFactory.getPatternMatcher(true, caseSensitive, include);
-            matchers.add(new RelativePathSpec(patternMatcher));
+        if (!includes.isEmpty()) {
+            matchers.add(new RelativePathSpec(new PatternSetMatcher(true, caseSensitive, includes)));
         }
 
         matchers.addAll(includeSpecs);
@@ -133,19 +134,33 @@ public class PatternSet implements AntBuilderAware, PatternFilterable {
     }
 
     public Spec<FileTreeElement> getAsExcludeSpec() {
-        Collection<String> allExcludes = Sets.newLinkedHashSet(excludes);
-        Collections.addAll(allExcludes, DirectoryScanner.getDefaultExcludes());
-
         List<Spec<FileTreeElement>> matchers = Lists.newArrayList();
-        for (String exclude : allExcludes) {
-            Spec<RelativePath> patternMatcher = PatternMatcherFactory.getPatternMatcher(false, caseSensitive, exclude);
-            matchers.add(new RelativePathSpec(patternMatcher));
+        if (!excludes.isEmpty()) {
+            matchers.add(new RelativePathSpec(new PatternSetMatcher(false, caseSensitive, excludes)));
         }
+        matchers.add(new RelativePathSpec(getDefaultExcludesMatcher(caseSensitive)));
 
         matchers.addAll(excludeSpecs);
         return new OrSpec<FileTreeElement>(matchers);
     }
 
+    private static Spec<RelativePath> getDefaultExcludesMatcher(boolean caseSensitive) {
+        // The default excludes are compiled once, and recompiled only if they are changed through the Ant API
+        List<String> defaultExcludes = Arrays.asList(DirectoryScanner.getDefaultExcludes());
+        synchronized (DEFAULT_EXCLUDES_MATCHERS) {
+            if (!defaultExcludes.equals(defaultExcludesForMatchers)) {
+                DEFAULT_EXCLUDES_MATCHERS.clear();
+                defaultExcludesForMatchers = defaultExcludes;
+            }
+            Spec<RelativePath> matcher = DEFAULT_EXCLUDES_MATCHERS.get(caseSensitive);
+            if (matcher == null) {
+                matcher = new PatternSetMatcher(false, caseSensitive, defaultExcludes);
+                DEFAULT_EXCLUDES_MATCHERS.put(caseSensitive, matcher);
+            }
+            return matcher;
+        }
+    }
+
     public Set<String> getIncludes() {
         return includes;
     }
@@ -15,6 +15,7 @@
  */
 package org.gradle.cache;
 
+import org.gradle.cache.internal.CacheDecorator;
 import org.gradle.messaging.serialize.Serializer;
 
 import java.io.File;
@@ -67,4 +68,14 @@ public interface PersistentCache extends CacheAccess {
      * <p>The returned cache may not be used by an action being run from {@link #longRunningOperation(String, org.gradle.internal.Factory)}.
      */
     <K, V> PersistentIndexedCache<K, V> createCache(File cacheFile, Serializer<K> keySerializer, Serializer<V> valueSerializer);
+
+    /**
+     * Creates an indexed cache implementation that is contained within this cache, decorated using the given decorator. This method may be used at any time.
+     *
+     * <p>The returned cache may only be used by an action being run from {@link #useCache(String, org.gradle.internal.Factory)}.
+     * In this instance, an exclusive lock will be held on the cache.
+     *
+     * <p>The returned cache may not be used by an action being run from {@link #longRunningOperation(String, org.gradle.internal.Factory)}.
+     */
+    <K, V> PersistentIndexedCache<K, V> createCache(File cacheFile, Serializer<K> keySerializer, Serializer<V> valueSerializer, CacheDecorator decorator);
 }
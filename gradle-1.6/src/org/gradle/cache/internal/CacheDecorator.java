@@ -0,0 +1,26 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gradle.cache.internal;
+
+import java.io.File;
+
+/**
+ * Decorates the indexed caches created by a {@link org.gradle.cache.PersistentCache}. The decorated cache takes part in the units of work of the
+ * containing cache, and so can tell when the backing cache file may have been updated by another process.
+ */
+public interface CacheDecorator {
+    <K, V> MultiProcessSafePersistentIndexedCache<K, V> decorate(File cacheFile, MultiProcessSafePersistentIndexedCache<K, V> persistentCache);
+}
@@ -48,6 +48,12 @@ public class DefaultCacheAccess implements CacheAccess {
     private Thread owner;
     private FileLockManager.LockMode lockMode;
     private FileLock fileLock;
+    private volatile boolean releaseRequested;
+    private final Runnable whenContended = new Runnable() {
+        public void run() {
+            releaseRequested = true;
+        }
+    };
     private final ThreadLocal<CacheOperationStack> operationStack = new ThreadLocal<CacheOperationStack>() {
         @Override
         protected CacheOperationStack initialValue() {
@@ -64,7 +70,8 @@ public class DefaultCacheAccess implements CacheAccess {
     /**
      * Opens this cache access with the given lock mode. Calling this with {@link org.gradle.cache.internal.FileLockManager.LockMode#Exclusive} will
      * lock the cache for exclusive access from all other threads (including those in this process and all other processes), until
-     * {@link #close()} is called.
+     * {@link #close()} is called, or another process asks for the lock. In the latter case the lock is released at the end of the next outermost
+     * {@link #useCache(String, Factory)} call, and from then on is held only for each outermost call, as if the cache had been opened on demand.
      */
     public void open(FileLockManager.LockMode lockMode) {
         lock.lock();
@@ -76,8 +83,9 @@ public class DefaultCacheAccess implements CacheAccess {
             if (lockMode == FileLockManager.LockMode.None) {
                 return;
             }
-            fileLock = lockManager.lock(lockFile, lockMode, cacheDiplayName);
-            takeOwnership(String.format("Access %s", cacheDiplayName));
+            releaseRequested = false;
+            fileLock = lockManager.lock(lockFile, lockMode, cacheDiplayName, "", whenContended);
+            takeOwnership(getOpenOperationDisplayName());
         } finally {
             lock.unlock();
         }
@@ -87,7 +95,11 @@ public class DefaultCacheAccess implements CacheAccess {
         lock.lock();
         try {
             for (MultiProcessSafePersistentIndexedCache<?, ?> cache : caches) {
-                cache.close();
+                if (fileLock != null) {
+                    cache.onEndWork(fileLock.getState());
+                } else {
+                    cache.close();
+                }
             }
             operationStack.remove();
             lockMode = null;
@@ -104,6 +116,10 @@ public class DefaultCacheAccess implements CacheAccess {
         }
     }
 
+    private String getOpenOperationDisplayName() {
+        return String.format("Access %s", cacheDiplayName);
+    }
+
     public FileLock getFileLock() {
         return fileLock;
     }
@@ -117,13 +133,14 @@ public class DefaultCacheAccess implements CacheAccess {
             throw new UnsupportedOperationException("Not implemented yet.");
         }
 
+        boolean outermost = isAtSafePoint();
         takeOwnership(operationDisplayName);
         try {
             boolean wasStarted = onStartWork();
             try {
                 return factory.create();
             } finally {
-                if (wasStarted) {
+                if (wasStarted || (outermost && releaseRequested)) {
                     onEndWork();
                 }
             }
@@ -132,6 +149,15 @@ public class DefaultCacheAccess implements CacheAccess {
         }
     }
 
+    /**
+     * Returns true when the current thread is not running any cache action, other than holding the cache open. The file lock can then be released
+     * without affecting any action in progress.
+     */
+    private boolean isAtSafePoint() {
+        CacheOperationStack stack = operationStack.get();
+        return !stack.isInCacheAction() || stack.isOnlyOperation(getOpenOperationDisplayName());
+    }
+
     private void takeOwnership(String operationDisplayName) {
         lock.lock();
         try {
@@ -241,17 +267,24 @@ public class DefaultCacheAccess implements CacheAccess {
     }
 
     public <K, V> PersistentIndexedCache<K, V> newCache(final File cacheFile, final Serializer<K> keySerializer, final Serializer<V> valueSerializer) {
+        return newCache(cacheFile, keySerializer, valueSerializer, null);
+    }
+
+    public <K, V> PersistentIndexedCache<K, V> newCache(final File cacheFile, final Serializer<K> keySerializer, final Serializer<V> valueSerializer, CacheDecorator decorator) {
         Factory<BTreePersistentIndexedCache<K, V>> indexedCacheFactory = new Factory<BTreePersistentIndexedCache<K, V>>() {
             public BTreePersistentIndexedCache<K, V> create() {
                 return doCreateCache(cacheFile, keySerializer, valueSerializer);
             }
         };
-        MultiProcessSafePersistentIndexedCache<K, V> indexedCache = new MultiProcessSafePersistentIndexedCache<K, V>(indexedCacheFactory, fileAccess);
+        MultiProcessSafePersistentIndexedCache<K, V> indexedCache = new DefaultMultiProcessSafePersistentIndexedCache<K, V>(indexedCacheFactory, fileAccess);
+        if (decorator != null) {
+            indexedCache = decorator.decorate(cacheFile, indexedCache);
+        }
         lock.lock();
         try {
             caches.add(indexedCache);
             if (fileLock != null) {
-                indexedCache.onStartWork(operationStack.get().getDescription());
+                indexedCache.onStartWork(operationStack.get().getDescription(), fileLock.getState());
             }
         } finally {
             lock.unlock();
@@ -268,9 +301,11 @@ public class DefaultCacheAccess implements CacheAccess {
             return false;
         }
 
-        fileLock = lockManager.lock(lockFile, Exclusive, cacheDiplayName, operationStack.get().getDescription());
+        releaseRequested = false;
+        fileLock = lockManager.lock(lockFile, Exclusive, cacheDiplayName, operationStack.get().getDescription(), whenContended);
+        FileLock.State currentCacheState = fileLock.getState();
         for (MultiProcessSafePersistentIndexedCache<?, ?> cache : caches) {
-            cache.onStartWork(operationStack.get().getDescription());
+            cache.onStartWork(operationStack.get().getDescription(), currentCacheState);
         }
         return true;
     }
@@ -281,8 +316,9 @@ public class DefaultCacheAccess implements CacheAccess {
         }
 
         try {
+            FileLock.State currentCacheState = fileLock.getState();
             for (MultiProcessSafePersistentIndexedCache<?, ?> cache : caches) {
-                cache.onEndWork();
+                cache.onEndWork(currentCacheState);
             }
             fileLock.close();
         } finally {
@@ -337,6 +373,10 @@ public class DefaultCacheAccess implements CacheAccess {
             pop(description, true);
         }
 
+        public boolean isOnlyOperation(String description) {
+            return operations.size() == 1 && operations.get(0).description.equals(description) && !operations.get(0).longRunningOperation;
+        }
+
         public boolean isInCacheAction() {
             return !operations.isEmpty() && !operations.get(0).longRunningOperation;
         }
@@ -0,0 +1,227 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.cache.internal;
+
+import org.gradle.internal.Stoppable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.*;
+import java.net.*;
+import java.util.*;
+
+/**
+ * Used by long-lived processes, such as the daemon. Lets the owner of a lock find out when another process wants it, and lets waiting processes find
+ * out as soon as the lock is released, rather than having to poll for it.
+ *
+ * <p>The process listens on a UDP port bound to the loopback interface, which the owner of a lock advertises in the lock file. A process which cannot
+ * acquire the lock sends a release request to the owner's port. The owner releases the lock at its next safe point, then sends a released message
+ * back to each process which asked. Messages can be lost, so waiting processes still poll the lock at a low rate.</p>
+ */
+public class DefaultFileLockContentionHandler implements FileLockContentionHandler, Stoppable {
+    private static final Logger LOGGER = LoggerFactory.getLogger(DefaultFileLockContentionHandler.class);
+    private static final byte REQUEST_RELEASE = 1;
+    private static final byte RELEASED = 2;
+    private static final int MAX_MESSAGE_SIZE = 4096;
+
+    private final Object lock = new Object();
+    private final Map<String, Runnable> contendedActions = new HashMap<String, Runnable>();
+    private final Map<String, Set<SocketAddress>> waiters = new HashMap<String, Set<SocketAddress>>();
+    private DatagramSocket socket;
+    private Thread listener;
+    private boolean failed;
+    private boolean stopped;
+    private long releaseCount;
+
+    public int getPort() {
+        synchronized (lock) {
+            if (socket == null && !failed && !stopped) {
+                start();
+            }
+            return socket == null ? -1 : socket.getLocalPort();
+        }
+    }
+
+    private void start() {
+        try {
+            socket = new DatagramSocket(0, InetAddress.getByName(null));
+        } catch (IOException e) {
+            LOGGER.debug("Could not listen for file lock release requests. Falling back to polling.", e);
+            failed = true;
+            return;
+        }
+        final DatagramSocket socket = this.socket;
+        listener = new Thread(new Runnable() {
+            public void run() {
+                receiveMessages(socket);
+            }
+        }, "File lock request listener");
+        // Must not keep the process alive
+        listener.setDaemon(true);
+        listener.start();
+    }
+
+    public void lockAcquired(String lockId, Runnable whenContended) {
+        synchronized (lock) {
+            contendedActions.put(lockId, whenContended);
+        }
+    }
+
+    public void lockReleased(String lockId) {
+        Set<SocketAddress> addresses;
+        synchronized (lock) {
+            contendedActions.remove(lockId);
+            addresses = waiters.remove(lockId);
+        }
+        if (addresses == null) {
+            return;
+        }
+        for (SocketAddress address : addresses) {
+            send(RELEASED, lockId, address);
+        }
+    }
+
+    public void requestRelease(int ownerPort, String lockId) {
+        if (ownerPort <= 0 || getPort() < 0) {
+            return;
+        }
+        try {
+            send(REQUEST_RELEASE, lockId, new InetSocketAddress(InetAddress.getByName(null), ownerPort));
+        } catch (UnknownHostException e) {
+            LOGGER.debug("Could not send release request for lock {}.", lockId, e);
+        }
+    }
+
+    public long getReleaseCount() {
+        synchronized (lock) {
+            return releaseCount;
+        }
+    }
+
+    public void waitForRelease(long releaseCount, long maxWaitMillis) throws InterruptedException {
+        long expiry = System.currentTimeMillis() + maxWaitMillis;
+        synchronized (lock) {
+            while (this.releaseCount == releaseCount) {
+                long remaining = expiry - System.currentTimeMillis();
+                if (remaining <= 0) {
+                    return;
+                }
+                lock.wait(remaining);
+            }
+        }
+    }
+
+    public void stop() {
+        DatagramSocket socket;
+        Thread listener;
+        synchronized (lock) {
+            stopped = true;
+            socket = this.socket;
+            listener = this.listener;
+            this.socket = null;
+            this.listener = null;
+            contendedActions.clear();
+            waiters.clear();
+            lock.notifyAll();
+        }
+        if (socket != null) {
+            socket.close();
+            try {
+                listener.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void send(byte type, String lockId, SocketAddress address) {
+        DatagramSocket socket;
+        synchronized (lock) {
+            socket = this.socket;
+        }
+        if (socket == null) {
+            return;
+        }
+        try {
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+            DataOutputStream dataOutput = new DataOutputStream(outputStream);
+            dataOutput.writeByte(type);
+            dataOutput.writeUTF(lockId);
+            dataOutput.close();
+            byte[] buffer = outputStream.toByteArray();
+            socket.send(new DatagramPacket(buffer, buffer.length, address));
+        } catch (IOException e) {
+            LOGGER.debug(String.format("Could not send file lock message for lock %s to %s.", lockId, address), e);
+        }
+    }
+
+    private void receiveMessages(DatagramSocket socket) {
+        byte[] buffer = new byte[MAX_MESSAGE_SIZE];
+        while (true) {
+            DatagramPacket packet = new DatagramPacket(buffer, buffer.length);
+            try {
+                socket.receive(packet);
+            } catch (IOException e) {
+                // Assume closed
+                return;
+            }
+            byte type;
+            String lockId;
+            try {
+                DataInputStream input = new DataInputStream(new ByteArrayInputStream(packet.getData(), packet.getOffset(), packet.getLength()));
+                type = input.readByte();
+                lockId = input.readUTF();
+            } catch (IOException e) {
+                LOGGER.debug("Ignoring malformed file lock message.", e);
+                continue;
+            }
+            if (type == REQUEST_RELEASE) {
+                onReleaseRequested(lockId, packet.getSocketAddress());
+            } else if (type == RELEASED) {
+                synchronized (lock) {
+                    releaseCount++;
+                    lock.notifyAll();
+                }
+            }
+        }
+    }
+
+    private void onReleaseRequested(String lockId, SocketAddress requester) {
+        Runnable whenContended;
+        synchronized (lock) {
+            whenContended = contendedActions.get(lockId);
+            if (whenContended != null) {
+                Set<SocketAddress> addresses = waiters.get(lockId);
+                if (addresses == null) {
+                    addresses = new HashSet<SocketAddress>();
+                    waiters.put(lockId, addresses);
+                }
+                addresses.add(requester);
+            }
+        }
+        if (whenContended == null) {
+            // Not held by this process, perhaps released since the requester looked, so let the requester try again straight away
+            send(RELEASED, lockId, requester);
+            return;
+        }
+        try {
+            whenContended.run();
+        } catch (Throwable t) {
+            LOGGER.debug("Could not handle release request for lock {}.", lockId, t);
+        }
+    }
+}
@@ -25,36 +25,76 @@ import java.io.EOFException;
 import java.io.File;
 import java.io.IOException;
 import java.io.RandomAccessFile;
+import java.util.Random;
 import java.util.Set;
 import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
- * Uses file system locks on a lock file per target file. Each lock file is made up of 2 regions:
+ * Uses file system locks on a lock file per target file. Each lock file is made up of 3 regions:
  *
  * <ul> <li>State region: 1 byte version field, 1 byte clean flag.</li> <li>Owner information region: 1 byte version field, utf-8 encoded owner process id, utf-8 encoded owner operation display
- * name.</li> </ul>
+ * name, 4 byte port on which the owner listens for release requests. Padded with zeros to the end of the region.</li> <li>Target version region: 8 byte
+ * target version. The target version is changed each time an exclusive lock is acquired, so that a process can tell whether another process has locked
+ * the target since it last did so.</li> </ul>
+ *
+ * <p>The target version region follows the owner information region, so that older versions, which only know about the first 2 regions, can still
+ * share the lock file. Older versions truncate the file after the owner information, which discards the target version, so that the target is then
+ * treated as updated.</p>
+ *
+ * <p>A process which cannot acquire a lock asks the owner to release it, using a {@link FileLockContentionHandler}, and polls the lock at a low rate
+ * in case the owner does not listen for requests or the notification is lost.</p>
  */
 public class DefaultFileLockManager implements FileLockManager {
     private static final Logger LOGGER = LoggerFactory.getLogger(DefaultFileLockManager.class);
     private static final int DEFAULT_LOCK_TIMEOUT = 60000;
+    private static final long LOCK_POLL_INTERVAL = 200L;
     private static final byte STATE_REGION_PROTOCOL = 1;
     private static final int STATE_REGION_SIZE = 2;
     private static final int STATE_REGION_POS = 0;
     private static final byte INFORMATION_REGION_PROTOCOL = 2;
     private static final int INFORMATION_REGION_POS = STATE_REGION_POS + STATE_REGION_SIZE;
     public static final int INFORMATION_REGION_SIZE = 2048;
-    public static final int INFORMATION_REGION_DESCR_CHUNK_LIMIT = 340;
+    private static final int VERSION_REGION_POS = INFORMATION_REGION_SIZE;
+    private static final int VERSION_REGION_SIZE = 8;
+    private static final long UNKNOWN_VERSION = 0;
+    public static final int INFORMATION_REGION_DESCR_CHUNK_LIMIT = 339;
+    private static final Runnable NO_OP = new Runnable() {
+        public void run() {
+        }
+    };
     private final Set<File> lockedFiles = new CopyOnWriteArraySet<File>();
+    private final Random random = new Random();
     private final ProcessMetaDataProvider metaDataProvider;
     private final int lockTimeoutMs;
+    private final FileLockContentionHandler contentionHandler;
+    private final AtomicLong contendedLockCount = new AtomicLong();
+    private final AtomicLong lockWaitTimeMs = new AtomicLong();
 
     public DefaultFileLockManager(ProcessMetaDataProvider metaDataProvider) {
         this(metaDataProvider, DEFAULT_LOCK_TIMEOUT);
     }
 
     public DefaultFileLockManager(ProcessMetaDataProvider metaDataProvider, int lockTimeoutMs) {
+        this(metaDataProvider, lockTimeoutMs, new NoOpFileLockContentionHandler());
+    }
+
+    public DefaultFileLockManager(ProcessMetaDataProvider metaDataProvider, FileLockContentionHandler contentionHandler) {
+        this(metaDataProvider, DEFAULT_LOCK_TIMEOUT, contentionHandler);
+    }
+
+    public DefaultFileLockManager(ProcessMetaDataProvider metaDataProvider, int lockTimeoutMs, FileLockContentionHandler contentionHandler) {
         this.metaDataProvider = metaDataProvider;
         this.lockTimeoutMs = lockTimeoutMs;
+        this.contentionHandler = contentionHandler;
+    }
+
+    public long getContendedLockCount() {
+        return contendedLockCount.get();
+    }
+
+    public long getLockWaitTime() {
+        return lockWaitTimeMs.get();
     }
 
     public FileLock lock(File target, LockMode mode, String targetDisplayName) throws LockTimeoutException {
@@ -62,6 +102,10 @@ public class DefaultFileLockManager implements FileLockManager {
     }
 
     public FileLock lock(File target, LockMode mode, String targetDisplayName, String operationDisplayName) {
+        return lock(target, mode, targetDisplayName, operationDisplayName, null);
+    }
+
+    public FileLock lock(File target, LockMode mode, String targetDisplayName, String operationDisplayName, Runnable whenContended) {
         if (mode == LockMode.None) {
             throw new UnsupportedOperationException(String.format("No %s mode lock implementation available.", mode));
         }
@@ -70,7 +114,7 @@ public class DefaultFileLockManager implements FileLockManager {
             throw new IllegalStateException(String.format("Cannot lock %s as it has already been locked by this process.", targetDisplayName));
         }
         try {
-            return new DefaultFileLock(canonicalTarget, mode, targetDisplayName, operationDisplayName);
+            return new DefaultFileLock(canonicalTarget, mode, targetDisplayName, operationDisplayName, whenContended);
         } catch (Throwable t) {
             lockedFiles.remove(canonicalTarget);
             throw UncheckedException.throwAsUncheckedException(t);
@@ -86,8 +130,11 @@ public class DefaultFileLockManager implements FileLockManager {
         private java.nio.channels.FileLock lock;
         private RandomAccessFile lockFileAccess;
         private boolean integrityViolated;
+        private long previousVersion = UNKNOWN_VERSION;
+        private long version = UNKNOWN_VERSION;
+        private boolean contended;
 
-        public DefaultFileLock(File target, LockMode mode, String displayName, String operationDisplayName) throws Throwable {
+        public DefaultFileLock(File target, LockMode mode, String displayName, String operationDisplayName, Runnable whenContended) throws Throwable {
             if (mode == LockMode.None) {
                 throw new UnsupportedOperationException("Locking mode None is not supported.");
             }
@@ -115,6 +162,9 @@ public class DefaultFileLockManager implements FileLockManager {
             }
 
             this.mode = lock.isShared() ? LockMode.Shared : LockMode.Exclusive;
+            if (this.mode == LockMode.Exclusive) {
+                contentionHandler.lockAcquired(lockFile.getPath(), whenContended != null ? whenContended : NO_OP);
+            }
         }
 
         public boolean isLockFile(File file) {
@@ -184,16 +234,17 @@ public class DefaultFileLockManager implements FileLockManager {
         }
 
         private void markClean() throws IOException {
-            lockFileAccess.seek(STATE_REGION_POS);
-            lockFileAccess.writeByte(STATE_REGION_PROTOCOL);
-            lockFileAccess.writeBoolean(true);
-            assert lockFileAccess.getFilePointer() == STATE_REGION_SIZE + STATE_REGION_POS;
+            writeStateRegion(true);
         }
 
         private void markDirty() throws IOException {
+            writeStateRegion(false);
+        }
+
+        private void writeStateRegion(boolean clean) throws IOException {
             lockFileAccess.seek(STATE_REGION_POS);
             lockFileAccess.writeByte(STATE_REGION_PROTOCOL);
-            lockFileAccess.writeBoolean(false);
+            lockFileAccess.writeBoolean(clean);
             assert lockFileAccess.getFilePointer() == STATE_REGION_SIZE + STATE_REGION_POS;
         }
 
@@ -207,11 +258,14 @@ public class DefaultFileLockManager implements FileLockManager {
                 // Also releases any locks
                 try {
                     if (lock != null && !lock.isShared()) {
-                        // Discard information region
-                        lockFileAccess.setLength(INFORMATION_REGION_POS);
+                        // Discard owner information, keeping the target version
+                        writeInformationRegion("", "", -1);
                     }
                 } finally {
                     lockFileAccess.close();
+                    if (lock != null && !lock.isShared()) {
+                        contentionHandler.lockReleased(lockFile.getPath());
+                    }
                 }
             } catch (IOException e) {
                 LOGGER.warn("Error releasing lock on {}: {}", displayName, e);
@@ -225,12 +279,24 @@ public class DefaultFileLockManager implements FileLockManager {
             return mode;
         }
 
+        public State getState() {
+            assertOpen();
+            return new DefaultFileLockState(previousVersion, version);
+        }
+
         private java.nio.channels.FileLock lock(FileLockManager.LockMode lockMode) throws Throwable {
             LOGGER.debug("Waiting to acquire {} lock on {}.", lockMode.toString().toLowerCase(), displayName);
-            long timeout = System.currentTimeMillis() + lockTimeoutMs;
+            long start = System.currentTimeMillis();
+            long timeout = start + lockTimeoutMs;
 
-            // Lock the state region, with the requested mode
+            // Lock the state region, with the requested mode, asking the owner to let us know when it releases the lock
             java.nio.channels.FileLock stateRegionLock = lockStateRegion(lockMode, timeout);
+            if (contended) {
+                long waitTime = System.currentTimeMillis() - start;
+                contendedLockCount.incrementAndGet();
+                lockWaitTimeMs.addAndGet(waitTime);
+                LOGGER.debug("Waited {} ms for {} lock on {}.", new Object[]{waitTime, lockMode.toString().toLowerCase(), displayName});
+            }
             if (stateRegionLock == null) {
                 // Can't acquire lock, get details of owner to include in the error message
                 String ownerPid = "unknown";
@@ -247,8 +313,11 @@ public class DefaultFileLockManager implements FileLockManager {
                             if (lockFileAccess.readByte() != INFORMATION_REGION_PROTOCOL) {
                                 throw new IllegalStateException(String.format("Unexpected lock protocol found in lock file '%s' for %s.", lockFile, displayName));
                             }
-                            ownerPid = lockFileAccess.readUTF();
-                            ownerOperation = lockFileAccess.readUTF();
+                            String pid = lockFileAccess.readUTF();
+                            if (pid.length() > 0) {
+                                ownerPid = pid;
+                                ownerOperation = lockFileAccess.readUTF();
+                            }
                         }
                     } finally {
                         informationRegionLock.release();
@@ -266,6 +335,11 @@ public class DefaultFileLockManager implements FileLockManager {
                         throw new IllegalStateException(String.format("Unexpected lock protocol found in lock file '%s' for %s.", lockFile, displayName));
                     }
                 }
+                if (lockFileAccess.length() >= VERSION_REGION_POS + VERSION_REGION_SIZE) {
+                    lockFileAccess.seek(VERSION_REGION_POS);
+                    previousVersion = lockFileAccess.readLong();
+                }
+                version = previousVersion;
 
                 if (!stateRegionLock.isShared()) {
                     // We have an exclusive lock (whether we asked for it or not).
@@ -276,6 +350,10 @@ public class DefaultFileLockManager implements FileLockManager {
                         lockFileAccess.writeByte(STATE_REGION_PROTOCOL);
                         lockFileAccess.writeBoolean(false);
                     }
+                    // Assign a new version to the target, so that other processes can tell that we may have updated it
+                    version = newVersion();
+                    lockFileAccess.seek(VERSION_REGION_POS);
+                    lockFileAccess.writeLong(version);
                     // Acquire an exclusive lock on the information region and write our details there
                     java.nio.channels.FileLock informationRegionLock = lockInformationRegion(LockMode.Exclusive, timeout);
                     if (informationRegionLock == null) {
@@ -283,11 +361,7 @@ public class DefaultFileLockManager implements FileLockManager {
                     }
                     // check that the length of the reserved region is enough for storing our content
                     try {
-                        lockFileAccess.seek(INFORMATION_REGION_POS);
-                        lockFileAccess.writeByte(INFORMATION_REGION_PROTOCOL);
-                        lockFileAccess.writeUTF(trimIfNecessary(metaDataProvider.getProcessIdentifier()));
-                        lockFileAccess.writeUTF(trimIfNecessary(operationDisplayName));
-                        lockFileAccess.setLength(lockFileAccess.getFilePointer());
+                        writeInformationRegion(metaDataProvider.getProcessIdentifier(), operationDisplayName, contentionHandler.getPort());
                     } finally {
                         informationRegionLock.release();
                     }
@@ -301,6 +375,24 @@ public class DefaultFileLockManager implements FileLockManager {
             return stateRegionLock;
         }
 
+        private void writeInformationRegion(String ownerPid, String ownerOperation, int ownerPort) throws IOException {
+            lockFileAccess.seek(INFORMATION_REGION_POS);
+            lockFileAccess.writeByte(INFORMATION_REGION_PROTOCOL);
+            lockFileAccess.writeUTF(trimIfNecessary(ownerPid));
+            lockFileAccess.writeUTF(trimIfNecessary(ownerOperation));
+            lockFileAccess.writeInt(ownerPort);
+            // Overwrite anything left by a previous owner, up to the target version region
+            lockFileAccess.write(new byte[(int) (VERSION_REGION_POS - lockFileAccess.getFilePointer())]);
+        }
+
+        private long newVersion() {
+            long newVersion;
+            do {
+                newVersion = random.nextLong();
+            } while (newVersion == UNKNOWN_VERSION || newVersion == previousVersion);
+            return newVersion;
+        }
+
         private String trimIfNecessary(String inputString) {
             if(inputString.length() > INFORMATION_REGION_DESCR_CHUNK_LIMIT){
                 return inputString.substring(0, INFORMATION_REGION_DESCR_CHUNK_LIMIT);
@@ -310,7 +402,48 @@ public class DefaultFileLockManager implements FileLockManager {
         }
 
         private java.nio.channels.FileLock lockStateRegion(LockMode lockMode, long timeout) throws IOException, InterruptedException {
-            return lockRegion(lockMode, timeout, STATE_REGION_POS, STATE_REGION_SIZE);
+            do {
+                long releaseCount = contentionHandler.getReleaseCount();
+                java.nio.channels.FileLock fileLock = lockFileAccess.getChannel().tryLock(STATE_REGION_POS, STATE_REGION_SIZE, lockMode == LockMode.Shared);
+                if (fileLock != null) {
+                    return fileLock;
+                }
+                contended = true;
+                contentionHandler.requestRelease(readOwnerPort(), lockFile.getPath());
+                contentionHandler.waitForRelease(releaseCount, LOCK_POLL_INTERVAL);
+            } while (System.currentTimeMillis() < timeout);
+            return null;
+        }
+
+        /**
+         * Returns the port on which the owner of the lock listens for release requests, or -1 when not known. Does not block.
+         */
+        private int readOwnerPort() throws IOException {
+            java.nio.channels.FileLock informationRegionLock = lockFileAccess.getChannel().tryLock(INFORMATION_REGION_POS, INFORMATION_REGION_SIZE - INFORMATION_REGION_POS, true);
+            if (informationRegionLock == null) {
+                return -1;
+            }
+            try {
+                if (lockFileAccess.length() <= INFORMATION_REGION_POS) {
+                    return -1;
+                }
+                lockFileAccess.seek(INFORMATION_REGION_POS);
+                if (lockFileAccess.readByte() != INFORMATION_REGION_PROTOCOL) {
+                    return -1;
+                }
+                // Older versions do not write a port, and truncate the file after the owner information
+                if (lockFileAccess.length() < VERSION_REGION_POS) {
+                    return -1;
+                }
+                lockFileAccess.readUTF();
+                lockFileAccess.readUTF();
+                return lockFileAccess.readInt();
+            } catch (EOFException e) {
+                // Owner is still writing the information region
+                return -1;
+            } finally {
+                informationRegionLock.release();
+            }
         }
 
         private java.nio.channels.FileLock lockInformationRegion(LockMode lockMode, long timeout) throws IOException, InterruptedException {
@@ -323,9 +456,27 @@ public class DefaultFileLockManager implements FileLockManager {
                 if (fileLock != null) {
                     return fileLock;
                 }
-                Thread.sleep(200L);
+                Thread.sleep(LOCK_POLL_INTERVAL);
             } while (System.currentTimeMillis() < timeout);
             return null;
         }
     }
-}
\ No newline at end of file
+
+    private static class DefaultFileLockState implements FileLock.State {
+        private final long previousVersion;
+        private final long version;
+
+        private DefaultFileLockState(long previousVersion, long version) {
+            this.previousVersion = previousVersion;
+            this.version = version;
+        }
+
+        public boolean hasBeenUpdatedSince(FileLock.State state) {
+            if (previousVersion == UNKNOWN_VERSION) {
+                return true;
+            }
+            // The target has not been locked by anyone else if the version was not changed after the given state was taken
+            return ((DefaultFileLockState) state).version != previousVersion;
+        }
+    }
+}
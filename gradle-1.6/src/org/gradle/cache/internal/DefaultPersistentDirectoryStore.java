@@ -118,6 +118,10 @@ public class DefaultPersistentDirectoryStore implements ReferencablePersistentCa
         return cacheAccess.newCache(cacheFile, keyType, valueType);
     }
 
+    public <K, V> PersistentIndexedCache<K, V> createCache(File cacheFile, Serializer<K> keySerializer, Serializer<V> valueSerializer, CacheDecorator decorator) {
+        return cacheAccess.newCache(cacheFile, keySerializer, valueSerializer, decorator);
+    }
+
     public <K, V> PersistentIndexedCache<K, V> createCache(File cacheFile, Class<K> keyType, Serializer<V> valueSerializer) {
         return cacheAccess.newCache(cacheFile, keyType, valueSerializer);
     }
@@ -41,4 +41,18 @@ public interface FileLock extends Closeable, FileAccess {
      * The actual mode of the lock. May be different to what was requested.
      */
     FileLockManager.LockMode getMode();
+
+    /**
+     * Returns the state of the target file, as seen by this lock. The returned value can be used to determine whether the target file has been
+     * updated by another lock holder, in this or any other process, between this lock and some later lock on the same target.
+     */
+    State getState();
+
+    interface State {
+        /**
+         * Returns true if the target file may have been updated by some other lock holder since the given state was taken. The given state must have
+         * been returned by an earlier lock on the same target.
+         */
+        boolean hasBeenUpdatedSince(State state);
+    }
 }
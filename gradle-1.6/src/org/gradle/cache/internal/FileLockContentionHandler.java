@@ -0,0 +1,54 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.cache.internal;
+
+/**
+ * Lets processes which are waiting for a file lock ask the owner of the lock to release it, and find out as soon as the lock is released.
+ */
+public interface FileLockContentionHandler {
+    /**
+     * Called when this process has acquired the given lock. The given action is called, from some other thread, when another process asks for the lock.
+     */
+    void lockAcquired(String lockId, Runnable whenContended);
+
+    /**
+     * Called when this process has released the given lock. Lets every process which asked for the lock know that it has been released.
+     */
+    void lockReleased(String lockId);
+
+    /**
+     * Returns the port which this process listens on for release requests, or -1 when it does not listen for requests.
+     */
+    int getPort();
+
+    /**
+     * Asks the process listening on the given port to release the given lock, and to let this process know when it has done so.
+     */
+    void requestRelease(int ownerPort, String lockId);
+
+    /**
+     * Returns a value which changes each time another process lets this process know it has released a lock.
+     */
+    long getReleaseCount();
+
+    /**
+     * Blocks until another process lets this process know it has released a lock, or the given time has passed.
+     *
+     * @param releaseCount The value returned by {@link #getReleaseCount()} before the lock was last found to be unavailable.
+     */
+    void waitForRelease(long releaseCount, long maxWaitMillis) throws InterruptedException;
+}
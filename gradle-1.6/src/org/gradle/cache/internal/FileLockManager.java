@@ -39,6 +39,29 @@ public interface FileLockManager {
      */
     FileLock lock(File target, LockMode mode, String targetDisplayName, String operationDisplayName) throws LockTimeoutException;
 
+    /**
+     * Creates a locks for the given file with the given mode. Acquires a lock with the given mode, which is held until the lock is
+     * released by calling {@link org.gradle.cache.internal.FileLock#close()}. This method blocks until the lock can be acquired.
+     *
+     * @param target The file to be locked.
+     * @param mode The lock mode.
+     * @param targetDisplayName A display name for the target file. This is used in log and error messages.
+     * @param operationDisplayName A display name for the operation being performed on the target file. This is used in log and error messages.
+     * @param whenContended Called, from some other thread, when another process asks for the lock. The holder should release the lock at its next
+     * safe point. May be null.
+     */
+    FileLock lock(File target, LockMode mode, String targetDisplayName, String operationDisplayName, Runnable whenContended) throws LockTimeoutException;
+
+    /**
+     * Returns the number of locks which could not be acquired immediately because another process held them, since this manager was created.
+     */
+    long getContendedLockCount();
+
+    /**
+     * Returns the total time, in milliseconds, spent waiting for other processes to release locks, since this manager was created.
+     */
+    long getLockWaitTime();
+
     enum LockMode {
         /**
          * No synchronisation is done.
@@ -1,5 +1,5 @@
 /*
- * Copyright 2011 the original author or authors.
+ * Copyright 2013 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -15,88 +15,13 @@
  */
 package org.gradle.cache.internal;
 
-import org.gradle.internal.Factory;
 import org.gradle.cache.PersistentIndexedCache;
-import org.gradle.cache.internal.btree.BTreePersistentIndexedCache;
 
 import java.io.Closeable;
 
-public class MultiProcessSafePersistentIndexedCache<K, V> implements PersistentIndexedCache<K, V>, UnitOfWorkParticipant, Closeable {
-    private final FileAccess fileAccess;
-    private final Factory<BTreePersistentIndexedCache<K, V>> factory;
-    private BTreePersistentIndexedCache<K, V> cache;
-
-    public MultiProcessSafePersistentIndexedCache(Factory<BTreePersistentIndexedCache<K, V>> factory, FileAccess fileAccess) {
-        this.factory = factory;
-        this.fileAccess = fileAccess;
-    }
-
-    public V get(final K key) {
-        final PersistentIndexedCache<K, V> cache = getCache();
-        try {
-            return fileAccess.readFile(new Factory<V>() {
-                public V create() {
-                    return cache.get(key);
-                }
-            });
-        } catch (FileIntegrityViolationException e) {
-            return null;
-        }
-    }
-
-    public void put(final K key, final V value) {
-        final PersistentIndexedCache<K, V> cache = getCache();
-        // Use writeFile because the cache can internally recover from datafile
-        // corruption, so we don't care at this level if it's corrupt
-        fileAccess.writeFile(new Runnable() {
-            public void run() {
-                cache.put(key, value);
-            }
-        });
-    }
-
-    public void remove(final K key) {
-        final PersistentIndexedCache<K, V> cache = getCache();
-        // Use writeFile because the cache can internally recover from datafile
-        // corruption, so we don't care at this level if it's corrupt
-        fileAccess.writeFile(new Runnable() {
-            public void run() {
-                cache.remove(key);
-            }
-        });
-    }
-
-    public void onStartWork(String operationDisplayName) {
-    }
-
-    public void onEndWork() {
-        close();
-    }
-
-    public void close() {
-        if (cache != null) {
-            try {
-                fileAccess.writeFile(new Runnable() {
-                    public void run() {
-                        cache.close();
-                    }
-                });
-            } finally {
-                cache = null;
-            }
-        }
-    }
-
-    private PersistentIndexedCache<K, V> getCache() {
-        if (cache == null) {
-            // Use writeFile because the cache can internally recover from datafile
-            // corruption, so we don't care at this level if it's corrupt
-            fileAccess.writeFile(new Runnable() {
-                public void run() {
-                    cache = factory.create();
-                }
-            });
-        }
-        return cache;
-    }
+/**
+ * A {@link PersistentIndexedCache} that takes part in the units of work of the cache that contains it.
+ */
+public interface MultiProcessSafePersistentIndexedCache<K, V> extends PersistentIndexedCache<K, V>, UnitOfWorkParticipant, Closeable {
+    void close();
 }
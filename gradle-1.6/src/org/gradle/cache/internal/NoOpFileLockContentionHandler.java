@@ -0,0 +1,43 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.cache.internal;
+
+/**
+ * Used by short-lived processes. Does not listen for release requests, so processes waiting for a lock simply poll it.
+ */
+public class NoOpFileLockContentionHandler implements FileLockContentionHandler {
+    public void lockAcquired(String lockId, Runnable whenContended) {
+    }
+
+    public void lockReleased(String lockId) {
+    }
+
+    public int getPort() {
+        return -1;
+    }
+
+    public void requestRelease(int ownerPort, String lockId) {
+    }
+
+    public long getReleaseCount() {
+        return 0;
+    }
+
+    public void waitForRelease(long releaseCount, long maxWaitMillis) throws InterruptedException {
+        Thread.sleep(maxWaitMillis);
+    }
+}
@@ -21,11 +21,16 @@ package org.gradle.cache.internal;
 public interface UnitOfWorkParticipant {
     /**
      * Called just after the cache is locked. Called before any work has been performed.
+     *
+     * @param currentCacheState The state of the cache, which can be compared with the state passed to an earlier call to {@link #onEndWork(FileLock.State)}
+     * to determine whether the cache has been updated by some other process in the meantime.
      */
-    void onStartWork(String operationDisplayName);
+    void onStartWork(String operationDisplayName, FileLock.State currentCacheState);
 
     /**
      * Called just before the cache is to be unlocked. Called after all work has been completed.
+     *
+     * @param currentCacheState The state of the cache.
      */
-    void onEndWork();
+    void onEndWork(FileLock.State currentCacheState);
 }
@@ -29,7 +29,6 @@ import org.gradle.internal.graph.DirectedGraph;
 import org.gradle.internal.graph.DirectedGraphRenderer;
 import org.gradle.internal.graph.GraphNodeRenderer;
 import org.gradle.logging.StyledTextOutput;
-import org.gradle.util.CollectionUtils;
 
 import java.io.StringWriter;
 import java.util.*;
@@ -54,46 +53,54 @@ class DefaultTaskExecutionPlan implements TaskExecutionPlan {
     private final List<String> runningProjects = new ArrayList<String>();
 
     public void addToTaskGraph(Collection<? extends Task> tasks) {
-        List<Task> queue = new ArrayList<Task>(tasks);
-        Collections.sort(queue);
-        for (Task task : queue) {
-            entryTasks.add(graph.addNode(task));
+        List<Task> entryTaskList = new ArrayList<Task>(tasks);
+        Collections.sort(entryTaskList);
+        Deque<TaskInfo> queue = new ArrayDeque<TaskInfo>(entryTaskList.size());
+        for (Task task : entryTaskList) {
+            TaskInfo node = graph.addNode(task);
+            entryTasks.add(node);
+            queue.addLast(node);
         }
-        Set<Task> visiting = new HashSet<Task>();
+        BitSet visiting = new BitSet();
+        // The dependencies of each task currently being visited, so that they are resolved only once
+        Map<TaskInfo, Set<? extends Task>> visitingDependencies = new HashMap<TaskInfo, Set<? extends Task>>();
         CachingTaskDependencyResolveContext context = new CachingTaskDependencyResolveContext();
 
         while (!queue.isEmpty()) {
-            Task task = queue.get(0);
-            TaskInfo node = graph.addNode(task);
+            TaskInfo node = queue.getFirst();
             if (node.getRequired()) {
                 // Have already visited this task - skip it
-                queue.remove(0);
+                queue.removeFirst();
                 continue;
             }
+            Task task = node.getTask();
             boolean filtered = !filter.isSatisfiedBy(task);
             if (filtered) {
                 // Task is not required - skip it
-                queue.remove(0);
+                queue.removeFirst();
                 continue;
             }
 
-            if (visiting.add(task)) {
+            if (!visiting.get(node.getId())) {
                 // Have not seen this task before - add its dependencies to the head of the queue and leave this
                 // task in the queue
+                visiting.set(node.getId());
                 Set<? extends Task> dependsOnTasks = context.getDependencies(task);
+                visitingDependencies.put(node, dependsOnTasks);
                 for (Task dependsOnTask : dependsOnTasks) {
-                    if (visiting.contains(dependsOnTask)) {
+                    TaskInfo dependsOnNode = graph.addNode(dependsOnTask);
+                    if (visiting.get(dependsOnNode.getId())) {
                         // A cycle - skip the task and keep building the graph. The cycle is reported later (with more detail)
                         continue;
                     }
-                    queue.add(0, dependsOnTask);
+                    queue.addFirst(dependsOnNode);
                 }
             } else {
                 // Have visited this task's dependencies - add it to the graph
-                queue.remove(0);
-                visiting.remove(task);
+                queue.removeFirst();
+                visiting.clear(node.getId());
                 node.setRequired(true);
-                Set<? extends Task> dependencies = context.getDependencies(task);
+                Set<? extends Task> dependencies = visitingDependencies.remove(node);
                 for (Task dependency : dependencies) {
                     graph.addHardEdge(node, dependency);
                 }
@@ -104,45 +111,45 @@ class DefaultTaskExecutionPlan implements TaskExecutionPlan {
         }
     }
 
-    private <T> void addAllReversed(List<T> list, TreeSet<T> set) {
-        List<T> elements = CollectionUtils.toList(set);
-        Collections.reverse(elements);
-        list.addAll(elements);
-    }
-
     public void determineExecutionPlan() {
-        List<TaskInfo> nodeQueue = new ArrayList<TaskInfo>(entryTasks);
+        Deque<TaskInfo> nodeQueue = new ArrayDeque<TaskInfo>(entryTasks);
 
-        Set<TaskInfo> visitingNodes = new HashSet<TaskInfo>();
+        BitSet visitingNodes = new BitSet();
         while (!nodeQueue.isEmpty()) {
-            TaskInfo taskNode = nodeQueue.get(0);
+            TaskInfo taskNode = nodeQueue.getFirst();
 
             if (!taskNode.getRequired() || executionPlan.containsKey(taskNode.getTask())) {
-                nodeQueue.remove(0);
+                nodeQueue.removeFirst();
                 continue;
             }
 
-            if (visitingNodes.add(taskNode)) {
+            if (!visitingNodes.get(taskNode.getId())) {
                 // Have not seen this task before - add its dependencies to the head of the queue and leave this
-                // task in the queue
-                ArrayList<TaskInfo> dependsOnTasks = new ArrayList<TaskInfo>();
-                addAllReversed(dependsOnTasks, taskNode.getHardSuccessors());
-                addAllReversed(dependsOnTasks, taskNode.getSoftSuccessors());
-                for (TaskInfo dependsOnTask : dependsOnTasks) {
-                    if (visitingNodes.contains(dependsOnTask)) {
-                        onOrderingCycle();
-                    }
-                    nodeQueue.add(0, dependsOnTask);
-                }
+                // task in the queue. The dependencies are added in reverse order, so that they are visited in order,
+                // with soft dependencies visited first
+                visitingNodes.set(taskNode.getId());
+                addAllReversed(nodeQueue, taskNode.getHardSuccessors(), visitingNodes);
+                addAllReversed(nodeQueue, taskNode.getSoftSuccessors(), visitingNodes);
             } else {
                 // Have visited this task's dependencies - add it to the end of the plan
-                nodeQueue.remove(0);
-                visitingNodes.remove(taskNode);
+                nodeQueue.removeFirst();
+                visitingNodes.clear(taskNode.getId());
                 executionPlan.put(taskNode.getTask(), taskNode);
             }
         }
     }
 
+    private void addAllReversed(Deque<TaskInfo> queue, TreeSet<TaskInfo> dependsOnTasks, BitSet visitingNodes) {
+        Iterator<TaskInfo> iterator = dependsOnTasks.descendingIterator();
+        while (iterator.hasNext()) {
+            TaskInfo dependsOnTask = iterator.next();
+            if (visitingNodes.get(dependsOnTask.getId())) {
+                onOrderingCycle();
+            }
+            queue.addFirst(dependsOnTask);
+        }
+    }
+
     private void onOrderingCycle() {
         CachingDirectedGraphWalker<TaskInfo, Void> graphWalker = new CachingDirectedGraphWalker<TaskInfo, Void>(new DirectedGraph<TaskInfo, Void>() {
             public void getNodeValues(TaskInfo node, Collection<? super Void> values, Collection<? super TaskInfo> connectedNodes) {
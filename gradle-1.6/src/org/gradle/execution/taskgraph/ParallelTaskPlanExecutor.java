@@ -25,6 +25,8 @@ import org.gradle.api.logging.Logging;
 import org.gradle.internal.concurrent.DefaultExecutorFactory;
 import org.gradle.internal.concurrent.ExecutorFactory;
 import org.gradle.internal.concurrent.StoppableExecutor;
+import org.gradle.profile.TraceRecorder;
+import org.gradle.profile.TraceSpan;
 
 import java.util.ArrayList;
 import java.util.LinkedHashSet;
@@ -37,14 +39,16 @@ class ParallelTaskPlanExecutor extends DefaultTaskPlanExecutor {
     private static final Logger LOGGER = Logging.getLogger(ParallelTaskPlanExecutor.class);
 
     private final TaskArtifactStateCacheAccess stateCacheAccess;
+    private final TraceRecorder traceRecorder;
     private final int executorCount;
 
-    public ParallelTaskPlanExecutor(TaskArtifactStateCacheAccess cacheAccess, int numberOfParallelExecutors) {
+    public ParallelTaskPlanExecutor(TaskArtifactStateCacheAccess cacheAccess, TraceRecorder traceRecorder, int numberOfParallelExecutors) {
         if (numberOfParallelExecutors < 1) {
             throw new IllegalArgumentException("Not a valid number of parallel executors: " + numberOfParallelExecutors);
         }
 
         this.stateCacheAccess = cacheAccess;
+        this.traceRecorder = traceRecorder;
         this.executorCount = numberOfParallelExecutors;
     }
 
@@ -111,8 +115,10 @@ class ParallelTaskPlanExecutor extends DefaultTaskPlanExecutor {
             final String taskPath = taskInfo.getTask().getPath();
             LOGGER.info(taskPath + " (" + Thread.currentThread() + " - start");
             final long start = System.currentTimeMillis();
+            final TraceSpan lockWait = traceRecorder.start("cache lock wait", taskPath);
             stateCacheAccess.useCache("Executing " + taskPath, new Runnable() {
                 public void run() {
+                    lockWait.end();
                     waitedForCacheMs += System.currentTimeMillis() - start;
                     processTask(taskInfo, taskExecutionPlan, taskListener);
                 }
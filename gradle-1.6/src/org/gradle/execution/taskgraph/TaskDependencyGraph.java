@@ -52,7 +52,7 @@ public class TaskDependencyGraph {
     public TaskInfo addNode(Task task) {
         TaskInfo node = nodes.get(task);
         if (node == null) {
-            node = new TaskInfo((TaskInternal) task);
+            node = new TaskInfo((TaskInternal) task, nodes.size());
             nodes.put(task, node);
         }
         return node;
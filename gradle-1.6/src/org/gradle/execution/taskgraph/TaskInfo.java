@@ -28,13 +28,15 @@ class TaskInfo implements Comparable<TaskInfo> {
     }
 
     private final TaskInternal task;
+    private final int id;
     private TaskExecutionState state;
     private Throwable executionFailure;
     private final TreeSet<TaskInfo> hardSuccessors = new TreeSet<TaskInfo>();
     private final TreeSet<TaskInfo> softSuccessors = new TreeSet<TaskInfo>();
 
-    public TaskInfo(TaskInternal task) {
+    public TaskInfo(TaskInternal task, int id) {
         this.task = task;
+        this.id = id;
         this.state = TaskExecutionState.NOT_REQUIRED;
     }
 
@@ -42,6 +44,13 @@ class TaskInfo implements Comparable<TaskInfo> {
         return task;
     }
 
+    /**
+     * Returns the id of this node, which is unique within its graph. Ids are allocated sequentially, starting at 0.
+     */
+    public int getId() {
+        return id;
+    }
+
     public boolean isReady() {
         return state == TaskExecutionState.READY;
     }
@@ -18,15 +18,18 @@ package org.gradle.execution.taskgraph;
 
 import org.gradle.api.internal.changedetection.state.TaskArtifactStateCacheAccess;
 import org.gradle.internal.Factory;
+import org.gradle.profile.TraceRecorder;
 import org.gradle.util.SingleMessageLogger;
 
 public class TaskPlanExecutorFactory implements Factory<TaskPlanExecutor> {
 
     private final TaskArtifactStateCacheAccess taskArtifactStateCacheAccess;
+    private final TraceRecorder traceRecorder;
     private final int parallelThreads;
 
-    public TaskPlanExecutorFactory(TaskArtifactStateCacheAccess taskArtifactStateCacheAccess, int parallelThreads) {
+    public TaskPlanExecutorFactory(TaskArtifactStateCacheAccess taskArtifactStateCacheAccess, TraceRecorder traceRecorder, int parallelThreads) {
         this.taskArtifactStateCacheAccess = taskArtifactStateCacheAccess;
+        this.traceRecorder = traceRecorder;
         this.parallelThreads = parallelThreads;
     }
 
@@ -34,7 +37,7 @@ public class TaskPlanExecutorFactory implements Factory<TaskPlanExecutor> {
         ExecutionOptions options = new ExecutionOptions(parallelThreads);
         if (options.executeProjectsInParallel()) {
             SingleMessageLogger.informAboutIncubating("Parallel project execution");
-            return new ParallelTaskPlanExecutor(taskArtifactStateCacheAccess, options.numberOfParallelThreads());
+            return new ParallelTaskPlanExecutor(taskArtifactStateCacheAccess, traceRecorder, options.numberOfParallelThreads());
         }
         return new DefaultTaskPlanExecutor();
 
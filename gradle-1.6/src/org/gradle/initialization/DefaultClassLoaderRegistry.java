@@ -46,7 +46,9 @@ public class DefaultClassLoaderRegistry implements ClassLoaderRegistry {
 
         // Add in libs for plugins
         ClassPath pluginsClassPath = classPathRegistry.getClassPath("GRADLE_PLUGINS");
-        MultiParentClassLoader pluginsImports = new MultiParentClassLoader(runtimeClassLoader, coreImplClassLoader);
+        // Core impl delegates to the runtime ClassLoader first, so classes from its packages can be requested from it directly
+        MultiParentClassLoader pluginsImports = new MultiParentClassLoader(runtimeClassLoader);
+        pluginsImports.addParent(coreImplClassLoader, coreImplClassPath);
         pluginsClassLoader = new MutableURLClassLoader(pluginsImports, pluginsClassPath);
 
         rootClassLoader = classLoaderFactory.createFilteringClassLoader(pluginsClassLoader);
@@ -44,6 +44,7 @@ public class DefaultCommandLineConverter extends AbstractCommandLineConverter<St
     private static final String RERUN_TASKS = "rerun-tasks";
     private static final String EXCLUDE_TASK = "x";
     private static final String PROFILE = "profile";
+    private static final String PROFILE_TRACE = "profile-trace";
     private static final String CONTINUE = "continue";
     private static final String OFFLINE = "offline";
     private static final String REFRESH = "refresh";
@@ -81,6 +82,7 @@ public class DefaultCommandLineConverter extends AbstractCommandLineConverter<St
         parser.option(RECOMPILE_SCRIPTS).hasDescription("Force build script recompiling.");
         parser.option(EXCLUDE_TASK, "exclude-task").hasArguments().hasDescription("Specify a task to be excluded from execution.");
         parser.option(PROFILE).hasDescription("Profiles build execution time and generates a report in the <build_dir>/reports/profile directory.");
+        parser.option(PROFILE_TRACE).hasDescription("Records where build time is spent, per thread, and generates a Chrome trace file in the <build_dir>/reports/profile directory.").incubating();
         parser.option(CONTINUE).hasDescription("Continues task execution after a task failure.");
         parser.option(OFFLINE).hasDescription("The build should operate without accessing network resources.");
         parser.option(REFRESH).hasArguments().hasDescription("Refresh the state of resources of the type(s) specified. Currently only 'dependencies' is supported.").deprecated("Use '--refresh-dependencies' instead.");
@@ -168,6 +170,10 @@ public class DefaultCommandLineConverter extends AbstractCommandLineConverter<St
             startParameter.setProfile(true);
         }
 
+        if (options.hasOption(PROFILE_TRACE)) {
+            startParameter.setProfileTrace(true);
+        }
+
         if (options.hasOption(CONTINUE)) {
             startParameter.setContinueOnFailure(true);
         }
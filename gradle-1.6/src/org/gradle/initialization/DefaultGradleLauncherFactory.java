@@ -38,6 +38,8 @@ import org.gradle.logging.ProgressLoggerFactory;
 import org.gradle.logging.StyledTextOutputFactory;
 import org.gradle.profile.ProfileEventAdapter;
 import org.gradle.profile.ReportGeneratingProfileListener;
+import org.gradle.profile.TraceGeneratingProfileListener;
+import org.gradle.profile.TraceRecorder;
 
 import java.util.Arrays;
 
@@ -57,7 +59,7 @@ public class DefaultGradleLauncherFactory implements GradleLauncherFactory {
         this(new GlobalServicesRegistry());
     }
 
-    private DefaultGradleLauncherFactory(GlobalServicesRegistry globalServices) {
+    public DefaultGradleLauncherFactory(GlobalServicesRegistry globalServices) {
         sharedServices = globalServices;
         tracker = new NestedBuildTracker();
 
@@ -123,6 +125,9 @@ public class DefaultGradleLauncherFactory implements GradleLauncherFactory {
         if (startParameter.isProfile()) {
             listenerManager.addListener(new ReportGeneratingProfileListener());
         }
+        if (startParameter.isProfileTrace()) {
+            listenerManager.addListener(new TraceGeneratingProfileListener(serviceRegistry.get(TraceRecorder.class)));
+        }
 
         GradleInternal gradle = serviceRegistry.get(Instantiator.class).newInstance(DefaultGradle.class, tracker.getCurrentBuild(), startParameter, serviceRegistry);
         return new DefaultGradleLauncher(
@@ -0,0 +1,45 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.internal.filewatch;
+
+import org.gradle.internal.Stoppable;
+
+import java.io.File;
+
+/**
+ * Watches directories for changes to their direct children. Changes are queued up until they are collected using {@link #pollChanges()},
+ * so a watcher which lives in a long-running process can report the changes made between builds.
+ */
+public interface FileWatcher extends Stoppable {
+    /**
+     * Starts watching the given directory, if it is not already being watched.
+     *
+     * @return true if the directory is being watched, false if it cannot be watched.
+     */
+    boolean watch(File directory);
+
+    /**
+     * Stops watching the given directory, if it is being watched.
+     */
+    void unwatch(File directory);
+
+    /**
+     * Collects the changes since the previous call to this method. Changed directories, and any watched directories below them, are no
+     * longer watched once they have been reported.
+     */
+    FileWatcherChanges pollChanges();
+}
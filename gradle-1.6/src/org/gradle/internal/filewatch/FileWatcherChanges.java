@@ -0,0 +1,65 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.internal.filewatch;
+
+import java.io.File;
+import java.util.Collections;
+import java.util.Set;
+
+/**
+ * The changes reported by a {@link FileWatcher}.
+ */
+public class FileWatcherChanges {
+    private static final FileWatcherChanges NONE = new FileWatcherChanges(false, Collections.<File>emptySet());
+    private static final FileWatcherChanges OVERFLOW = new FileWatcherChanges(true, Collections.<File>emptySet());
+    private final boolean overflow;
+    private final Set<File> unwatchedDirectories;
+
+    private FileWatcherChanges(boolean overflow, Set<File> unwatchedDirectories) {
+        this.overflow = overflow;
+        this.unwatchedDirectories = unwatchedDirectories;
+    }
+
+    public static FileWatcherChanges none() {
+        return NONE;
+    }
+
+    /**
+     * Changes where the watcher has lost track of what has changed, so that anything may have changed.
+     */
+    public static FileWatcherChanges overflow() {
+        return OVERFLOW;
+    }
+
+    public static FileWatcherChanges of(Set<File> unwatchedDirectories) {
+        return unwatchedDirectories.isEmpty() ? NONE : new FileWatcherChanges(false, unwatchedDirectories);
+    }
+
+    /**
+     * Returns true if the watcher has lost track of the changes, in which case all watched directories should be considered changed.
+     */
+    public boolean isOverflow() {
+        return overflow;
+    }
+
+    /**
+     * Returns the directories which are no longer watched, because they, or a directory above them, have changed.
+     */
+    public Set<File> getUnwatchedDirectories() {
+        return unwatchedDirectories;
+    }
+}
@@ -0,0 +1,44 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.internal.filewatch;
+
+import org.gradle.api.JavaVersion;
+import org.gradle.internal.os.OperatingSystem;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+public class FileWatcherFactory {
+    private static final Logger LOGGER = LoggerFactory.getLogger(FileWatcherFactory.class);
+
+    /**
+     * Creates a watcher backed by the Java 7 WatchService, when available. This is only used on Linux, where the WatchService is
+     * backed by inotify. On other platforms, the WatchService either polls, so that changes are reported too late, or holds
+     * watched directories open, so that they cannot be deleted.
+     */
+    public FileWatcher create() {
+        if (!JavaVersion.current().isJava7Compatible() || !OperatingSystem.current().isLinux()) {
+            return new NoOpFileWatcher();
+        }
+        String watcherClass = "org.gradle.internal.filewatch.jdk7.WatchServiceFileWatcher";
+        try {
+            return (FileWatcher) FileWatcherFactory.class.getClassLoader().loadClass(watcherClass).newInstance();
+        } catch (Exception e) {
+            LOGGER.debug(String.format("Unable to create %s. Continuing without file watching.", watcherClass), e);
+            return new NoOpFileWatcher();
+        }
+    }
+}
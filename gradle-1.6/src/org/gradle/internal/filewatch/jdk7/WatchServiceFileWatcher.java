@@ -0,0 +1,129 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.internal.filewatch.jdk7;
+
+import org.gradle.api.UncheckedIOException;
+import org.gradle.internal.filewatch.FileWatcher;
+import org.gradle.internal.filewatch.FileWatcherChanges;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.*;
+import java.util.*;
+
+import static java.nio.file.StandardWatchEventKinds.*;
+
+/**
+ * A {@link FileWatcher} backed by a {@link WatchService}.
+ */
+public class WatchServiceFileWatcher implements FileWatcher {
+    private static final Logger LOGGER = LoggerFactory.getLogger(WatchServiceFileWatcher.class);
+    private final WatchService watchService;
+    private final Map<File, WatchKey> watchedDirectories = new HashMap<File, WatchKey>();
+
+    public WatchServiceFileWatcher() throws IOException {
+        watchService = FileSystems.getDefault().newWatchService();
+    }
+
+    public synchronized boolean watch(File directory) {
+        if (watchedDirectories.containsKey(directory)) {
+            return true;
+        }
+        try {
+            WatchKey key = directory.toPath().register(watchService, ENTRY_CREATE, ENTRY_DELETE, ENTRY_MODIFY);
+            watchedDirectories.put(directory, key);
+            return true;
+        } catch (IOException e) {
+            LOGGER.debug("Cannot watch directory {}: {}", directory, e.getMessage());
+            return false;
+        }
+    }
+
+    public synchronized void unwatch(File directory) {
+        WatchKey key = watchedDirectories.remove(directory);
+        if (key != null) {
+            key.cancel();
+        }
+    }
+
+    public synchronized FileWatcherChanges pollChanges() {
+        Set<File> changedDirectories = new HashSet<File>();
+        boolean overflow = false;
+        for (WatchKey key = watchService.poll(); key != null; key = watchService.poll()) {
+            for (WatchEvent<?> event : key.pollEvents()) {
+                if (event.kind() == OVERFLOW) {
+                    overflow = true;
+                }
+            }
+            changedDirectories.add(((Path) key.watchable()).toFile());
+            key.cancel();
+        }
+
+        if (overflow) {
+            LOGGER.debug("File watcher lost track of changes to {} watched directories.", watchedDirectories.size());
+            unwatchAll();
+            return FileWatcherChanges.overflow();
+        }
+        if (changedDirectories.isEmpty()) {
+            return FileWatcherChanges.none();
+        }
+
+        // A changed directory may have been replaced, so stop watching everything below it too
+        Set<File> unwatched = new HashSet<File>();
+        Iterator<Map.Entry<File, WatchKey>> iterator = watchedDirectories.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<File, WatchKey> entry = iterator.next();
+            if (isAtOrBelow(entry.getKey(), changedDirectories)) {
+                entry.getValue().cancel();
+                unwatched.add(entry.getKey());
+                iterator.remove();
+            }
+        }
+        return FileWatcherChanges.of(unwatched);
+    }
+
+    private static boolean isAtOrBelow(File directory, Set<File> candidates) {
+        for (File current = directory; current != null; current = current.getParentFile()) {
+            if (candidates.contains(current)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void unwatchAll() {
+        for (WatchKey key : watchedDirectories.values()) {
+            key.cancel();
+        }
+        watchedDirectories.clear();
+        // Discard anything queued for the cancelled keys
+        for (WatchKey key = watchService.poll(); key != null; key = watchService.poll()) {
+            key.pollEvents();
+        }
+    }
+
+    public synchronized void stop() {
+        unwatchAll();
+        try {
+            watchService.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -66,6 +66,16 @@ public interface FileSystem extends Chmod {
      */
     boolean tryCreateSymbolicLink(File link, File target);
 
+    /**
+     * Tries to create a hard link to a target file. This fails when the file system does not support hard links,
+     * or when the link and the target are located on different file systems.
+     *
+     * @param link the link to be created
+     * @param target the file to link to
+     * @return <tt>true</tt> if the operation was successful, <tt>false</tt> otherwise
+     */
+    boolean tryCreateHardLink(File link, File target);
+
     /**
      * Returns the Unix permissions for a provided file. Some file systems may not
      * support Unix permissions, in which case sensible default values are returned
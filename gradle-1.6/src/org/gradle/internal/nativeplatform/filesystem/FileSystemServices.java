@@ -51,11 +51,13 @@ public class FileSystemServices {
             serviceRegistry.add(Chmod.class, new EmptyChmod());
             serviceRegistry.add(Stat.class, new FallbackStat());
             serviceRegistry.add(Symlink.class, new FallbackSymlink());
+            serviceRegistry.add(HardLink.class, createJdkHardLink());
             return;
         }
 
         LibC libC = loadLibC();
         serviceRegistry.add(Symlink.class, createSymlink(libC));
+        serviceRegistry.add(HardLink.class, createHardLink(libC));
 
         // Use libc backed implementations on Linux and Mac, if libc available
         POSIX posix = PosixUtil.current();
@@ -94,6 +96,29 @@ public class FileSystemServices {
         return new FallbackSymlink();
     }
 
+    private static HardLink createHardLink(LibC libC) {
+        if (libC != null) {
+            return new LibcHardLink(libC);
+        }
+        return createJdkHardLink();
+    }
+
+    private static HardLink createJdkHardLink() {
+        // Use java 7 APIs, if available
+        if (JavaVersion.current().isJava7Compatible()) {
+            String jdkHardLinkClass = "org.gradle.internal.nativeplatform.filesystem.jdk7.Jdk7HardLink";
+            try {
+                return (HardLink) FileSystemServices.class.getClassLoader().loadClass(jdkHardLinkClass).newInstance();
+            } catch (ClassNotFoundException e) {
+                LOGGER.warn(String.format("Unable to load %s. Continuing with fallback.", jdkHardLinkClass));
+            } catch (Exception e) {
+                throw UncheckedException.throwAsUncheckedException(e);
+            }
+        }
+        LOGGER.debug("Using FallbackHardLink implementation.");
+        return new FallbackHardLink();
+    }
+
     private static Stat createStat() {
         POSIX posix = PosixUtil.current();
         if (posix instanceof JavaPOSIX) {
@@ -27,7 +27,7 @@ public abstract class FileSystems {
 
         static {
             ServiceRegistry services = FileSystemServices.getServices();
-            INSTANCE = new GenericFileSystem(services.get(Chmod.class), services.get(Stat.class), services.get(Symlink.class));
+            INSTANCE = new GenericFileSystem(services.get(Chmod.class), services.get(Stat.class), services.get(Symlink.class), services.get(HardLink.class));
         }
     }
 }
@@ -35,6 +35,7 @@ class GenericFileSystem implements FileSystem {
     private final Chmod chmod;
     private final Stat stat;
     private final Symlink symlink;
+    private final HardLink hardLink;
 
     public boolean isCaseSensitive() {
         return caseSensitive;
@@ -57,6 +58,16 @@ class GenericFileSystem implements FileSystem {
         }
     }
 
+    public boolean tryCreateHardLink(File link, File target) {
+        try {
+            hardLink.link(link, target);
+            return true;
+        } catch (IOException e) {
+            LOGGER.debug("Could not create hard link.", e);
+            return false;
+        }
+    }
+
     public int getUnixMode(File f) throws IOException {
         assertFileExists(f);
         return stat.getUnixMode(f);
@@ -73,9 +84,10 @@ class GenericFileSystem implements FileSystem {
         }
     }
 
-    GenericFileSystem(Chmod chmod, Stat stat, Symlink symlink) {
+    GenericFileSystem(Chmod chmod, Stat stat, Symlink symlink, HardLink hardLink) {
         this.stat = stat;
         this.symlink = symlink;
+        this.hardLink = hardLink;
         this.chmod = chmod;
         String content = generateUniqueContent();
         File file = null;
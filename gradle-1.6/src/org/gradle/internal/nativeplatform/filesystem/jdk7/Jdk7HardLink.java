@@ -0,0 +1,29 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.internal.nativeplatform.filesystem.jdk7;
+
+import org.gradle.internal.nativeplatform.filesystem.HardLink;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+public class Jdk7HardLink implements HardLink {
+    public void link(File link, File target) throws IOException {
+        Files.createLink(link.toPath(), target.toPath());
+    }
+}
@@ -32,5 +32,6 @@ public interface LibC extends Library {
     public int chmod(byte[] filePath, int mode) throws LastErrorException;
     public int wcstombs(byte[] dest, WString source, int size) throws LastErrorException;
     public int symlink(String target, String link) throws LastErrorException;
+    public int link(String target, String link) throws LastErrorException;
     //CHECKSTYLE:ON
 }
@@ -26,6 +26,7 @@ import org.gradle.launcher.daemon.configuration.DefaultDaemonServerConfiguration
 import org.gradle.launcher.daemon.context.DaemonContext;
 import org.gradle.launcher.daemon.logging.DaemonMessages;
 import org.gradle.launcher.daemon.server.Daemon;
+import org.gradle.launcher.daemon.server.DaemonGlobalServicesRegistry;
 import org.gradle.launcher.daemon.server.DaemonServices;
 import org.gradle.logging.LoggingManagerInternal;
 import org.gradle.logging.LoggingServiceRegistry;
@@ -118,6 +119,8 @@ public class DaemonMain extends EntryPoint {
             LOGGER.info("Daemon hit idle timeout (" + configuration.getIdleTimeout() + "ms), stopping...");
         } finally {
             daemon.stop();
+            // Stop anything retained between builds, such as compiler daemons
+            daemonServices.get(DaemonGlobalServicesRegistry.class).close();
         }
     }
 
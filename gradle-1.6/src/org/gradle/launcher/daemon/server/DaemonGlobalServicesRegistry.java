@@ -0,0 +1,54 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.launcher.daemon.server;
+
+import org.gradle.api.internal.project.GlobalServicesRegistry;
+import org.gradle.api.internal.tasks.compile.daemon.CompilerDaemonManager;
+import org.gradle.cache.internal.DefaultFileLockContentionHandler;
+import org.gradle.cache.internal.FileLockContentionHandler;
+import org.gradle.internal.filewatch.FileWatcher;
+import org.gradle.internal.filewatch.FileWatcherFactory;
+import org.gradle.internal.service.ServiceRegistry;
+import org.gradle.tooling.internal.provider.ToolingModelCache;
+
+/**
+ * Contains the services shared by all builds run by a daemon. These live as long as the daemon, so can retain state between builds.
+ */
+public class DaemonGlobalServicesRegistry extends GlobalServicesRegistry {
+    public DaemonGlobalServicesRegistry(ServiceRegistry loggingServices) {
+        super(loggingServices);
+    }
+
+    @Override
+    protected FileWatcher createFileWatcher() {
+        return new FileWatcherFactory().create();
+    }
+
+    @Override
+    protected CompilerDaemonManager createCompilerDaemonManager() {
+        return new CompilerDaemonManager(true);
+    }
+
+    @Override
+    protected FileLockContentionHandler createFileLockContentionHandler() {
+        return new DefaultFileLockContentionHandler();
+    }
+
+    protected ToolingModelCache createToolingModelCache() {
+        return new ToolingModelCache();
+    }
+}
@@ -79,6 +79,13 @@ public class DaemonServices extends DefaultServiceRegistry {
         return new File(get(DaemonDir.class).getVersionedDir(), fileName);
     }
 
+    /**
+     * The services shared by all builds run by this daemon. Closed when the daemon stops, so that anything retained between builds is released.
+     */
+    protected DaemonGlobalServicesRegistry createDaemonGlobalServicesRegistry() {
+        return new DaemonGlobalServicesRegistry(loggingServices);
+    }
+
     protected Daemon createDaemon() {
         return new Daemon(
                 new DaemonTcpServerConnector(),
@@ -86,7 +93,7 @@ public class DaemonServices extends DefaultServiceRegistry {
                 get(DaemonContext.class),
                 "password",
                 new DefaultDaemonCommandExecuter(
-                        new DefaultGradleLauncherFactory(loggingServices),
+                        new DefaultGradleLauncherFactory(get(DaemonGlobalServicesRegistry.class)),
                         get(ProcessEnvironment.class),
                         loggingManager,
                         getDaemonLogFile()),
@@ -17,7 +17,9 @@
 package org.gradle.plugins.cpp
 
 import org.gradle.api.DefaultTask
+import org.gradle.api.Incubating
 import org.gradle.api.internal.tasks.compile.Compiler
+import org.gradle.api.tasks.Input
 import org.gradle.api.tasks.TaskAction
 import org.gradle.plugins.binaries.model.CompileSpec
 
@@ -25,6 +27,13 @@ class CppCompile extends DefaultTask {
     CompileSpec spec
     Compiler compiler
 
+    /**
+     * Compile each source file to its own object file and link them separately, so that only the source files
+     * affected by a change are recompiled. Off by default.
+     */
+    @Incubating @Input
+    boolean incremental
+
     @TaskAction
     void compile() {
         def result = compiler.execute(spec)
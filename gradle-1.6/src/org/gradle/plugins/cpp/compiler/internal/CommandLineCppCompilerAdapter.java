@@ -17,6 +17,7 @@
 package org.gradle.plugins.cpp.compiler.internal;
 
 import org.gradle.internal.Factory;
+import org.gradle.internal.concurrent.ExecutorFactory;
 import org.gradle.internal.os.OperatingSystem;
 import org.gradle.plugins.binaries.model.internal.CompilerAdapter;
 import org.gradle.plugins.cpp.internal.CppCompileSpec;
@@ -28,16 +29,18 @@ abstract public class CommandLineCppCompilerAdapter<T extends CppCompileSpec> im
 
     private final File executable;
     private final Factory<ExecAction> execActionFactory;
+    private final ExecutorFactory executorFactory;
     private OperatingSystem operatingSystem;
 
-    protected CommandLineCppCompilerAdapter(String executableName, OperatingSystem operatingSystem, Factory<ExecAction> execActionFactory) {
-        this(operatingSystem.findInPath(executableName), operatingSystem, execActionFactory);
+    protected CommandLineCppCompilerAdapter(String executableName, OperatingSystem operatingSystem, Factory<ExecAction> execActionFactory, ExecutorFactory executorFactory) {
+        this(operatingSystem.findInPath(executableName), operatingSystem, execActionFactory, executorFactory);
     }
 
-    protected CommandLineCppCompilerAdapter(File executable, OperatingSystem operatingSystem, Factory<ExecAction> execActionFactory) {
+    protected CommandLineCppCompilerAdapter(File executable, OperatingSystem operatingSystem, Factory<ExecAction> execActionFactory, ExecutorFactory executorFactory) {
         this.executable = executable;
         this.operatingSystem = operatingSystem;
         this.execActionFactory = execActionFactory;
+        this.executorFactory = executorFactory;
     }
 
     protected File getExecutable() {
@@ -48,6 +51,10 @@ abstract public class CommandLineCppCompilerAdapter<T extends CppCompileSpec> im
         return execActionFactory;
     }
 
+    protected ExecutorFactory getExecutorFactory() {
+        return executorFactory;
+    }
+
     public OperatingSystem getOperatingSystem() {
         return operatingSystem;
     }
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.plugins.cpp.compiler.internal;
+
+import org.gradle.api.UncheckedIOException;
+
+import java.io.*;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Finds the header files that a source file includes, directly or indirectly, by scanning for {@code #include} directives. A quoted include
+ * is looked up relative to the including file and then in the include roots; an angle bracket include only in the include roots. Includes
+ * which cannot be found, such as system headers, are ignored. Conditional compilation and macro includes are not evaluated, so the result
+ * may contain headers the compiler does not actually read.
+ *
+ * <p>Instances may be used by multiple threads. The includes of each file are read once per instance.</p>
+ */
+public class IncludeDependencyResolver {
+    private static final Pattern INCLUDE = Pattern.compile("^\\s*#\\s*include\\s*([<\"])([^>\"]+)[>\"]");
+    private final List<File> includeRoots;
+    private final Map<File, Collection<File>> directIncludes = new ConcurrentHashMap<File, Collection<File>>();
+
+    public IncludeDependencyResolver(Iterable<File> includeRoots) {
+        this.includeRoots = new ArrayList<File>();
+        for (File includeRoot : includeRoots) {
+            this.includeRoots.add(includeRoot);
+        }
+    }
+
+    /**
+     * Returns the header files included by the given source file, directly or indirectly.
+     */
+    public Set<File> getIncludes(File sourceFile) {
+        Set<File> includes = new LinkedHashSet<File>();
+        LinkedList<File> pending = new LinkedList<File>(getDirectIncludes(sourceFile));
+        while (!pending.isEmpty()) {
+            File header = pending.removeFirst();
+            if (includes.add(header)) {
+                pending.addAll(getDirectIncludes(header));
+            }
+        }
+        return includes;
+    }
+
+    private Collection<File> getDirectIncludes(File file) {
+        Collection<File> includes = directIncludes.get(file);
+        if (includes == null) {
+            includes = parseIncludes(file);
+            directIncludes.put(file, includes);
+        }
+        return includes;
+    }
+
+    private Collection<File> parseIncludes(File file) {
+        List<File> includes = new ArrayList<File>();
+        try {
+            BufferedReader reader = new BufferedReader(new FileReader(file));
+            try {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (line.indexOf('#') < 0) {
+                        continue;
+                    }
+                    Matcher matcher = INCLUDE.matcher(line);
+                    if (matcher.find()) {
+                        File header = resolve(file, matcher.group(2), matcher.group(1).equals("\""));
+                        if (header != null) {
+                            includes.add(header);
+                        }
+                    }
+                }
+            } finally {
+                reader.close();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(String.format("Could not read includes of '%s'.", file), e);
+        }
+        return includes;
+    }
+
+    private File resolve(File includingFile, String path, boolean quoted) {
+        if (quoted) {
+            File candidate = new File(includingFile.getParentFile(), path);
+            if (candidate.isFile()) {
+                return candidate.getAbsoluteFile();
+            }
+        }
+        for (File includeRoot : includeRoots) {
+            File candidate = new File(includeRoot, path);
+            if (candidate.isFile()) {
+                return candidate.getAbsoluteFile();
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,181 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.plugins.cpp.compiler.internal;
+
+import org.gradle.api.UncheckedIOException;
+import org.gradle.messaging.serialize.DefaultSerializer;
+import org.gradle.messaging.serialize.Serializer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.*;
+import java.util.*;
+
+/**
+ * The object file compiled from each source file, along with the state of the source file and the headers it included when it
+ * was compiled. Persisted between builds to decide which source files need to be recompiled.
+ */
+public class IncrementalCppCompileState implements Serializable {
+    private static final Logger LOGGER = LoggerFactory.getLogger(IncrementalCppCompileState.class);
+
+    private final String fingerprint;
+    private final Map<String, UnitInfo> units = new HashMap<String, UnitInfo>();
+    private transient Map<String, Boolean> headersUpToDate;
+
+    public IncrementalCppCompileState(String fingerprint) {
+        this.fingerprint = fingerprint;
+    }
+
+    /**
+     * A hash of the compiler and its arguments, other than the source and object file.
+     */
+    public String getFingerprint() {
+        return fingerprint;
+    }
+
+    public Set<String> getSourcePaths() {
+        return units.keySet();
+    }
+
+    public String getObjectPath(String sourcePath) {
+        UnitInfo unit = units.get(sourcePath);
+        return unit == null ? null : unit.objectPath;
+    }
+
+    /**
+     * Returns true if the object file for the given source file exists, and neither the source file nor the headers it
+     * included have changed since it was compiled.
+     */
+    public boolean isUpToDate(File sourceFile) {
+        UnitInfo unit = units.get(sourceFile.getAbsolutePath());
+        if (unit == null || !unit.source.matches(sourceFile) || !new File(unit.objectPath).isFile()) {
+            return false;
+        }
+        if (headersUpToDate == null) {
+            headersUpToDate = new HashMap<String, Boolean>();
+        }
+        for (Map.Entry<String, FileInfo> header : unit.headers.entrySet()) {
+            Boolean upToDate = headersUpToDate.get(header.getKey());
+            if (upToDate == null) {
+                upToDate = header.getValue().matches(new File(header.getKey()));
+                headersUpToDate.put(header.getKey(), upToDate);
+            }
+            if (!upToDate) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public synchronized void addUnit(Unit unit) {
+        units.put(unit.sourcePath, unit.info);
+    }
+
+    /**
+     * Copies the given source file, and the object file compiled from it, from another state.
+     */
+    public void copyUnit(String sourcePath, IncrementalCppCompileState other) {
+        units.put(sourcePath, other.units.get(sourcePath));
+    }
+
+    /**
+     * Records the current state of a source file and the headers it includes. Should be called before the source file is compiled,
+     * so that changes made during compilation are noticed by the next build.
+     */
+    public static Unit snapshot(File sourceFile, File objectFile, Collection<File> headers) {
+        Map<String, FileInfo> headerInfos = new HashMap<String, FileInfo>();
+        for (File header : headers) {
+            headerInfos.put(header.getAbsolutePath(), new FileInfo(header));
+        }
+        return new Unit(sourceFile.getAbsolutePath(), new UnitInfo(new FileInfo(sourceFile), objectFile.getAbsolutePath(), headerInfos));
+    }
+
+    /**
+     * Loads the state from the given file. Returns null when there is no usable state.
+     */
+    public static IncrementalCppCompileState load(File stateFile) {
+        if (!stateFile.isFile()) {
+            return null;
+        }
+        Serializer<IncrementalCppCompileState> serializer = new DefaultSerializer<IncrementalCppCompileState>(IncrementalCppCompileState.class.getClassLoader());
+        try {
+            InputStream inputStream = new BufferedInputStream(new FileInputStream(stateFile));
+            try {
+                return serializer.read(inputStream);
+            } finally {
+                inputStream.close();
+            }
+        } catch (Exception e) {
+            LOGGER.debug(String.format("Could not read incremental compile state from %s.", stateFile), e);
+            return null;
+        }
+    }
+
+    public synchronized void store(File stateFile) {
+        Serializer<IncrementalCppCompileState> serializer = new DefaultSerializer<IncrementalCppCompileState>(IncrementalCppCompileState.class.getClassLoader());
+        stateFile.getParentFile().mkdirs();
+        try {
+            OutputStream outputStream = new BufferedOutputStream(new FileOutputStream(stateFile));
+            try {
+                serializer.write(outputStream, this);
+            } finally {
+                outputStream.close();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * The state of a single source file, ready to be added once the source file has been compiled.
+     */
+    public static class Unit {
+        private final String sourcePath;
+        private final UnitInfo info;
+
+        private Unit(String sourcePath, UnitInfo info) {
+            this.sourcePath = sourcePath;
+            this.info = info;
+        }
+    }
+
+    private static class UnitInfo implements Serializable {
+        private final FileInfo source;
+        private final String objectPath;
+        private final Map<String, FileInfo> headers;
+
+        private UnitInfo(FileInfo source, String objectPath, Map<String, FileInfo> headers) {
+            this.source = source;
+            this.objectPath = objectPath;
+            this.headers = headers;
+        }
+    }
+
+    private static class FileInfo implements Serializable {
+        private final long length;
+        private final long lastModified;
+
+        private FileInfo(File file) {
+            this.length = file.length();
+            this.lastModified = file.lastModified();
+        }
+
+        public boolean matches(File file) {
+            return file.isFile() && length == file.length() && lastModified == file.lastModified();
+        }
+    }
+}
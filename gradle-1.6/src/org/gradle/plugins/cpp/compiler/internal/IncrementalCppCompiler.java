@@ -0,0 +1,241 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.plugins.cpp.compiler.internal;
+
+import groovy.lang.Closure;
+import org.gradle.api.Transformer;
+import org.gradle.api.internal.tasks.compile.ArgCollector;
+import org.gradle.api.internal.tasks.compile.ArgWriter;
+import org.gradle.api.internal.tasks.compile.CompileSpecToArguments;
+import org.gradle.api.internal.tasks.compile.ExecSpecBackedArgCollector;
+import org.gradle.api.internal.tasks.compile.SimpleWorkResult;
+import org.gradle.api.tasks.WorkResult;
+import org.gradle.internal.Factory;
+import org.gradle.internal.UncheckedException;
+import org.gradle.internal.concurrent.ExecutorFactory;
+import org.gradle.internal.concurrent.StoppableExecutor;
+import org.gradle.plugins.cpp.internal.CppCompileSpec;
+import org.gradle.process.internal.ExecAction;
+import org.gradle.util.GFileUtils;
+import org.gradle.util.hash.HashUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.PrintWriter;
+import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A {@link CppCompiler} which, for an incremental compile spec, compiles each source file to its own object file and then links the
+ * object files in a separate step. The source files are compiled in parallel, and a source file is only recompiled when it, or a header
+ * it includes, has changed since it was last compiled. Other compile specs are handed to the given compiler.
+ */
+public class IncrementalCppCompiler<T extends CppCompileSpec> implements CppCompiler<T> {
+    private static final Logger LOGGER = LoggerFactory.getLogger(IncrementalCppCompiler.class);
+    private final CppCompiler<T> compiler;
+    private final File executable;
+    private final Factory<ExecAction> execActionFactory;
+    private final SeparateCompileSpecToArguments<T> toArguments;
+    private final Transformer<ArgWriter, PrintWriter> linkArgWriterFactory;
+    private final ExecutorFactory executorFactory;
+
+    /**
+     * @param linkArgWriterFactory Used to pass the link arguments in an options file, or null to pass them on the command-line.
+     */
+    public IncrementalCppCompiler(CppCompiler<T> compiler, File executable, Factory<ExecAction> execActionFactory, SeparateCompileSpecToArguments<T> toArguments,
+                                  Transformer<ArgWriter, PrintWriter> linkArgWriterFactory, ExecutorFactory executorFactory) {
+        this.compiler = compiler;
+        this.executable = executable;
+        this.execActionFactory = execActionFactory;
+        this.toArguments = toArguments;
+        this.linkArgWriterFactory = linkArgWriterFactory;
+        this.executorFactory = executorFactory;
+    }
+
+    public WorkResult execute(T spec) {
+        if (!spec.isIncremental()) {
+            return compiler.execute(spec);
+        }
+
+        File workDir = spec.getWorkDir();
+        File objectDir = new File(workDir, "objects");
+        GFileUtils.mkdirs(objectDir);
+        GFileUtils.mkdirs(spec.getOutputFile().getParentFile());
+
+        File stateFile = new File(workDir, "incremental-compile.bin");
+        IncrementalCppCompileState previous = IncrementalCppCompileState.load(stateFile);
+        String fingerprint = fingerprint(spec);
+        if (previous != null && !previous.getFingerprint().equals(fingerprint)) {
+            LOGGER.info("Compiler arguments have changed. Compiling all source files.");
+            previous = null;
+        }
+
+        Map<String, File> sourceFiles = new LinkedHashMap<String, File>();
+        for (File sourceFile : spec.getSource()) {
+            sourceFiles.put(sourceFile.getAbsolutePath(), sourceFile.getAbsoluteFile());
+        }
+
+        IncrementalCppCompileState state = new IncrementalCppCompileState(fingerprint);
+        List<File> staleSources = new ArrayList<File>();
+        List<File> objectFiles = new ArrayList<File>();
+        for (File sourceFile : sourceFiles.values()) {
+            objectFiles.add(objectFile(objectDir, sourceFile));
+            if (previous != null && previous.isUpToDate(sourceFile)) {
+                state.copyUnit(sourceFile.getAbsolutePath(), previous);
+            } else {
+                staleSources.add(sourceFile);
+            }
+        }
+        if (previous != null) {
+            for (String sourcePath : previous.getSourcePaths()) {
+                if (!sourceFiles.containsKey(sourcePath)) {
+                    GFileUtils.deleteQuietly(new File(previous.getObjectPath(sourcePath)));
+                }
+            }
+        }
+        LOGGER.info("Compiling {} of {} source files.", staleSources.size(), sourceFiles.size());
+
+        // Record the successfully compiled source files even if some fail, so that they are not compiled again
+        stateFile.delete();
+        try {
+            compileAll(spec, objectDir, staleSources, state);
+        } finally {
+            state.store(stateFile);
+        }
+
+        link(spec, objectFiles);
+        return new SimpleWorkResult(true);
+    }
+
+    private void compileAll(final T spec, final File objectDir, List<File> sourceFiles, final IncrementalCppCompileState state) {
+        if (sourceFiles.isEmpty()) {
+            return;
+        }
+
+        final IncludeDependencyResolver includes = new IncludeDependencyResolver(spec.getIncludeRoots());
+        final List<FutureTask<Void>> compilations = new ArrayList<FutureTask<Void>>();
+        for (final File sourceFile : sourceFiles) {
+            compilations.add(new FutureTask<Void>(new Callable<Void>() {
+                public Void call() {
+                    File objectFile = objectFile(objectDir, sourceFile);
+                    IncrementalCppCompileState.Unit unit = IncrementalCppCompileState.snapshot(sourceFile, objectFile, includes.getIncludes(sourceFile));
+                    compile(spec, sourceFile, objectFile);
+                    state.addUnit(unit);
+                    return null;
+                }
+            }));
+        }
+
+        StoppableExecutor executor = executorFactory.create("C++ compilation");
+        try {
+            final AtomicInteger nextCompilation = new AtomicInteger();
+            int workers = Math.min(Runtime.getRuntime().availableProcessors(), compilations.size());
+            for (int i = 0; i < workers; i++) {
+                executor.execute(new Runnable() {
+                    public void run() {
+                        int index;
+                        while ((index = nextCompilation.getAndIncrement()) < compilations.size()) {
+                            compilations.get(index).run();
+                        }
+                    }
+                });
+            }
+            // Wait for all source files, so that every compile failure is reported, then rethrow the first failure
+            Throwable failure = null;
+            for (FutureTask<Void> compilation : compilations) {
+                try {
+                    compilation.get();
+                } catch (ExecutionException e) {
+                    if (failure == null) {
+                        failure = e.getCause();
+                    }
+                }
+            }
+            if (failure != null) {
+                throw UncheckedException.throwAsUncheckedException(failure);
+            }
+        } catch (InterruptedException e) {
+            throw UncheckedException.throwAsUncheckedException(e);
+        } finally {
+            for (FutureTask<Void> compilation : compilations) {
+                compilation.cancel(false);
+            }
+            executor.stop();
+        }
+    }
+
+    private void compile(T spec, File sourceFile, File objectFile) {
+        ExecAction compiler = createExecAction(spec);
+        toArguments.collectCompileArguments(spec, sourceFile, objectFile, new ExecSpecBackedArgCollector(compiler));
+        applySettings(spec, compiler);
+        compiler.execute();
+    }
+
+    private void link(final T spec, final List<File> objectFiles) {
+        ExecAction linker = createExecAction(spec);
+        CompileSpecToArguments<T> linkArguments = new CompileSpecToArguments<T>() {
+            public void collectArguments(T spec, ArgCollector collector) {
+                toArguments.collectLinkArguments(spec, objectFiles, collector);
+            }
+        };
+        if (linkArgWriterFactory != null) {
+            linkArguments = new CommandLineCppCompilerArgumentsToOptionFile<T>(linkArgWriterFactory, linkArguments);
+        }
+        linkArguments.collectArguments(spec, new ExecSpecBackedArgCollector(linker));
+        applySettings(spec, linker);
+        linker.execute();
+    }
+
+    private ExecAction createExecAction(T spec) {
+        ExecAction action = execActionFactory.create();
+        action.executable(executable);
+        action.workingDir(spec.getWorkDir());
+        return action;
+    }
+
+    private void applySettings(T spec, ExecAction action) {
+        for (Closure closure : spec.getSettings()) {
+            closure.call(action);
+        }
+    }
+
+    private String fingerprint(T spec) {
+        ExecAction action = createExecAction(spec);
+        toArguments.collectCompileArguments(spec, new File("source"), new File("object"), new ExecSpecBackedArgCollector(action));
+        applySettings(spec, action);
+        StringBuilder builder = new StringBuilder();
+        for (String arg : action.getCommandLine()) {
+            builder.append(arg).append('\n');
+        }
+        return HashUtil.createCompactMD5(builder.toString());
+    }
+
+    private File objectFile(File objectDir, File sourceFile) {
+        String name = sourceFile.getName();
+        int extension = name.lastIndexOf('.');
+        if (extension > 0) {
+            name = name.substring(0, extension);
+        }
+        // Source files with the same name can live in different directories
+        String pathHash = HashUtil.createCompactMD5(sourceFile.getAbsolutePath());
+        return new File(objectDir, String.format("%s_%s%s", name, pathHash, toArguments.getObjectFileExtension()));
+    }
+}
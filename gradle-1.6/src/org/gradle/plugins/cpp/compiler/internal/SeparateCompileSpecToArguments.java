@@ -0,0 +1,38 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.plugins.cpp.compiler.internal;
+
+import org.gradle.api.internal.tasks.compile.ArgCollector;
+import org.gradle.plugins.cpp.internal.CppCompileSpec;
+
+import java.io.File;
+import java.util.Collection;
+
+/**
+ * Converts a compile spec into the arguments for compiling each source file to an object file separately, and for linking
+ * the object files into the binary.
+ */
+public interface SeparateCompileSpecToArguments<T extends CppCompileSpec> {
+    /**
+     * The extension, including the leading dot, of the object files produced by the compiler.
+     */
+    String getObjectFileExtension();
+
+    void collectCompileArguments(T spec, File sourceFile, File objectFile, ArgCollector collector);
+
+    void collectLinkArguments(T spec, Collection<File> objectFiles, ArgCollector collector);
+}
@@ -43,6 +43,7 @@ class GppCompileSpec implements CompileSpec, StandardCppCompiler, CompileTaskAwa
     String outputFileName
     String baseName
     String extension
+
     private final Compiler<? super GppCompileSpec> compiler
     private final ProjectInternal project
     private final ConfigurableFileCollection libs
@@ -78,6 +79,10 @@ class GppCompileSpec implements CompileSpec, StandardCppCompiler, CompileTaskAwa
         return new DefaultTaskDependency().add(task)
     }
 
+    boolean isIncremental() {
+        task.incremental
+    }
+
     File getWorkDir() {
         project.file "$project.buildDir/compileWork/$name"
     }
@@ -19,6 +19,7 @@ import org.gradle.api.Plugin
 import org.gradle.api.Project
 import org.gradle.api.internal.file.FileResolver
 import org.gradle.internal.Factory
+import org.gradle.internal.concurrent.ExecutorFactory
 import org.gradle.internal.os.OperatingSystem
 import org.gradle.plugins.binaries.BinariesPlugin
 import org.gradle.plugins.binaries.model.CompilerRegistry
@@ -33,10 +34,12 @@ import javax.inject.Inject
  */
 class GppCompilerPlugin implements Plugin<Project> {
     private final FileResolver fileResolver
+    private final ExecutorFactory executorFactory
 
     @Inject
-    GppCompilerPlugin(FileResolver fileResolver) {
+    GppCompilerPlugin(FileResolver fileResolver, ExecutorFactory executorFactory) {
         this.fileResolver = fileResolver
+        this.executorFactory = executorFactory
     }
 
     void apply(Project project) {
@@ -47,7 +50,8 @@ class GppCompilerPlugin implements Plugin<Project> {
                     ExecAction create() {
                         new DefaultExecAction(fileResolver)
                     }
-                }))
+                },
+                executorFactory))
     }
 
 }
@@ -20,13 +20,46 @@ import org.gradle.internal.os.OperatingSystem;
 import org.gradle.plugins.binaries.model.LibraryCompileSpec;
 import org.gradle.api.internal.tasks.compile.ArgCollector;
 import org.gradle.api.internal.tasks.compile.CompileSpecToArguments;
+import org.gradle.plugins.cpp.compiler.internal.SeparateCompileSpecToArguments;
 import org.gradle.plugins.cpp.gpp.GppCompileSpec;
 
 import java.io.File;
+import java.util.Collection;
 
-public class GppCompileSpecToArguments implements CompileSpecToArguments<GppCompileSpec> {
+public class GppCompileSpecToArguments implements CompileSpecToArguments<GppCompileSpec>, SeparateCompileSpecToArguments<GppCompileSpec> {
 
     public void collectArguments(GppCompileSpec spec, ArgCollector collector) {
+        collectOutputArguments(spec, collector);
+        collectIncludeArguments(spec, collector);
+        for (File file : spec.getSource()) {
+            collector.args(file.getAbsolutePath());
+        }
+        collectLibArguments(spec, collector);
+    }
+
+    public String getObjectFileExtension() {
+        return ".o";
+    }
+
+    public void collectCompileArguments(GppCompileSpec spec, File sourceFile, File objectFile, ArgCollector collector) {
+        collector.args("-c");
+        collector.args("-o", objectFile.getAbsolutePath());
+        if (spec instanceof LibraryCompileSpec && !OperatingSystem.current().isWindows()) {
+            collector.args("-fPIC");
+        }
+        collectIncludeArguments(spec, collector);
+        collector.args(sourceFile.getAbsolutePath());
+    }
+
+    public void collectLinkArguments(GppCompileSpec spec, Collection<File> objectFiles, ArgCollector collector) {
+        collectOutputArguments(spec, collector);
+        for (File file : objectFiles) {
+            collector.args(file.getAbsolutePath());
+        }
+        collectLibArguments(spec, collector);
+    }
+
+    private void collectOutputArguments(GppCompileSpec spec, ArgCollector collector) {
         collector.args("-o", spec.getOutputFile().getAbsolutePath());
         if (spec instanceof LibraryCompileSpec) {
             LibraryCompileSpec librarySpec = (LibraryCompileSpec) spec;
@@ -40,13 +73,16 @@ public class GppCompileSpecToArguments implements CompileSpecToArguments<GppComp
                 }
             }
         }
+    }
+
+    private void collectIncludeArguments(GppCompileSpec spec, ArgCollector collector) {
         for (File file : spec.getIncludeRoots()) {
             collector.args("-I");
             collector.args(file.getAbsolutePath());
         }
-        for (File file : spec.getSource()) {
-            collector.args(file.getAbsolutePath());
-        }
+    }
+
+    private void collectLibArguments(GppCompileSpec spec, ArgCollector collector) {
         for (File file : spec.getLibs()) {
             collector.args(file.getAbsolutePath());
         }
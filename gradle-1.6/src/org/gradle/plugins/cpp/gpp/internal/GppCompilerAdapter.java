@@ -17,10 +17,13 @@ package org.gradle.plugins.cpp.gpp.internal;
 
 import org.gradle.api.Transformer;
 import org.gradle.api.internal.tasks.compile.Compiler;
+import org.gradle.api.internal.tasks.compile.ArgWriter;
 import org.gradle.internal.Factory;
+import org.gradle.internal.concurrent.ExecutorFactory;
 import org.gradle.internal.os.OperatingSystem;
 import org.gradle.plugins.binaries.model.Binary;
 import org.gradle.plugins.cpp.compiler.internal.CommandLineCppCompilerAdapter;
+import org.gradle.plugins.cpp.compiler.internal.IncrementalCppCompiler;
 import org.gradle.plugins.cpp.gpp.GppCompileSpec;
 import org.gradle.plugins.cpp.gpp.internal.version.GppVersionDeterminer;
 import org.gradle.process.internal.ExecAction;
@@ -45,12 +48,12 @@ public class GppCompilerAdapter extends CommandLineCppCompilerAdapter<GppCompile
 
     private final Transformer<String, File> versionDeterminer;
 
-    public GppCompilerAdapter(OperatingSystem operatingSystem, Factory<ExecAction> execActionFactory) {
-        this(operatingSystem, execActionFactory, new GppVersionDeterminer());
+    public GppCompilerAdapter(OperatingSystem operatingSystem, Factory<ExecAction> execActionFactory, ExecutorFactory executorFactory) {
+        this(operatingSystem, execActionFactory, executorFactory, new GppVersionDeterminer());
     }
 
-    GppCompilerAdapter(OperatingSystem operatingSystem, Factory<ExecAction> execActionFactory, Transformer<String, File> versionDeterminer) {
-        super(EXECUTABLE, operatingSystem, execActionFactory);
+    GppCompilerAdapter(OperatingSystem operatingSystem, Factory<ExecAction> execActionFactory, ExecutorFactory executorFactory, Transformer<String, File> versionDeterminer) {
+        super(EXECUTABLE, operatingSystem, execActionFactory, executorFactory);
         this.versionDeterminer = versionDeterminer;
     }
 
@@ -83,7 +86,11 @@ public class GppCompilerAdapter extends CommandLineCppCompilerAdapter<GppCompile
             throw new IllegalStateException(String.format("Unable to determine major g++ version from version number %s.", version), e);
         }
 
-        return new GppCompiler(getExecutable(), getExecActionFactory(), majorVersion >= 4);
+        boolean useCommandFile = majorVersion >= 4;
+        return new IncrementalCppCompiler<GppCompileSpec>(
+                new GppCompiler(getExecutable(), getExecActionFactory(), useCommandFile),
+                getExecutable(), getExecActionFactory(), new GppCompileSpecToArguments(),
+                useCommandFile ? ArgWriter.unixStyleFactory() : null, getExecutorFactory());
     }
 
     private String getVersion() {
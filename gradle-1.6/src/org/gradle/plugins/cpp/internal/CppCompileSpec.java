@@ -27,6 +27,11 @@ public interface CppCompileSpec extends StandardCppCompiler, BinaryCompileSpec {
 
     File getWorkDir();
 
+    /**
+     * Returns true if each source file should be compiled to its own object file, so that only changed source files are recompiled.
+     */
+    boolean isIncremental();
+
     // This needs to go
     List<Closure> getSettings();
 
@@ -22,6 +22,7 @@ import org.gradle.api.Plugin
 import org.gradle.api.Project
 import org.gradle.api.internal.file.FileResolver
 import org.gradle.internal.Factory
+import org.gradle.internal.concurrent.ExecutorFactory
 import org.gradle.plugins.binaries.BinariesPlugin
 import org.gradle.plugins.binaries.model.CompilerRegistry
 import org.gradle.plugins.cpp.msvcpp.internal.VisualCppCompilerAdapter
@@ -36,10 +37,12 @@ import javax.inject.Inject
  */
 class MicrosoftVisualCppPlugin implements Plugin<Project> {
     private final FileResolver fileResolver;
+    private final ExecutorFactory executorFactory
 
     @Inject
-    MicrosoftVisualCppPlugin(FileResolver fileResolver) {
+    MicrosoftVisualCppPlugin(FileResolver fileResolver, ExecutorFactory executorFactory) {
         this.fileResolver = fileResolver
+        this.executorFactory = executorFactory
     }
 
     void apply(Project project) {
@@ -55,7 +58,8 @@ class MicrosoftVisualCppPlugin implements Plugin<Project> {
                     ExecAction create() {
                         new DefaultExecAction(fileResolver)
                     }
-                }
+                },
+                executorFactory
         ))
     }
 }
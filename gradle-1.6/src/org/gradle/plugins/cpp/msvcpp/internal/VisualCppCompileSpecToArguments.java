@@ -19,29 +19,64 @@ package org.gradle.plugins.cpp.msvcpp.internal;
 import org.gradle.plugins.binaries.model.LibraryCompileSpec;
 import org.gradle.api.internal.tasks.compile.ArgCollector;
 import org.gradle.api.internal.tasks.compile.CompileSpecToArguments;
+import org.gradle.plugins.cpp.compiler.internal.SeparateCompileSpecToArguments;
 import org.gradle.plugins.cpp.gpp.GppCompileSpec;
 
 import java.io.File;
+import java.util.Collection;
 
-public class VisualCppCompileSpecToArguments implements CompileSpecToArguments<GppCompileSpec> {
+public class VisualCppCompileSpecToArguments implements CompileSpecToArguments<GppCompileSpec>, SeparateCompileSpecToArguments<GppCompileSpec> {
 
     public void collectArguments(GppCompileSpec spec, ArgCollector collector) {
         collector.args("/nologo");
         collector.args("/EHsc");
+        collectOutputArguments(spec, collector);
+        collectIncludeArguments(spec, collector);
+        for (File file : spec.getSource()) {
+            collector.args(file);
+        }
+        collectLibArguments(spec, collector);
+    }
+
+    public String getObjectFileExtension() {
+        return ".obj";
+    }
+
+    public void collectCompileArguments(GppCompileSpec spec, File sourceFile, File objectFile, ArgCollector collector) {
+        collector.args("/nologo");
+        collector.args("/EHsc");
+        collector.args("/c");
+        collector.args("/Fo" + objectFile.getAbsolutePath());
+        collectIncludeArguments(spec, collector);
+        collector.args(sourceFile);
+    }
+
+    public void collectLinkArguments(GppCompileSpec spec, Collection<File> objectFiles, ArgCollector collector) {
+        collector.args("/nologo");
+        collectOutputArguments(spec, collector);
+        for (File file : objectFiles) {
+            collector.args(file);
+        }
+        collectLibArguments(spec, collector);
+    }
+
+    private void collectOutputArguments(GppCompileSpec spec, ArgCollector collector) {
         collector.args("/Fe" + spec.getOutputFile().getAbsolutePath());
         if (spec instanceof LibraryCompileSpec) {
             collector.args("/LD");
         }
+    }
+
+    private void collectIncludeArguments(GppCompileSpec spec, ArgCollector collector) {
         for (File file : spec.getIncludeRoots()) {
             collector.args("/I", file.getAbsolutePath());
         }
-        for (File file : spec.getSource()) {
-            collector.args(file);
-        }
+    }
+
+    private void collectLibArguments(GppCompileSpec spec, ArgCollector collector) {
         // Link options need to be on one line in the options file
         for (File file : spec.getLibs()) {
             collector.args("/link", file.getAbsolutePath().replaceFirst("\\.dll$", ".lib"));
         }
-
     }
 }
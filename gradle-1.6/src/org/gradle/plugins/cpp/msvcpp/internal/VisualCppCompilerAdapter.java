@@ -16,11 +16,14 @@
 
 package org.gradle.plugins.cpp.msvcpp.internal;
 
+import org.gradle.api.internal.tasks.compile.ArgWriter;
 import org.gradle.api.internal.tasks.compile.Compiler;
 import org.gradle.internal.Factory;
+import org.gradle.internal.concurrent.ExecutorFactory;
 import org.gradle.internal.os.OperatingSystem;
 import org.gradle.plugins.binaries.model.Binary;
 import org.gradle.plugins.cpp.compiler.internal.CommandLineCppCompilerAdapter;
+import org.gradle.plugins.cpp.compiler.internal.IncrementalCppCompiler;
 import org.gradle.plugins.cpp.gpp.GppCompileSpec;
 import org.gradle.process.internal.ExecAction;
 
@@ -28,8 +31,8 @@ public class VisualCppCompilerAdapter extends CommandLineCppCompilerAdapter<GppC
 
     static final String EXECUTABLE = "cl.exe";
 
-    public VisualCppCompilerAdapter(OperatingSystem operatingSystem, Factory<ExecAction> execActionFactory) {
-        super(EXECUTABLE, operatingSystem, execActionFactory);
+    public VisualCppCompilerAdapter(OperatingSystem operatingSystem, Factory<ExecAction> execActionFactory, ExecutorFactory executorFactory) {
+        super(EXECUTABLE, operatingSystem, execActionFactory, executorFactory);
     }
 
     public String getName() {
@@ -46,6 +49,9 @@ public class VisualCppCompilerAdapter extends CommandLineCppCompilerAdapter<GppC
     }
 
     public Compiler<GppCompileSpec> createCompiler(Binary binary) {
-        return new VisualCppCompiler(getExecutable(), getExecActionFactory());
+        return new IncrementalCppCompiler<GppCompileSpec>(
+                new VisualCppCompiler(getExecutable(), getExecActionFactory()),
+                getExecutable(), getExecActionFactory(), new VisualCppCompileSpecToArguments(),
+                ArgWriter.windowsStyleFactory(), getExecutorFactory());
     }
 }
@@ -41,20 +41,23 @@ class JavadocAndSourcesDownloader {
 
         def allResolvedDependencies = resolveDependencies(plusConfigurations, minusConfigurations)
 
-        if (downloadSources) {
-            Set sourceDependencies = getResolvableDependenciesForAllResolvedDependencies(allResolvedDependencies) { dependency ->
+        // Resolve the source and javadoc artifacts in a single pass, so that each module is only looked up once
+        Set dependencies = getResolvableDependenciesForAllResolvedDependencies(allResolvedDependencies) { dependency ->
+            if (downloadSources) {
                 addSourceArtifact(dependency)
             }
+            if (downloadJavadoc) {
+                addJavadocArtifact(dependency)
+            }
+        }
+        Set<File> files = confContainer.detachedConfiguration(dependencies as Dependency[]).resolvedConfiguration.lenientConfiguration.getFiles(Specs.satisfyAll())
 
-            sourceFiles = getFiles(confContainer.detachedConfiguration(sourceDependencies as Dependency[]), "sources")
+        if (downloadSources) {
+            sourceFiles = getFiles(files, "sources")
         }
 
         if (downloadJavadoc) {
-            Set javadocDependencies = getResolvableDependenciesForAllResolvedDependencies(allResolvedDependencies) { dependency ->
-                addJavadocArtifact(dependency)
-            }
-
-            javadocFiles = getFiles(confContainer.detachedConfiguration(javadocDependencies as Dependency[]), "javadoc")
+            javadocFiles = getFiles(files, "javadoc")
         }
     }
 
@@ -105,10 +108,11 @@ class JavadocAndSourcesDownloader {
         }
     }
 
-    private Map getFiles(Configuration configuration, String classifier) {
-        return (Map) configuration.resolvedConfiguration.lenientConfiguration.getFiles(Specs.satisfyAll()).inject([:]) { result, sourceFile ->
-            String key = sourceFile.name.replace("-${classifier}.jar", '.jar')
-            result[key] = sourceFile
+    private Map getFiles(Set<File> files, String classifier) {
+        String suffix = "-${classifier}.jar"
+        return (Map) files.findAll { it.name.endsWith(suffix) }.inject([:]) { result, file ->
+            String key = file.name.replace(suffix, '.jar')
+            result[key] = file
             result
         }
     }
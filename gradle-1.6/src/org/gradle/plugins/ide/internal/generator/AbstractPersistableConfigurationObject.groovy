@@ -53,10 +53,19 @@ public abstract class AbstractPersistableConfigurationObject implements Persista
     public abstract void load(InputStream inputStream) throws Exception;
 
     public void store(File outputFile) {
+        ByteArrayOutputStream content = new ByteArrayOutputStream();
+        store(content);
+        byte[] bytes = content.toByteArray();
+
+        // Leave the file alone when its content has not changed, so that the IDE does not reload it
+        if (outputFile.isFile() && outputFile.length() == bytes.length && Arrays.equals(outputFile.bytes, bytes)) {
+            return;
+        }
+
         try {
             OutputStream outputStream = new FileOutputStream(outputFile);
             try {
-                store(outputStream);
+                outputStream.write(bytes);
             } finally {
                 outputStream.close();
             }
@@ -26,20 +26,23 @@ import org.gradle.api.logging.Logger;
 import org.gradle.api.tasks.*;
 import org.gradle.internal.Factory;
 import org.gradle.plugins.javascript.jshint.internal.JsHintResult;
+import org.gradle.plugins.javascript.jshint.internal.JsHintResultCache;
 import org.gradle.plugins.javascript.jshint.internal.JsHintSpec;
 import org.gradle.plugins.javascript.jshint.internal.JsHintWorker;
 import org.gradle.plugins.javascript.rhino.worker.RhinoWorkerHandle;
 import org.gradle.plugins.javascript.rhino.worker.RhinoWorkerHandleFactory;
 import org.gradle.plugins.javascript.rhino.worker.RhinoWorkerSpec;
-import org.gradle.plugins.javascript.rhino.worker.internal.DefaultRhinoWorkerHandleFactory;
+import org.gradle.plugins.javascript.rhino.worker.internal.SharedRhinoWorkerHandleFactory;
 import org.gradle.process.JavaExecSpec;
 import org.gradle.process.internal.WorkerProcessBuilder;
+import org.gradle.util.hash.HashUtil;
 
 import javax.inject.Inject;
 import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.net.URI;
+import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.Map;
 
@@ -94,21 +97,54 @@ public class JsHint extends SourceTask {
 
     @TaskAction
     public void doJsHint() {
-        RhinoWorkerHandleFactory handleFactory = new DefaultRhinoWorkerHandleFactory(workerProcessBuilderFactory);
-
-        LogLevel logLevel = getProject().getGradle().getStartParameter().getLogLevel();
-        RhinoWorkerHandle<JsHintResult, JsHintSpec> rhinoHandle = handleFactory.create(getRhinoClasspath(), createWorkerSpec(), logLevel, new Action<JavaExecSpec>() {
-            public void execute(JavaExecSpec javaExecSpec) {
-                javaExecSpec.setWorkingDir(getProject().getProjectDir());
+        File jsHint = getJsHint().getSingleFile();
+        String encoding = getEncoding();
+        String settingsHash = HashUtil.createCompactMD5(HashUtil.createHash(jsHint, "MD5").asHexString() + encoding);
+
+        // Only lint the files whose content has changed since the last run
+        File cacheFile = new File(getTemporaryDir(), "results.bin");
+        JsHintResultCache previousResults = JsHintResultCache.load(cacheFile);
+        if (previousResults != null && !previousResults.getSettingsHash().equals(settingsHash)) {
+            previousResults = null;
+        }
+        JsHintResultCache currentResults = new JsHintResultCache(settingsHash);
+
+        Map<File, Map<String, Object>> results = new LinkedHashMap<File, Map<String, Object>>();
+        Map<File, String> contentHashes = new LinkedHashMap<File, String>();
+        for (File file : getSource().getFiles()) {
+            String contentHash = HashUtil.createHash(file, "MD5").asHexString();
+            Map<String, Object> previousResult = previousResults == null ? null : previousResults.get(contentHash);
+            results.put(file, previousResult);
+            if (previousResult == null) {
+                contentHashes.put(file, contentHash);
+            } else {
+                currentResults.put(contentHash, previousResult);
             }
-        });
+        }
+
+        if (!contentHashes.isEmpty()) {
+            getLogger().info("Running JsHint on {} of {} files.", contentHashes.size(), results.size());
+            RhinoWorkerHandleFactory handleFactory = SharedRhinoWorkerHandleFactory.forBuild(getProject().getGradle(), workerProcessBuilderFactory);
 
-        JsHintSpec spec = new JsHintSpec();
-        spec.setSource(getSource().getFiles()); // flatten because we need to serialize
-        spec.setEncoding(getEncoding());
-        spec.setJsHint(getJsHint().getSingleFile());
+            LogLevel logLevel = getProject().getGradle().getStartParameter().getLogLevel();
+            RhinoWorkerHandle<JsHintResult, JsHintSpec> rhinoHandle = handleFactory.create(getRhinoClasspath(), createWorkerSpec(), logLevel, new Action<JavaExecSpec>() {
+                public void execute(JavaExecSpec javaExecSpec) {
+                    javaExecSpec.setWorkingDir(getProject().getRootProject().getProjectDir());
+                }
+            });
+
+            JsHintSpec spec = new JsHintSpec();
+            spec.setSource(new ArrayList<File>(contentHashes.keySet())); // flatten because we need to serialize
+            spec.setEncoding(encoding);
+            spec.setJsHint(jsHint);
 
-        JsHintResult result = rhinoHandle.process(spec);
+            JsHintResult result = rhinoHandle.process(spec);
+            for (Map.Entry<File, Map<String, Object>> fileEntry : result.getResults().entrySet()) {
+                results.put(fileEntry.getKey(), fileEntry.getValue());
+                currentResults.put(contentHashes.get(fileEntry.getKey()), fileEntry.getValue());
+            }
+        }
+        currentResults.store(cacheFile);
         setDidWork(true);
 
         // TODO - this is all terribly lame. We need some proper reporting here (which means implementing Reporting).
@@ -116,8 +152,8 @@ public class JsHint extends SourceTask {
         Logger logger = getLogger();
         boolean anyErrors = false;
 
-        Map<String, Map<?, ?>> reportData = new LinkedHashMap<String, Map<?, ?>>(result.getResults().size());
-        for (Map.Entry<File, Map<String, Object>> fileEntry: result.getResults().entrySet()) {
+        Map<String, Map<?, ?>> reportData = new LinkedHashMap<String, Map<?, ?>>(results.size());
+        for (Map.Entry<File, Map<String, Object>> fileEntry: results.entrySet()) {
             File file = fileEntry.getKey();
             Map<String, Object> data = fileEntry.getValue();
 
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.plugins.javascript.jshint.internal;
+
+import org.gradle.api.UncheckedIOException;
+import org.gradle.messaging.serialize.DefaultSerializer;
+import org.gradle.messaging.serialize.Serializer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.*;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The JSHint results of the source files linted by the last run of a task, keyed by a hash of the content of each source file. Persisted
+ * between builds so that unchanged source files are not linted again. Only valid for the JSHint script and encoding it was created for.
+ */
+public class JsHintResultCache implements Serializable {
+    private static final Logger LOGGER = LoggerFactory.getLogger(JsHintResultCache.class);
+
+    private final String settingsHash;
+    private final Map<String, Map<String, Object>> results = new HashMap<String, Map<String, Object>>();
+
+    public JsHintResultCache(String settingsHash) {
+        this.settingsHash = settingsHash;
+    }
+
+    public String getSettingsHash() {
+        return settingsHash;
+    }
+
+    public Map<String, Object> get(String contentHash) {
+        return results.get(contentHash);
+    }
+
+    public void put(String contentHash, Map<String, Object> result) {
+        results.put(contentHash, result);
+    }
+
+    /**
+     * Loads the cache from the given file. Returns null when there is no usable cache.
+     */
+    public static JsHintResultCache load(File cacheFile) {
+        if (!cacheFile.isFile()) {
+            return null;
+        }
+        Serializer<JsHintResultCache> serializer = new DefaultSerializer<JsHintResultCache>(JsHintResultCache.class.getClassLoader());
+        try {
+            InputStream inputStream = new BufferedInputStream(new FileInputStream(cacheFile));
+            try {
+                return serializer.read(inputStream);
+            } finally {
+                inputStream.close();
+            }
+        } catch (Exception e) {
+            LOGGER.debug(String.format("Could not read JSHint results from %s.", cacheFile), e);
+            return null;
+        }
+    }
+
+    public void store(File cacheFile) {
+        Serializer<JsHintResultCache> serializer = new DefaultSerializer<JsHintResultCache>(JsHintResultCache.class.getClassLoader());
+        cacheFile.getParentFile().mkdirs();
+        try {
+            OutputStream outputStream = new BufferedOutputStream(new FileOutputStream(cacheFile));
+            try {
+                serializer.write(outputStream, this);
+            } finally {
+                outputStream.close();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -18,15 +18,21 @@ package org.gradle.plugins.javascript.jshint.internal;
 
 import org.gradle.api.logging.Logger;
 import org.gradle.api.logging.Logging;
+import org.gradle.internal.UncheckedException;
+import org.gradle.internal.concurrent.DefaultExecutorFactory;
+import org.gradle.internal.concurrent.StoppableExecutor;
 import org.gradle.plugins.javascript.rhino.worker.RhinoWorker;
 import org.gradle.plugins.javascript.rhino.worker.RhinoWorkerUtils;
 import org.mozilla.javascript.Context;
 import org.mozilla.javascript.RhinoException;
+import org.mozilla.javascript.Script;
 import org.mozilla.javascript.Scriptable;
 
 import java.io.File;
-import java.util.LinkedHashMap;
-import java.util.Map;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.gradle.plugins.javascript.rhino.worker.RhinoWorkerUtils.*;
 
@@ -34,23 +40,71 @@ public class JsHintWorker implements RhinoWorker<JsHintResult, JsHintSpec> {
 
     private static final Logger LOGGER = Logging.getLogger(JsHintWorker.class);
 
-    public JsHintResult process(JsHintSpec spec) {
-        Scriptable jsHintScope = RhinoWorkerUtils.parse(spec.getJsHint(), "UTF-8");
+    // A worker may process many specs, so keep the compiled JSHint scripts around
+    private final Map<List<Object>, Script> scripts = new HashMap<List<Object>, Script>();
 
-        String encoding = spec.getEncoding();
+    public JsHintResult process(JsHintSpec spec) {
+        final Script jsHintScript = getScript(spec.getJsHint());
+        final String encoding = spec.getEncoding();
+        final List<File> targets = new ArrayList<File>();
+        for (File target : spec.getSource()) {
+            targets.add(target);
+        }
 
-        Map<File, Map<String, Object>> results = new LinkedHashMap<File, Map<String, Object>>();
+        // JSHINT keeps the state of the last run in its scope, so each thread lints its share of the files in a scope of its own
+        @SuppressWarnings("unchecked") final Map<String, Object>[] targetResults = new Map[targets.size()];
+        final AtomicInteger nextTarget = new AtomicInteger();
+        List<FutureTask<Void>> threads = new ArrayList<FutureTask<Void>>();
+        int threadCount = Math.min(Runtime.getRuntime().availableProcessors(), targets.size());
+        for (int i = 0; i < threadCount; i++) {
+            threads.add(new FutureTask<Void>(new Runnable() {
+                public void run() {
+                    Scriptable jsHintScope = RhinoWorkerUtils.execute(jsHintScript);
+                    int index;
+                    while ((index = nextTarget.getAndIncrement()) < targets.size()) {
+                        File target = targets.get(index);
+                        LOGGER.info("Reading file: {}", target.getAbsolutePath());
+                        String source = readFile(target, encoding);
+                        targetResults[index] = jsHint(jsHintScope, source, target.getName());
+                    }
+                }
+            }, null));
+        }
 
-        for (File target : spec.getSource()) {
-            LOGGER.info("Reading file: {}", target.getAbsolutePath());
-            String source = readFile(target, encoding);
-            Map<String, Object> result = jsHint(jsHintScope, source, target.getName());
-            results.put(target, result);
+        StoppableExecutor executor = new DefaultExecutorFactory().create("JsHint");
+        try {
+            for (FutureTask<Void> thread : threads) {
+                executor.execute(thread);
+            }
+            for (FutureTask<Void> thread : threads) {
+                thread.get();
+            }
+        } catch (ExecutionException e) {
+            throw UncheckedException.throwAsUncheckedException(e.getCause());
+        } catch (InterruptedException e) {
+            throw UncheckedException.throwAsUncheckedException(e);
+        } finally {
+            nextTarget.set(targets.size());
+            executor.stop();
         }
 
+        Map<File, Map<String, Object>> results = new LinkedHashMap<File, Map<String, Object>>();
+        for (int i = 0; i < targets.size(); i++) {
+            results.put(targets.get(i), targetResults[i]);
+        }
         return new JsHintResult(results);
     }
 
+    private synchronized Script getScript(File jsHint) {
+        List<Object> key = Arrays.<Object>asList(jsHint.getAbsolutePath(), jsHint.length(), jsHint.lastModified());
+        Script script = scripts.get(key);
+        if (script == null) {
+            script = RhinoWorkerUtils.compile(jsHint, "UTF-8");
+            scripts.put(key, script);
+        }
+        return script;
+    }
+
     private Map<String, Object> jsHint(Scriptable jsHintScope, final String source, final String sourceName) {
         return childScope(jsHintScope, new DefaultScopeOperation<Map<String, Object>>() {
             public Map<String, Object> action(Scriptable scope, Context context) {
@@ -21,6 +21,7 @@ import org.gradle.api.UncheckedIOException;
 import org.gradle.util.GFileUtils;
 import org.mozilla.javascript.Context;
 import org.mozilla.javascript.FunctionObject;
+import org.mozilla.javascript.Script;
 import org.mozilla.javascript.Scriptable;
 
 import java.io.*;
@@ -88,6 +89,39 @@ public abstract class RhinoWorkerUtils {
         return scope;
     }
 
+    /**
+     * Compiles the given source once, so that it can be executed in many scopes, on any thread.
+     */
+    public static Script compile(File source, String encoding) {
+        Context context = Context.enter();
+        try {
+            Reader reader = new InputStreamReader(new FileInputStream(source), encoding);
+            try {
+                return context.compileReader(reader, source.getName(), 0, null);
+            } finally {
+                reader.close();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            Context.exit();
+        }
+    }
+
+    /**
+     * Executes a compiled script in a new top level scope, and returns the scope.
+     */
+    public static Scriptable execute(Script script) {
+        Context context = Context.enter();
+        try {
+            Scriptable scope = context.initStandardObjects();
+            script.exec(context, scope);
+            return scope;
+        } finally {
+            Context.exit();
+        }
+    }
+
     public static <R> R childScope(Scriptable parentScope, ScopeOperation<R> operation) {
         Context context = Context.enter();
         try {
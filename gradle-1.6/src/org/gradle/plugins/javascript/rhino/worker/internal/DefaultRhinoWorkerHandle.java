@@ -16,6 +16,7 @@
 
 package org.gradle.plugins.javascript.rhino.worker.internal;
 
+import org.gradle.internal.Stoppable;
 import org.gradle.internal.UncheckedException;
 import org.gradle.plugins.javascript.rhino.worker.RhinoWorkerHandle;
 import org.gradle.process.internal.WorkerProcess;
@@ -23,22 +24,55 @@ import org.gradle.process.internal.WorkerProcess;
 import java.io.Serializable;
 import java.util.concurrent.CountDownLatch;
 
-public class DefaultRhinoWorkerHandle<R extends Serializable, P extends Serializable> implements RhinoWorkerHandle<R, P> {
+/**
+ * A handle to a Rhino worker process. The process is started when the first payload is processed, and then processes payloads one at a
+ * time until the handle is stopped. A handle which is not reusable stops the process once it has processed a single payload.
+ */
+public class DefaultRhinoWorkerHandle<R extends Serializable, P extends Serializable> implements RhinoWorkerHandle<R, P>, Stoppable {
 
     private final Class<R> resultType;
     private final WorkerProcess workerProcess;
+    private final boolean reusable;
+    private final Receiver receiver = new Receiver();
+    private RhinoClientWorkerProtocol<P> worker;
+    private boolean stopped;
 
     public DefaultRhinoWorkerHandle(Class<R> resultType, WorkerProcess workerProcess) {
+        this(resultType, workerProcess, false);
+    }
+
+    public DefaultRhinoWorkerHandle(Class<R> resultType, WorkerProcess workerProcess, boolean reusable) {
         this.resultType = resultType;
         this.workerProcess = workerProcess;
+        this.reusable = reusable;
     }
 
-    public R process(P payload) {
-        CountDownLatch latch = new CountDownLatch(1);
-        Receiver receiver = new Receiver(latch);
-        workerProcess.start();
-        workerProcess.getConnection().addIncoming(RhinoWorkerClientProtocol.class, receiver);
-        @SuppressWarnings("unchecked") RhinoClientWorkerProtocol<P> worker = workerProcess.getConnection().addOutgoing(RhinoClientWorkerProtocol.class);
+    public synchronized R process(P payload) {
+        if (stopped) {
+            throw new IllegalStateException("Cannot process a payload as this Rhino worker has been stopped.");
+        }
+        try {
+            return doProcess(payload);
+        } finally {
+            if (!reusable || receiver.initialisationError != null) {
+                // An initialisation error means the worker process has given up
+                stop();
+            }
+        }
+    }
+
+    private R doProcess(P payload) {
+        if (receiver.initialisationError != null) {
+            throw UncheckedException.throwAsUncheckedException(receiver.initialisationError);
+        }
+        CountDownLatch latch = receiver.reset();
+        if (worker == null) {
+            workerProcess.start();
+            workerProcess.getConnection().addIncoming(RhinoWorkerClientProtocol.class, receiver);
+            @SuppressWarnings("unchecked") RhinoClientWorkerProtocol<P> outgoing = workerProcess.getConnection().addOutgoing(RhinoClientWorkerProtocol.class);
+            worker = outgoing;
+        }
+
         worker.process(payload);
 
         try {
@@ -66,15 +100,32 @@ public class DefaultRhinoWorkerHandle<R extends Serializable, P extends Serializ
         }
     }
 
+    public synchronized void stop() {
+        if (stopped) {
+            return;
+        }
+        stopped = true;
+        if (worker == null) {
+            return;
+        }
+        if (receiver.initialisationError == null) {
+            worker.stop();
+        }
+        workerProcess.waitForStop();
+    }
+
     private static class Receiver implements RhinoWorkerClientProtocol {
 
-        private final CountDownLatch latch;
-        Exception initialisationError;
-        Serializable result;
-        Exception executionError;
+        private volatile CountDownLatch latch;
+        volatile Exception initialisationError;
+        volatile Serializable result;
+        volatile Exception executionError;
 
-        private Receiver(CountDownLatch latch) {
-            this.latch = latch;
+        CountDownLatch reset() {
+            result = null;
+            executionError = null;
+            latch = new CountDownLatch(1);
+            return latch;
         }
 
         public void initialisationError(Exception e) {
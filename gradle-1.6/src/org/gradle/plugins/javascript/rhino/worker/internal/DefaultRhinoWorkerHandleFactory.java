@@ -39,6 +39,11 @@ public class DefaultRhinoWorkerHandleFactory implements RhinoWorkerHandleFactory
     }
 
     public <R extends Serializable, P extends Serializable> RhinoWorkerHandle<R, P> create(Iterable<File> rhinoClasspath, RhinoWorkerSpec<R, P> workerSpec, LogLevel logLevel, Action<JavaExecSpec> javaExecSpecAction) {
+        WorkerProcess workerProcess = createWorkerProcess(rhinoClasspath, workerSpec, logLevel, javaExecSpecAction);
+        return new DefaultRhinoWorkerHandle<R, P>(workerSpec.getResultType(), workerProcess);
+    }
+
+    protected <R extends Serializable, P extends Serializable> WorkerProcess createWorkerProcess(Iterable<File> rhinoClasspath, RhinoWorkerSpec<R, P> workerSpec, LogLevel logLevel, Action<JavaExecSpec> javaExecSpecAction) {
         WorkerProcessBuilder builder = workerProcessBuilderFactory.create();
         builder.setLogLevel(logLevel);
         builder.applicationClasspath(rhinoClasspath);
@@ -49,8 +54,7 @@ public class DefaultRhinoWorkerHandleFactory implements RhinoWorkerHandleFactory
             javaExecSpecAction.execute(javaCommand);
         }
 
-        WorkerProcess workerProcess = builder.worker(new RhinoServer<R, P>(workerSpec)).build();
-        return new DefaultRhinoWorkerHandle<R, P>(workerSpec.getResultType(), workerProcess);
+        return builder.worker(new RhinoServer<R, P>(workerSpec)).build();
     }
 
 }
@@ -22,4 +22,6 @@ public interface RhinoClientWorkerProtocol<P extends Serializable> {
 
     void process(P payload);
 
+    void stop();
+
 }
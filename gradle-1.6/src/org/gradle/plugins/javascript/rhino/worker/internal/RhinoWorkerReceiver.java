@@ -42,6 +42,7 @@ public class RhinoWorkerReceiver<P extends Serializable> implements RhinoClientW
             clientHandle.initialisationError(
                     new IllegalArgumentException(String.format("Expected payload of type '%s', received '%s' with type '%s'", payloadType.getName(), payload, payload.getClass().getName()))
             );
+            stop();
             return;
         }
 
@@ -52,11 +53,13 @@ public class RhinoWorkerReceiver<P extends Serializable> implements RhinoClientW
             clientHandle.executionError(worker.convertException(e));
         } catch (Exception e) {
             clientHandle.executionError(e);
-        } finally {
-            latch.countDown();
         }
     }
 
+    public void stop() {
+        latch.countDown();
+    }
+
     public void waitFor() {
         try {
             latch.await();
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.plugins.javascript.rhino.worker.internal;
+
+import org.gradle.BuildAdapter;
+import org.gradle.BuildResult;
+import org.gradle.api.Action;
+import org.gradle.api.invocation.Gradle;
+import org.gradle.api.logging.LogLevel;
+import org.gradle.internal.CompositeStoppable;
+import org.gradle.internal.Factory;
+import org.gradle.internal.Stoppable;
+import org.gradle.plugins.javascript.rhino.worker.RhinoWorkerHandle;
+import org.gradle.plugins.javascript.rhino.worker.RhinoWorkerSpec;
+import org.gradle.process.JavaExecSpec;
+import org.gradle.process.internal.WorkerProcessBuilder;
+
+import java.io.File;
+import java.io.Serializable;
+import java.util.*;
+
+/**
+ * A {@link org.gradle.plugins.javascript.rhino.worker.RhinoWorkerHandleFactory} which hands out reusable handles, so that all requests
+ * made during a build with the same Rhino classpath, worker type and log level share a single worker process. This saves starting a
+ * JVM per request, and lets the worker keep its scripts loaded between requests. The Java command of a shared worker process is
+ * configured by the request which starts it. The worker processes are stopped when the build finishes.
+ */
+public class SharedRhinoWorkerHandleFactory extends DefaultRhinoWorkerHandleFactory implements Stoppable {
+
+    private static final Map<Gradle, SharedRhinoWorkerHandleFactory> FACTORIES = new HashMap<Gradle, SharedRhinoWorkerHandleFactory>();
+
+    private final Map<List<Object>, DefaultRhinoWorkerHandle<?, ?>> handles = new HashMap<List<Object>, DefaultRhinoWorkerHandle<?, ?>>();
+
+    public SharedRhinoWorkerHandleFactory(Factory<WorkerProcessBuilder> workerProcessBuilderFactory) {
+        super(workerProcessBuilderFactory);
+    }
+
+    /**
+     * Returns the factory shared by the given build, creating it if required.
+     */
+    public static synchronized SharedRhinoWorkerHandleFactory forBuild(final Gradle build, Factory<WorkerProcessBuilder> workerProcessBuilderFactory) {
+        SharedRhinoWorkerHandleFactory factory = FACTORIES.get(build);
+        if (factory == null) {
+            factory = new SharedRhinoWorkerHandleFactory(workerProcessBuilderFactory);
+            FACTORIES.put(build, factory);
+            build.addBuildListener(new BuildAdapter() {
+                @Override
+                public void buildFinished(BuildResult result) {
+                    SharedRhinoWorkerHandleFactory factory;
+                    synchronized (SharedRhinoWorkerHandleFactory.class) {
+                        factory = FACTORIES.remove(build);
+                    }
+                    factory.stop();
+                }
+            });
+        }
+        return factory;
+    }
+
+    @Override
+    public synchronized <R extends Serializable, P extends Serializable> RhinoWorkerHandle<R, P> create(Iterable<File> rhinoClasspath, RhinoWorkerSpec<R, P> workerSpec, LogLevel logLevel, Action<JavaExecSpec> javaExecSpecAction) {
+        List<File> classpath = new ArrayList<File>();
+        for (File file : rhinoClasspath) {
+            classpath.add(file);
+        }
+        List<Object> key = Arrays.<Object>asList(classpath, workerSpec.getWorkerType().getName(), logLevel);
+        @SuppressWarnings("unchecked") DefaultRhinoWorkerHandle<R, P> handle = (DefaultRhinoWorkerHandle<R, P>) handles.get(key);
+        if (handle == null) {
+            handle = new DefaultRhinoWorkerHandle<R, P>(workerSpec.getResultType(), createWorkerProcess(classpath, workerSpec, logLevel, javaExecSpecAction), true);
+            handles.put(key, handle);
+        }
+        return handle;
+    }
+
+    public synchronized void stop() {
+        try {
+            CompositeStoppable.stoppable(handles.values()).stop();
+        } finally {
+            handles.clear();
+        }
+    }
+}
@@ -23,10 +23,8 @@ import org.gradle.api.logging.LogLevel;
 import org.gradle.internal.Factory;
 import org.gradle.internal.id.IdGenerator;
 import org.gradle.messaging.remote.*;
-import org.gradle.process.internal.child.ApplicationClassesInIsolatedClassLoaderWorkerFactory;
-import org.gradle.process.internal.child.ApplicationClassesInSystemClassLoaderWorkerFactory;
-import org.gradle.process.internal.child.EncodedStream;
-import org.gradle.process.internal.child.WorkerFactory;
+import org.gradle.internal.classpath.DefaultClassPath;
+import org.gradle.process.internal.child.*;
 import org.gradle.util.ClasspathUtil;
 import org.gradle.util.GUtil;
 import org.slf4j.Logger;
@@ -36,6 +34,8 @@ import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.OutputStream;
 import java.net.URL;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
 
@@ -46,21 +46,37 @@ public class DefaultWorkerProcessFactory implements Factory<WorkerProcessBuilder
     private final ClassPathRegistry classPathRegistry;
     private final FileResolver resolver;
     private final IdGenerator<?> idGenerator;
+    private final WorkerProcessPool workerProcessPool;
 
     public DefaultWorkerProcessFactory(LogLevel workerLogLevel, MessagingServer server,
                                        ClassPathRegistry classPathRegistry, FileResolver resolver,
-                                       IdGenerator<?> idGenerator) {
+                                       IdGenerator<?> idGenerator, WorkerProcessPool workerProcessPool) {
         this.workerLogLevel = workerLogLevel;
         this.server = server;
         this.classPathRegistry = classPathRegistry;
         this.resolver = resolver;
         this.idGenerator = idGenerator;
+        this.workerProcessPool = workerProcessPool;
     }
 
     public WorkerProcessBuilder create() {
         return new DefaultWorkerProcessBuilder();
     }
 
+    private PooledWorkerHostClient startPooledHost(Object hostKey, WorkerProcessBuilder workerBuilder) {
+        PooledWorkerHostClient host = new PooledWorkerHostClient(hostKey);
+        WorkerProcessBuilder hostBuilder = create();
+        hostBuilder.setLogLevel(workerBuilder.getLogLevel());
+        workerBuilder.getJavaCommand().copyTo(hostBuilder.getJavaCommand());
+        hostBuilder.getJavaCommand().listener(host);
+        hostBuilder.worker(new PooledWorkerHost());
+        WorkerProcess process = hostBuilder.build();
+        process.start();
+        host.attach(process, hostBuilder.getJavaCommand().getDisplayName());
+        LOGGER.debug("Started pooled worker process {}", host);
+        return host;
+    }
+
     private class DefaultWorkerProcessBuilder extends WorkerProcessBuilder {
         public DefaultWorkerProcessBuilder() {
             super(resolver);
@@ -72,6 +88,9 @@ public class DefaultWorkerProcessFactory implements Factory<WorkerProcessBuilder
             if (getWorker() == null) {
                 throw new IllegalStateException("No worker action specified for this worker process.");
             }
+            if (isReusable() && !isLoadApplicationInSystemClassLoader()) {
+                return buildPooled();
+            }
 
             final DefaultWorkerProcess workerProcess = new DefaultWorkerProcess(120, TimeUnit.SECONDS);
             ConnectionAcceptor acceptor = server.accept(new Action<ConnectEvent<ObjectConnection>>() {
@@ -111,6 +130,39 @@ public class DefaultWorkerProcessFactory implements Factory<WorkerProcessBuilder
             return workerProcess;
         }
 
+        private WorkerProcess buildPooled() {
+            final Object hostKey = Arrays.asList(getJavaCommand().getExecutable(), getJavaCommand().getWorkingDir(),
+                    new HashMap<String, Object>(getJavaCommand().getEnvironment()), getJavaCommand().getAllJvmArgs(), getLogLevel());
+            Factory<PooledWorkerHostClient> hostFactory = new Factory<PooledWorkerHostClient>() {
+                public PooledWorkerHostClient create() {
+                    return startPooledHost(hostKey, DefaultWorkerProcessBuilder.this);
+                }
+            };
+
+            Object id = idGenerator.generateId();
+            String displayName = String.format("Gradle Worker %s", id);
+            final PooledWorkerProcess workerProcess = new PooledWorkerProcess(workerProcessPool, hostKey, hostFactory, displayName, 120, TimeUnit.SECONDS);
+            ConnectionAcceptor acceptor = server.accept(new Action<ConnectEvent<ObjectConnection>>() {
+                public void execute(ConnectEvent<ObjectConnection> event) {
+                    workerProcess.onConnect(event.getConnection());
+                }
+            });
+            workerProcess.startAccepting(acceptor);
+            Address localAddress = acceptor.getAddress();
+
+            List<URL> implementationClassPath = ClasspathUtil.getClasspath(getWorker().getClass().getClassLoader());
+
+            LOGGER.debug("Creating {} to run in a pooled worker process", displayName);
+            LOGGER.debug("Using application classpath {}", getApplicationClasspath());
+            LOGGER.debug("Using implementation classpath {}", implementationClassPath);
+
+            ActionExecutionWorker worker = new ActionExecutionWorker(getWorker(), id, displayName, localAddress);
+            workerProcess.setWorker(GUtil.serialize(worker), implementationClassPath,
+                    new DefaultClassPath(getApplicationClasspath()).getAsURIs(), getSharedPackages());
+
+            return workerProcess;
+        }
+
         private void attachStdInContent(WorkerFactory workerFactory, JavaExecHandleBuilder javaCommand) {
             ByteArrayOutputStream bytes = new ByteArrayOutputStream();
             OutputStream encoded = new EncodedStream.EncodedOutput(bytes);
@@ -204,7 +204,9 @@ public class JavaExecHandleBuilder extends AbstractExecHandleBuilder implements
     }
 
     public JavaForkOptions copyTo(JavaForkOptions options) {
-        throw new UnsupportedOperationException();
+        javaOptions.copyTo(options);
+        super.copyTo(options);
+        return this;
     }
 
     public ExecHandle build() {
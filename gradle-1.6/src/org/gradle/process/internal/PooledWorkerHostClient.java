@@ -0,0 +1,118 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.process.internal;
+
+import org.gradle.internal.Stoppable;
+import org.gradle.process.ExecResult;
+import org.gradle.process.internal.child.PooledWorkerHostClientProtocol;
+import org.gradle.process.internal.child.PooledWorkerHostProtocol;
+
+import java.net.URI;
+import java.net.URL;
+import java.util.Collection;
+
+/**
+ * The build process side of a pooled worker process. Runs worker actions one at a time in the process, and tracks whether the process
+ * is still alive and available for reuse.
+ */
+public class PooledWorkerHostClient implements PooledWorkerHostClientProtocol, ExecHandleListener, Stoppable {
+    private final Object key;
+    private WorkerProcess process;
+    private PooledWorkerHostProtocol host;
+    private PooledWorkerProcess currentWorker;
+    private String displayName;
+    private boolean running = true;
+
+    public PooledWorkerHostClient(Object key) {
+        this.key = key;
+    }
+
+    public Object getKey() {
+        return key;
+    }
+
+    /**
+     * Attaches this client to the given started worker process.
+     */
+    public void attach(WorkerProcess process, String displayName) {
+        this.process = process;
+        synchronized (this) {
+            this.displayName = displayName;
+        }
+        host = process.getConnection().addOutgoing(PooledWorkerHostProtocol.class);
+        process.getConnection().addIncoming(PooledWorkerHostClientProtocol.class, this);
+    }
+
+    public synchronized boolean isIdle() {
+        return running && currentWorker == null;
+    }
+
+    public void runWorker(PooledWorkerProcess worker, byte[] serializedWorker, Collection<URL> implementationClassPath, Collection<URI> applicationClassPath, Collection<String> sharedPackages) {
+        synchronized (this) {
+            if (!running) {
+                throw new ExecException(String.format("Cannot run %s, as %s has stopped.", worker, displayName));
+            }
+            if (currentWorker != null) {
+                throw new IllegalStateException(String.format("Cannot run %s, as %s is already running %s.", worker, displayName, currentWorker));
+            }
+            currentWorker = worker;
+        }
+        host.runWorker(serializedWorker, implementationClassPath, applicationClassPath, sharedPackages);
+    }
+
+    public void workerFinished(Throwable failure) {
+        PooledWorkerProcess worker;
+        synchronized (this) {
+            worker = currentWorker;
+            currentWorker = null;
+        }
+        if (worker != null) {
+            worker.onFinish(failure);
+        }
+    }
+
+    public void executionStarted(ExecHandle execHandle) {
+    }
+
+    public void executionFinished(ExecHandle execHandle, ExecResult execResult) {
+        PooledWorkerProcess worker;
+        synchronized (this) {
+            running = false;
+            worker = currentWorker;
+            currentWorker = null;
+        }
+        if (worker != null) {
+            worker.onFinish(new ExecException(String.format("%s stopped unexpectedly while running %s.", this, worker)));
+        }
+    }
+
+    public void stop() {
+        boolean stillRunning;
+        synchronized (this) {
+            stillRunning = running;
+        }
+        if (stillRunning) {
+            host.stop();
+            process.waitForStop();
+        }
+    }
+
+    @Override
+    public synchronized String toString() {
+        return displayName;
+    }
+}
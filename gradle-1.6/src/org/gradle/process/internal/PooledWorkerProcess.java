@@ -0,0 +1,234 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.process.internal;
+
+import org.gradle.api.logging.Logger;
+import org.gradle.api.logging.Logging;
+import org.gradle.internal.CompositeStoppable;
+import org.gradle.internal.Factory;
+import org.gradle.internal.UncheckedException;
+import org.gradle.messaging.remote.ConnectionAcceptor;
+import org.gradle.messaging.remote.ObjectConnection;
+import org.gradle.process.ExecResult;
+
+import java.net.URI;
+import java.net.URL;
+import java.util.Collection;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A {@link WorkerProcess} which runs its worker action in a worker process taken from a {@link WorkerProcessPool}, rather than in a new
+ * process. The worker process is returned to the pool once the worker action has completed.
+ */
+public class PooledWorkerProcess implements WorkerProcess {
+    private final static Logger LOGGER = Logging.getLogger(PooledWorkerProcess.class);
+    private final Lock lock = new ReentrantLock();
+    private final Condition condition = lock.newCondition();
+    private final WorkerProcessPool pool;
+    private final Object hostKey;
+    private final Factory<PooledWorkerHostClient> hostFactory;
+    private final String displayName;
+    private final long connectTimeout;
+    private byte[] serializedWorker;
+    private Collection<URL> implementationClassPath;
+    private Collection<URI> applicationClassPath;
+    private Collection<String> sharedPackages;
+    private ObjectConnection connection;
+    private ConnectionAcceptor acceptor;
+    private PooledWorkerHostClient host;
+    private boolean finished;
+    private Throwable failure;
+
+    public PooledWorkerProcess(WorkerProcessPool pool, Object hostKey, Factory<PooledWorkerHostClient> hostFactory, String displayName,
+                               int connectTimeoutValue, TimeUnit connectTimeoutUnits) {
+        this.pool = pool;
+        this.hostKey = hostKey;
+        this.hostFactory = hostFactory;
+        this.displayName = displayName;
+        connectTimeout = connectTimeoutUnits.toMillis(connectTimeoutValue);
+    }
+
+    public void setWorker(byte[] serializedWorker, Collection<URL> implementationClassPath, Collection<URI> applicationClassPath,
+                          Collection<String> sharedPackages) {
+        this.serializedWorker = serializedWorker;
+        this.implementationClassPath = implementationClassPath;
+        this.applicationClassPath = applicationClassPath;
+        this.sharedPackages = sharedPackages;
+    }
+
+    public void startAccepting(ConnectionAcceptor acceptor) {
+        lock.lock();
+        try {
+            this.acceptor = acceptor;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void onConnect(ObjectConnection connection) {
+        ConnectionAcceptor stoppable;
+
+        lock.lock();
+        try {
+            LOGGER.debug("Received connection {} from {}", connection, displayName);
+            this.connection = connection;
+            condition.signalAll();
+            stoppable = acceptor;
+        } finally {
+            lock.unlock();
+        }
+
+        stoppable.requestStop();
+    }
+
+    void onFinish(Throwable failure) {
+        lock.lock();
+        try {
+            this.failure = failure;
+            finished = true;
+            condition.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return displayName;
+    }
+
+    public ObjectConnection getConnection() {
+        return connection;
+    }
+
+    public void start() {
+        try {
+            doStart();
+        } catch (Throwable t) {
+            cleanup();
+            throw UncheckedException.throwAsUncheckedException(t);
+        }
+    }
+
+    private void doStart() {
+        PooledWorkerHostClient host = pool.acquire(hostKey);
+        if (host == null) {
+            host = hostFactory.create();
+        }
+        lock.lock();
+        try {
+            this.host = host;
+        } finally {
+            lock.unlock();
+        }
+
+        LOGGER.debug("Running {} in pooled worker process {}.", displayName, host);
+        host.runWorker(this, serializedWorker, implementationClassPath, applicationClassPath, sharedPackages);
+
+        Date connectExpiry = new Date(System.currentTimeMillis() + connectTimeout);
+        lock.lock();
+        try {
+            while (connection == null && !finished) {
+                try {
+                    if (!condition.awaitUntil(connectExpiry)) {
+                        throw new ExecException(String.format("Timeout after waiting %.1f seconds for %s (running in %s) to connect.", ((double) connectTimeout) / 1000, displayName, host));
+                    }
+                } catch (InterruptedException e) {
+                    throw UncheckedException.throwAsUncheckedException(e);
+                }
+            }
+            if (failure != null) {
+                throw UncheckedException.throwAsUncheckedException(failure);
+            }
+            if (connection == null) {
+                throw new ExecException(String.format("Never received a connection from %s.", displayName));
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public ExecResult waitForStop() {
+        try {
+            lock.lock();
+            try {
+                while (!finished) {
+                    condition.await();
+                }
+                if (failure != null) {
+                    throw new ExecException(String.format("%s finished with a failure.", displayName), failure);
+                }
+            } catch (InterruptedException e) {
+                throw UncheckedException.throwAsUncheckedException(e);
+            } finally {
+                lock.unlock();
+            }
+            return new ExecResultImpl();
+        } finally {
+            cleanup();
+        }
+    }
+
+    private void cleanup() {
+        CompositeStoppable stoppable;
+        PooledWorkerHostClient host;
+        boolean reusable;
+        lock.lock();
+        try {
+            stoppable = CompositeStoppable.stoppable(acceptor, connection);
+            host = this.host;
+            reusable = finished && failure == null;
+        } finally {
+            this.connection = null;
+            this.acceptor = null;
+            this.host = null;
+            lock.unlock();
+        }
+        stoppable.stop();
+        if (host == null) {
+            return;
+        }
+        if (reusable) {
+            pool.release(host);
+        } else {
+            host.stop();
+        }
+    }
+
+    private static class ExecResultImpl implements ExecResult {
+        public int getExitValue() {
+            return 0;
+        }
+
+        public ExecResult assertNormalExitValue() throws ExecException {
+            return this;
+        }
+
+        public ExecResult rethrowFailure() throws ExecException {
+            return this;
+        }
+
+        @Override
+        public String toString() {
+            return "{exitValue=0, failure=null}";
+        }
+    }
+}
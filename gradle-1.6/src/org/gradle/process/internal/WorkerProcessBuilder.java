@@ -42,6 +42,7 @@ public abstract class WorkerProcessBuilder {
     private Action<? super WorkerProcessContext> action;
     private LogLevel logLevel = LogLevel.LIFECYCLE;
     private boolean loadApplicationInSystemClassLoader;
+    private boolean reusable;
 
     public WorkerProcessBuilder(FileResolver fileResolver) {
         javaCommand = new JavaExecHandleBuilder(fileResolver);
@@ -99,5 +100,17 @@ public abstract class WorkerProcessBuilder {
         this.loadApplicationInSystemClassLoader = loadApplicationInSystemClassLoader;
     }
 
+    public boolean isReusable() {
+        return reusable;
+    }
+
+    /**
+     * Specifies whether the worker action may run in a pooled worker process which is reused for other worker actions with the same
+     * launch configuration. Ignored when the application classes are loaded in the system ClassLoader.
+     */
+    public void setReusable(boolean reusable) {
+        this.reusable = reusable;
+    }
+
     public abstract WorkerProcess build();
 }
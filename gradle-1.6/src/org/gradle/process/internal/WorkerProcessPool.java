@@ -0,0 +1,99 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.process.internal;
+
+import org.gradle.api.logging.Logger;
+import org.gradle.api.logging.Logging;
+import org.gradle.internal.CompositeStoppable;
+import org.gradle.internal.Stoppable;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>A pool of idle worker processes, which can be reused to run worker actions instead of starting a new process for each one.</p>
+ *
+ * <p>Processes are pooled by a key which describes how the process was launched, such as its JVM arguments and bootstrap classpath. The
+ * pool lives as long as the services of the process that owns it, so a daemon hands the same worker processes out across builds.</p>
+ */
+public class WorkerProcessPool implements Stoppable {
+    private static final Logger LOGGER = Logging.getLogger(WorkerProcessPool.class);
+    private final Map<Object, List<PooledWorkerHostClient>> idleHosts = new HashMap<Object, List<PooledWorkerHostClient>>();
+    private final int maxIdleHostsPerKey;
+    private boolean stopped;
+
+    public WorkerProcessPool() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    public WorkerProcessPool(int maxIdleHostsPerKey) {
+        this.maxIdleHostsPerKey = maxIdleHostsPerKey;
+    }
+
+    /**
+     * Takes an idle worker process with the given key out of the pool.
+     *
+     * @return The worker process, or null if there is no idle worker process with the given key.
+     */
+    public synchronized PooledWorkerHostClient acquire(Object key) {
+        List<PooledWorkerHostClient> hosts = idleHosts.get(key);
+        while (hosts != null && !hosts.isEmpty()) {
+            PooledWorkerHostClient host = hosts.remove(hosts.size() - 1);
+            if (host.isIdle()) {
+                LOGGER.debug("Reusing pooled worker process {}.", host);
+                return host;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns a worker process to the pool. Stops the process if it cannot be reused or the pool is full.
+     */
+    public void release(PooledWorkerHostClient host) {
+        synchronized (this) {
+            if (!stopped && host.isIdle()) {
+                List<PooledWorkerHostClient> hosts = idleHosts.get(host.getKey());
+                if (hosts == null) {
+                    hosts = new ArrayList<PooledWorkerHostClient>();
+                    idleHosts.put(host.getKey(), hosts);
+                }
+                if (hosts.size() < maxIdleHostsPerKey) {
+                    hosts.add(host);
+                    return;
+                }
+            }
+        }
+        LOGGER.debug("Stopping pooled worker process {}.", host);
+        host.stop();
+    }
+
+    public void stop() {
+        List<PooledWorkerHostClient> hosts = new ArrayList<PooledWorkerHostClient>();
+        synchronized (this) {
+            stopped = true;
+            for (List<PooledWorkerHostClient> hostsForKey : idleHosts.values()) {
+                hosts.addAll(hostsForKey);
+            }
+            idleHosts.clear();
+        }
+        LOGGER.debug("Stopping {} pooled worker process(es).", hosts.size());
+        CompositeStoppable.stoppable(hosts).stop();
+    }
+}
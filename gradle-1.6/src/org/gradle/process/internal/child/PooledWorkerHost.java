@@ -0,0 +1,117 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.process.internal.child;
+
+import org.gradle.api.Action;
+import org.gradle.internal.UncheckedException;
+import org.gradle.internal.io.ClassLoaderObjectInputStream;
+import org.gradle.process.internal.WorkerProcessContext;
+import org.gradle.util.DefaultClassLoaderFactory;
+import org.gradle.util.FilteringClassLoader;
+import org.gradle.util.MultiParentClassLoader;
+import org.gradle.util.MutableURLClassLoader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.ObjectInputStream;
+import java.io.Serializable;
+import java.net.URI;
+import java.net.URL;
+import java.util.Collection;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * <p>A long-lived worker action which keeps a worker process running so that it can be handed out by a
+ * {@link org.gradle.process.internal.WorkerProcessPool}. Runs each worker action it receives in a new set of ClassLoaders, so
+ * that the classes of one worker action are not visible to the next.</p>
+ *
+ * <p>Class loader hierarchy for each worker action:</p>
+ * <pre>
+ *                              jvm bootstrap
+ *                                   |
+ *                   +---------------+----------------+
+ *                   |                                |
+ *            pooled worker host                  application
+ *         (PooledWorkerHost, logging)                |
+ *                   |                                |
+ *                filter                           filter
+ *              (logging)                     (shared packages)
+ *                   |                                |
+ *                   +--------------+-----------------+
+ *                                  |
+ *                            implementation
+ *                (ActionExecutionWorker + action implementation)
+ * </pre>
+ */
+public class PooledWorkerHost implements Action<WorkerProcessContext>, PooledWorkerHostProtocol, Serializable {
+    private static final Logger LOGGER = LoggerFactory.getLogger(PooledWorkerHost.class);
+
+    private volatile PooledWorkerHostClientProtocol client;
+    private volatile CountDownLatch stop;
+
+    public void execute(WorkerProcessContext context) {
+        client = context.getServerConnection().addOutgoing(PooledWorkerHostClientProtocol.class);
+        stop = new CountDownLatch(1);
+        context.getServerConnection().addIncoming(PooledWorkerHostProtocol.class, this);
+        LOGGER.debug("{} waiting for worker actions.", context.getDisplayName());
+        try {
+            stop.await();
+        } catch (InterruptedException e) {
+            throw UncheckedException.throwAsUncheckedException(e);
+        }
+    }
+
+    public void runWorker(byte[] serializedWorker, Collection<URL> implementationClassPath, Collection<URI> applicationClassPath, Collection<String> sharedPackages) {
+        Throwable failure = null;
+        try {
+            doRunWorker(serializedWorker, implementationClassPath, applicationClassPath, sharedPackages);
+        } catch (Throwable t) {
+            LOGGER.debug("Worker action failed in pooled worker process.", t);
+            failure = t;
+        }
+        client.workerFinished(failure);
+    }
+
+    private void doRunWorker(byte[] serializedWorker, Collection<URL> implementationClassPath, Collection<URI> applicationClassPath, Collection<String> sharedPackages) throws Exception {
+        final ClassLoader applicationClassLoader = new DefaultClassLoaderFactory().createIsolatedClassLoader(applicationClassPath);
+        FilteringClassLoader filteredApplication = new FilteringClassLoader(applicationClassLoader);
+        for (String sharedPackage : sharedPackages) {
+            filteredApplication.allowPackage(sharedPackage);
+        }
+
+        FilteringClassLoader filteredHost = new FilteringClassLoader(getClass().getClassLoader());
+        filteredHost.allowPackage("org.slf4j");
+        filteredHost.allowClass(Action.class);
+        filteredHost.allowClass(WorkerContext.class);
+
+        MutableURLClassLoader implementationClassLoader = new MutableURLClassLoader(new MultiParentClassLoader(filteredApplication, filteredHost));
+        implementationClassLoader.addURLs(implementationClassPath);
+
+        ObjectInputStream instr = new ClassLoaderObjectInputStream(new ByteArrayInputStream(serializedWorker), implementationClassLoader);
+        Action<WorkerContext> action = (Action<WorkerContext>) instr.readObject();
+        action.execute(new WorkerContext() {
+            public ClassLoader getApplicationClassLoader() {
+                return applicationClassLoader;
+            }
+        });
+    }
+
+    public void stop() {
+        stop.countDown();
+    }
+}
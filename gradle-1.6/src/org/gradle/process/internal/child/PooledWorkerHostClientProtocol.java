@@ -0,0 +1,29 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.process.internal.child;
+
+/**
+ * Client part of the pooled worker process protocol. Used to report back the completion of a worker action.
+ */
+public interface PooledWorkerHostClientProtocol {
+    /**
+     * Called when a worker action has completed.
+     *
+     * @param failure The failure of the worker action, or null if it completed successfully.
+     */
+    void workerFinished(Throwable failure);
+}
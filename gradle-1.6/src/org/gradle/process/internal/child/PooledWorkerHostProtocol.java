@@ -0,0 +1,33 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.process.internal.child;
+
+import org.gradle.internal.Stoppable;
+
+import java.net.URI;
+import java.net.URL;
+import java.util.Collection;
+
+/**
+ * Server part of the pooled worker process protocol. Used by the build process to hand worker actions to an idle pooled worker process.
+ */
+public interface PooledWorkerHostProtocol extends Stoppable {
+    /**
+     * Runs the given serialized worker action, using a new application ClassLoader and implementation ClassLoader.
+     */
+    void runWorker(byte[] serializedWorker, Collection<URL> implementationClassPath, Collection<URI> applicationClassPath, Collection<String> sharedPackages);
+}
@@ -53,6 +53,8 @@ public class BuildProfile {
     private long buildFinished;
     private StartParameter startParameter;
     private boolean successful;
+    private long contendedFileLocks;
+    private long fileLockWaitTime;
 
     public BuildProfile(StartParameter startParameter) {
         this.startParameter = startParameter;
@@ -224,6 +226,30 @@ public class BuildProfile {
         return result;
     }
 
+    /**
+     * Get the number of file locks which could not be acquired immediately, because another process held them.
+     * @return
+     */
+    public long getContendedFileLocks() {
+        return contendedFileLocks;
+    }
+
+    public void setContendedFileLocks(long contendedFileLocks) {
+        this.contendedFileLocks = contendedFileLocks;
+    }
+
+    /**
+     * Get the total time (in mSec) spent waiting for other processes to release file locks.
+     * @return
+     */
+    public long getFileLockWaitTime() {
+        return fileLockWaitTime;
+    }
+
+    public void setFileLockWaitTime(long fileLockWaitTime) {
+        this.fileLockWaitTime = fileLockWaitTime;
+    }
+
     public String getBuildStartedDescription() {
         return String.format("Started on: %s", DATE_FORMAT.format(buildStarted));
     }
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gradle.profile;
+
+import org.gradle.api.UncheckedIOException;
+import org.gradle.util.GFileUtils;
+
+import java.io.*;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes trace events in the Chrome trace event format, which can be loaded into chrome://tracing.
+ */
+public class ChromeTraceRenderer {
+    public void writeTo(List<TraceEvent> events, File file) {
+        GFileUtils.mkdirs(file.getParentFile());
+        try {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file), "UTF-8"));
+            try {
+                write(events, writer);
+            } finally {
+                writer.close();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(String.format("Could not write trace file '%s'.", file), e);
+        }
+    }
+
+    private void write(List<TraceEvent> events, Writer writer) throws IOException {
+        Map<Long, String> threadNames = new LinkedHashMap<Long, String>();
+        writer.write("{\"traceEvents\":[");
+        boolean first = true;
+        for (TraceEvent event : events) {
+            threadNames.put(event.getThreadId(), event.getThreadName());
+            if (!first) {
+                writer.write(",");
+            }
+            first = false;
+            writer.write("\n{\"name\":");
+            writeString(event.getName(), writer);
+            writer.write(",\"cat\":");
+            writeString(event.getCategory(), writer);
+            writer.write(",\"ph\":\"X\",\"pid\":0,\"tid\":");
+            writer.write(String.valueOf(event.getThreadId()));
+            writer.write(",\"ts\":");
+            writer.write(String.valueOf(event.getStartMicros()));
+            writer.write(",\"dur\":");
+            writer.write(String.valueOf(event.getDurationMicros()));
+            writer.write("}");
+        }
+        for (Map.Entry<Long, String> entry : threadNames.entrySet()) {
+            if (!first) {
+                writer.write(",");
+            }
+            first = false;
+            writer.write("\n{\"name\":\"thread_name\",\"ph\":\"M\",\"pid\":0,\"tid\":");
+            writer.write(String.valueOf(entry.getKey()));
+            writer.write(",\"args\":{\"name\":");
+            writeString(entry.getValue(), writer);
+            writer.write("}}");
+        }
+        writer.write("\n],\"displayTimeUnit\":\"ms\"}\n");
+    }
+
+    private void writeString(String value, Writer writer) throws IOException {
+        writer.write('"');
+        for (int i = 0; i < value.length(); i++) {
+            char ch = value.charAt(i);
+            switch (ch) {
+                case '"':
+                    writer.write("\\\"");
+                    break;
+                case '\\':
+                    writer.write("\\\\");
+                    break;
+                case '\n':
+                    writer.write("\\n");
+                    break;
+                case '\r':
+                    writer.write("\\r");
+                    break;
+                case '\t':
+                    writer.write("\\t");
+                    break;
+                default:
+                    if (ch < 0x20) {
+                        writer.write(String.format("\\u%04x", (int) ch));
+                    } else {
+                        writer.write(ch);
+                    }
+            }
+        }
+        writer.write('"');
+    }
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gradle.profile;
+
+import net.jcip.annotations.ThreadSafe;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@ThreadSafe
+public class DefaultTraceRecorder implements TraceRecorder {
+    private final long startNanos = System.nanoTime();
+    private final List<TraceEvent> events = new ArrayList<TraceEvent>();
+
+    public TraceSpan start(final String category, final String name) {
+        final Thread thread = Thread.currentThread();
+        final long spanStartNanos = System.nanoTime();
+        return new TraceSpan() {
+            public void end() {
+                long spanEndNanos = System.nanoTime();
+                TraceEvent event = new TraceEvent(category, name, thread.getId(), thread.getName(), toMicros(spanStartNanos - startNanos), toMicros(spanEndNanos - spanStartNanos));
+                synchronized (events) {
+                    events.add(event);
+                }
+            }
+        };
+    }
+
+    public List<TraceEvent> getEvents() {
+        synchronized (events) {
+            return new ArrayList<TraceEvent>(events);
+        }
+    }
+
+    private static long toMicros(long nanos) {
+        return TimeUnit.NANOSECONDS.toMicros(nanos);
+    }
+}
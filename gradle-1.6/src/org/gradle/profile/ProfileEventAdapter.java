@@ -27,6 +27,7 @@ import org.gradle.api.execution.TaskExecutionListener;
 import org.gradle.api.initialization.Settings;
 import org.gradle.api.invocation.Gradle;
 import org.gradle.api.tasks.TaskState;
+import org.gradle.cache.internal.FileLockManager;
 import org.gradle.initialization.BuildRequestMetaData;
 import org.gradle.internal.TimeProvider;
 
@@ -37,12 +38,16 @@ public class ProfileEventAdapter implements BuildListener, ProjectEvaluationList
     private final BuildRequestMetaData buildMetaData;
     private final TimeProvider timeProvider;
     private final ProfileListener listener;
+    private final FileLockManager fileLockManager;
     private BuildProfile buildProfile;
+    private long initialContendedFileLocks;
+    private long initialFileLockWaitTime;
 
-    public ProfileEventAdapter(BuildRequestMetaData buildMetaData, TimeProvider timeProvider, ProfileListener listener) {
+    public ProfileEventAdapter(BuildRequestMetaData buildMetaData, TimeProvider timeProvider, ProfileListener listener, FileLockManager fileLockManager) {
         this.buildMetaData = buildMetaData;
         this.timeProvider = timeProvider;
         this.listener = listener;
+        this.fileLockManager = fileLockManager;
     }
 
     // BuildListener
@@ -50,6 +55,9 @@ public class ProfileEventAdapter implements BuildListener, ProjectEvaluationList
         buildProfile = new BuildProfile(gradle.getStartParameter());
         buildProfile.setBuildStarted(timeProvider.getCurrentTime());
         buildProfile.setProfilingStarted(buildMetaData.getBuildTimeClock().getStartTime());
+        // The lock manager lives as long as the process, so only count the waits which happen during this build
+        initialContendedFileLocks = fileLockManager.getContendedLockCount();
+        initialFileLockWaitTime = fileLockManager.getLockWaitTime();
     }
 
     public void settingsEvaluated(Settings settings) {
@@ -65,6 +73,8 @@ public class ProfileEventAdapter implements BuildListener, ProjectEvaluationList
     public void buildFinished(BuildResult result) {
         buildProfile.setBuildFinished(timeProvider.getCurrentTime());
         buildProfile.setSuccessful(result.getFailure() == null);
+        buildProfile.setContendedFileLocks(fileLockManager.getContendedLockCount() - initialContendedFileLocks);
+        buildProfile.setFileLockWaitTime(fileLockManager.getLockWaitTime() - initialFileLockWaitTime);
         try {
             listener.buildFinished(buildProfile);
         } finally {
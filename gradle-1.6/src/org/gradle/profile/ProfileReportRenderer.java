@@ -101,6 +101,10 @@ public class ProfileReportRenderer {
                                     htmlWriter.startElement("td").characters("Task Execution").endElement();
                                     htmlWriter.startElement("td").attribute("class", "numeric").characters(DURATION_FORMAT.format(model.getElapsedTotalExecutionTime())).endElement();
                                 htmlWriter.endElement();
+                                htmlWriter.startElement("tr");
+                                    htmlWriter.startElement("td").characters(String.format("Waiting for File Locks (%d contended)", model.getContendedFileLocks())).endElement();
+                                    htmlWriter.startElement("td").attribute("class", "numeric").characters(DURATION_FORMAT.format(model.getFileLockWaitTime())).endElement();
+                                htmlWriter.endElement();
                             htmlWriter.endElement();
                         htmlWriter.endElement();
                         htmlWriter.startElement("div").attribute("class", "tab").attribute("id", "tab1");
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gradle.profile;
+
+/**
+ * A completed span of work, recorded by a {@link TraceRecorder}.
+ */
+public class TraceEvent {
+    private final String category;
+    private final String name;
+    private final long threadId;
+    private final String threadName;
+    private final long startMicros;
+    private final long durationMicros;
+
+    public TraceEvent(String category, String name, long threadId, String threadName, long startMicros, long durationMicros) {
+        this.category = category;
+        this.name = name;
+        this.threadId = threadId;
+        this.threadName = threadName;
+        this.startMicros = startMicros;
+        this.durationMicros = durationMicros;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getThreadId() {
+        return threadId;
+    }
+
+    public String getThreadName() {
+        return threadName;
+    }
+
+    /**
+     * Returns the start time of this span, in microseconds since the recorder was created.
+     */
+    public long getStartMicros() {
+        return startMicros;
+    }
+
+    public long getDurationMicros() {
+        return durationMicros;
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gradle.profile;
+
+import org.gradle.BuildAdapter;
+import org.gradle.api.Project;
+import org.gradle.api.ProjectEvaluationListener;
+import org.gradle.api.ProjectState;
+import org.gradle.api.Task;
+import org.gradle.api.artifacts.DependencyResolutionListener;
+import org.gradle.api.artifacts.ResolvableDependencies;
+import org.gradle.api.execution.TaskExecutionListener;
+import org.gradle.api.invocation.Gradle;
+import org.gradle.api.tasks.TaskState;
+
+import java.io.File;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Records spans for project configuration, dependency resolution and task execution, and writes all spans recorded for the build to a Chrome
+ * trace file in the <build_dir>/reports/profile directory.
+ */
+public class TraceGeneratingProfileListener extends BuildAdapter implements ProfileListener, ProjectEvaluationListener, DependencyResolutionListener, TaskExecutionListener {
+    private static final SimpleDateFormat FILE_DATE_FORMAT = new SimpleDateFormat("yyyy-MM-dd-HH-mm-ss");
+    private final TraceRecorder recorder;
+    private final Map<Object, TraceSpan> spans = new ConcurrentHashMap<Object, TraceSpan>();
+    private File buildDir;
+
+    public TraceGeneratingProfileListener(TraceRecorder recorder) {
+        this.recorder = recorder;
+    }
+
+    @Override
+    public void projectsEvaluated(Gradle gradle) {
+        buildDir = gradle.getRootProject().getBuildDir();
+    }
+
+    public void beforeEvaluate(Project project) {
+        start(project, "configure", project.getPath());
+    }
+
+    public void afterEvaluate(Project project, ProjectState state) {
+        end(project);
+    }
+
+    public void beforeResolve(ResolvableDependencies dependencies) {
+        start(dependencies, "resolve dependencies", dependencies.getPath());
+    }
+
+    public void afterResolve(ResolvableDependencies dependencies) {
+        end(dependencies);
+    }
+
+    public void beforeExecute(Task task) {
+        start(task, "task", task.getPath());
+    }
+
+    public void afterExecute(Task task, TaskState state) {
+        end(task);
+    }
+
+    private void start(Object target, String category, String name) {
+        spans.put(target, recorder.start(category, name));
+    }
+
+    private void end(Object target) {
+        TraceSpan span = spans.remove(target);
+        if (span != null) {
+            span.end();
+        }
+    }
+
+    public void buildFinished(BuildProfile buildProfile) {
+        if (buildDir == null) {
+            return;
+        }
+        File file = new File(buildDir, "reports/profile/profile-" + FILE_DATE_FORMAT.format(new Date(buildProfile.getBuildStarted())) + ".json");
+        new ChromeTraceRenderer().writeTo(recorder.getEvents(), file);
+    }
+}
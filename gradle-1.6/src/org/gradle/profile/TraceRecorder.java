@@ -0,0 +1,36 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gradle.profile;
+
+import java.util.List;
+
+/**
+ * Records timed spans of the work done by a build, along with the thread that did the work, so that the build can be rendered as a trace.
+ */
+public interface TraceRecorder {
+    /**
+     * Starts a span on the current thread. The span must be ended by the same thread.
+     *
+     * @param category The kind of work, such as "configure" or "cache lock wait".
+     * @param name The thing being worked on, such as a project or task path.
+     */
+    TraceSpan start(String category, String name);
+
+    /**
+     * Returns the spans that have been ended so far, in the order that they were ended.
+     */
+    List<TraceEvent> getEvents();
+}
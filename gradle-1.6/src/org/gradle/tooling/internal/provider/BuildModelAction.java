@@ -15,19 +15,34 @@
  */
 package org.gradle.tooling.internal.provider;
 
+import org.gradle.StartParameter;
 import org.gradle.api.Action;
+import org.gradle.api.Project;
+import org.gradle.api.artifacts.*;
+import org.gradle.api.artifacts.result.DependencyResult;
+import org.gradle.api.file.SourceDirectorySet;
+import org.gradle.api.initialization.Settings;
+import org.gradle.api.internal.DynamicObject;
+import org.gradle.api.internal.DynamicObjectAware;
 import org.gradle.api.internal.GradleInternal;
 import org.gradle.api.internal.project.ProjectInternal;
+import org.gradle.api.internal.resource.Resource;
+import org.gradle.groovy.scripts.Script;
+import org.gradle.groovy.scripts.ScriptExecutionListener;
 import org.gradle.initialization.*;
+import org.gradle.internal.service.UnknownServiceException;
 import org.gradle.tooling.provider.model.ToolingModelBuilder;
 import org.gradle.tooling.provider.model.ToolingModelBuilderRegistry;
 import org.gradle.util.ClasspathUtil;
 import org.gradle.util.GUtil;
+import org.gradle.util.hash.HashUtil;
 
+import java.io.ByteArrayInputStream;
+import java.io.File;
 import java.io.Serializable;
+import java.net.URI;
 import java.net.URL;
-import java.util.Collections;
-import java.util.List;
+import java.util.*;
 
 public class BuildModelAction implements BuildAction<ToolingModel>, Serializable {
     private final boolean runTasks;
@@ -57,14 +72,176 @@ public class BuildModelAction implements BuildAction<ToolingModel>, Serializable
                     model = builder.buildAll(modelName, gradle.getDefaultProject());
                 }
             });
+            return configure(buildController, launcher);
+        }
+
+        return toToolingModel();
+    }
+
+    private ToolingModel configure(BuildController buildController, DefaultGradleLauncher launcher) {
+        ToolingModelCache cache = getToolingModelCache(launcher);
+        if (cache == null) {
             buildController.configure();
+            return toToolingModel();
         }
 
+        String key = cacheKey(launcher.getStartParameter());
+        ToolingModel cachedModel = cache.get(key);
+        if (cachedModel != null) {
+            return cachedModel;
+        }
+
+        ConfigurationInputsListener inputsListener = new ConfigurationInputsListener();
+        launcher.addListener(inputsListener);
+        buildController.configure();
+        ToolingModel toolingModel = toToolingModel();
+        if (inputsListener.cacheable) {
+            Set<File> inputs = configurationInputs(launcher.getGradle(), inputsListener.scripts);
+            if (inputs != null) {
+                cache.put(key, toolingModel, inputs);
+            }
+        }
+        return toolingModel;
+    }
+
+    private ToolingModel toToolingModel() {
         List<URL> classpath = model == null ? Collections.<URL>emptyList() : ClasspathUtil.getClasspath(model.getClass().getClassLoader());
         byte[] serializedModel = GUtil.serialize(model);
         return new ToolingModel(classpath, serializedModel);
     }
 
+    /**
+     * Returns the model cache, when running in a process which outlives this build and the build does not ask for caches to be bypassed.
+     */
+    private ToolingModelCache getToolingModelCache(DefaultGradleLauncher launcher) {
+        StartParameter startParameter = launcher.getStartParameter();
+        if (startParameter.isRefreshDependencies() || startParameter.isRecompileScripts()) {
+            return null;
+        }
+        try {
+            return launcher.getGradle().getServices().get(ToolingModelCache.class);
+        } catch (UnknownServiceException e) {
+            return null;
+        }
+    }
+
+    private String cacheKey(StartParameter startParameter) {
+        SortedMap<String, String> environment = new TreeMap<String, String>(System.getenv());
+        String startParameterHash = HashUtil.createHash(new ByteArrayInputStream(GUtil.serialize(startParameter)), "MD5").asHexString();
+        String environmentHash = HashUtil.createHash(environment.toString(), "MD5").asHexString();
+        return modelName + ":" + startParameterHash + ":" + environmentHash;
+    }
+
+    /**
+     * Returns the files whose changes invalidate the model, or null when the model may change without any change to the local file system.
+     */
+    private Set<File> configurationInputs(GradleInternal gradle, Set<File> scripts) {
+        StartParameter startParameter = gradle.getStartParameter();
+        File rootDir = gradle.getRootProject().getProjectDir();
+        Set<File> inputs = new HashSet<File>(scripts);
+        for (Project project : gradle.getRootProject().getAllprojects()) {
+            inputs.add(project.getBuildFile());
+            inputs.add(new File(project.getProjectDir(), Project.GRADLE_PROPERTIES));
+            addSourceInputs(project, inputs);
+            if (!addDependencyInputs(project, rootDir, inputs)) {
+                return null;
+            }
+        }
+        inputs.add(new File(rootDir, Settings.DEFAULT_SETTINGS_FILE));
+        inputs.add(new File(startParameter.getCurrentDir(), Settings.DEFAULT_SETTINGS_FILE));
+        inputs.add(new File(startParameter.getGradleUserHomeDir(), Project.GRADLE_PROPERTIES));
+        inputs.add(new File(startParameter.getGradleUserHomeDir(), "init.d"));
+        addBuildSrcInputs(new File(rootDir, BaseSettings.DEFAULT_BUILD_SRC_DIR), inputs);
+        return inputs;
+    }
+
+    /**
+     * Adds the root directories of the source sets of the given project, so that adding or removing a source directory invalidates the model.
+     */
+    private void addSourceInputs(Project project, Set<File> inputs) {
+        if (!project.hasProperty("sourceSets") || !(project.property("sourceSets") instanceof Iterable)) {
+            return;
+        }
+        for (Object sourceSet : (Iterable<?>) project.property("sourceSets")) {
+            if (!(sourceSet instanceof DynamicObjectAware)) {
+                continue;
+            }
+            DynamicObject sourceSetObject = ((DynamicObjectAware) sourceSet).getAsDynamicObject();
+            if (sourceSetObject.hasProperty("allSource") && sourceSetObject.getProperty("allSource") instanceof SourceDirectorySet) {
+                inputs.addAll(((SourceDirectorySet) sourceSetObject.getProperty("allSource")).getSrcDirs());
+            }
+        }
+    }
+
+    /**
+     * Adds the files of the dependencies of the given project. Returns false when a dependency may resolve to different files without any change to
+     * the build, such as a module with a dynamic or changing version, or when a configuration could not be resolved.
+     */
+    private boolean addDependencyInputs(Project project, File rootDir, Set<File> inputs) {
+        for (Configuration configuration : project.getConfigurations()) {
+            for (Dependency dependency : configuration.getDependencies()) {
+                if (dependency instanceof ExternalModuleDependency) {
+                    ExternalModuleDependency moduleDependency = (ExternalModuleDependency) dependency;
+                    if (moduleDependency.isChanging() || isDynamic(moduleDependency.getVersion())) {
+                        return false;
+                    }
+                } else if (dependency instanceof FileCollectionDependency) {
+                    // Include the containing directories, to notice files added next to the existing ones, as with fileTree('libs')
+                    for (File file : ((FileCollectionDependency) dependency).resolve()) {
+                        inputs.add(file);
+                        if (file.getParentFile() != null) {
+                            inputs.add(file.getParentFile());
+                        }
+                    }
+                } else if (!(dependency instanceof ProjectDependency)) {
+                    return false;
+                }
+            }
+            if (configuration.getState() == Configuration.State.RESOLVED_WITH_FAILURES) {
+                return false;
+            }
+            if (configuration.getState() == Configuration.State.RESOLVED) {
+                for (DependencyResult dependencyResult : configuration.getIncoming().getResolutionResult().getAllDependencies()) {
+                    if (isDynamic(dependencyResult.getRequested().getVersion())) {
+                        return false;
+                    }
+                }
+                String rootPath = rootDir.getAbsolutePath() + File.separator;
+                for (ResolvedArtifact artifact : configuration.getResolvedConfiguration().getResolvedArtifacts()) {
+                    // The artifacts of the projects of this build are outputs of the build, rather than inputs
+                    if (!artifact.getFile().getAbsolutePath().startsWith(rootPath)) {
+                        inputs.add(artifact.getFile());
+                    }
+                }
+            }
+        }
+        return true;
+    }
+
+    private static boolean isDynamic(String version) {
+        return version == null
+                || version.endsWith("+")
+                || version.startsWith("latest.")
+                || version.startsWith("[") || version.startsWith("]") || version.startsWith("(");
+    }
+
+    private void addBuildSrcInputs(File dir, Set<File> inputs) {
+        inputs.add(dir);
+        File[] files = dir.listFiles();
+        if (files == null) {
+            return;
+        }
+        for (File file : files) {
+            if (file.isDirectory()) {
+                if (!file.getName().equals("build") && !file.getName().equals(".gradle")) {
+                    addBuildSrcInputs(file, inputs);
+                }
+            } else {
+                inputs.add(file);
+            }
+        }
+    }
+
     private ToolingModelBuilderRegistry getToolingModelBuilderRegistry(GradleInternal gradle) {
         return gradle.getDefaultProject().getServices().get(ToolingModelBuilderRegistry.class);
     }
@@ -76,4 +253,27 @@ public class BuildModelAction implements BuildAction<ToolingModel>, Serializable
             }
         });
     }
+
+    /**
+     * Collects the script files run while configuring the build. A script which is not read from the local file system cannot be checked for changes,
+     * so makes the model uncacheable.
+     */
+    private static class ConfigurationInputsListener implements ScriptExecutionListener {
+        private final Set<File> scripts = new HashSet<File>();
+        private boolean cacheable = true;
+
+        public void beforeScript(Script script) {
+            Resource resource = script.getScriptSource().getResource();
+            File file = resource.getFile();
+            URI uri = resource.getURI();
+            if (file != null) {
+                scripts.add(file);
+            } else if (uri != null && !"file".equals(uri.getScheme())) {
+                cacheable = false;
+            }
+        }
+
+        public void afterScript(Script script, Throwable result) {
+        }
+    }
 }
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.tooling.internal.provider;
+
+import org.gradle.util.hash.HashUtil;
+
+import java.io.File;
+import java.util.*;
+
+/**
+ * Keeps the most recently built tooling models, so that a long-lived process can hand out a model again without configuring the build,
+ * provided none of the files which were used to configure the build have changed since the model was built.
+ */
+public class ToolingModelCache {
+    static final int MAX_MODELS = 10;
+
+    private final Map<String, CachedModel> models = new LinkedHashMap<String, CachedModel>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, CachedModel> eldest) {
+            return size() > MAX_MODELS;
+        }
+    };
+
+    /**
+     * Returns the model cached for the given key, or null when there is no model, or some input of the model has changed.
+     */
+    public synchronized ToolingModel get(String key) {
+        CachedModel cachedModel = models.get(key);
+        if (cachedModel == null) {
+            return null;
+        }
+        if (!cachedModel.inputs.equals(snapshot(cachedModel.inputs.keySet()))) {
+            models.remove(key);
+            return null;
+        }
+        return cachedModel.model;
+    }
+
+    /**
+     * Caches a model along with the files which were used to configure the build.
+     */
+    public synchronized void put(String key, ToolingModel model, Collection<File> inputs) {
+        models.put(key, new CachedModel(model, snapshot(inputs)));
+    }
+
+    private static Map<File, String> snapshot(Collection<File> files) {
+        Map<File, String> snapshots = new HashMap<File, String>();
+        for (File file : files) {
+            if (file.isFile()) {
+                snapshots.put(file, HashUtil.createHash(file, "MD5").asHexString());
+            } else if (file.isDirectory()) {
+                // Detects files being added to or removed from the directory
+                snapshots.put(file, "directory " + file.lastModified());
+            } else {
+                snapshots.put(file, "missing");
+            }
+        }
+        return snapshots;
+    }
+
+    private static class CachedModel {
+        private final ToolingModel model;
+        private final Map<File, String> inputs;
+
+        private CachedModel(ToolingModel model, Map<File, String> inputs) {
+            this.model = model;
+            this.inputs = inputs;
+        }
+    }
+}
@@ -21,6 +21,8 @@ import java.net.URL;
 import java.security.AccessController;
 import java.security.PrivilegedAction;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * A ClassLoader which hides all non-system classes, packages and resources. Allows certain non-system packages and classes to be declared as visible. By default, only the Java system classes,
@@ -36,6 +38,8 @@ public class FilteringClassLoader extends ClassLoader {
     private final Set<String> resourceNames = new HashSet<String>();
     private final Set<String> classNames = new HashSet<String>();
     private final Set<String> disallowedClassNames = new HashSet<String>();
+    // The names of classes which are not visible, either because they are filtered out or because the parent cannot load them
+    private final ConcurrentMap<String, Boolean> hiddenClassNames = new ConcurrentHashMap<String, Boolean>();
 
     static {
         EXT_CLASS_LOADER = ClassLoader.getSystemClassLoader().getParent();
@@ -55,18 +59,27 @@ public class FilteringClassLoader extends ClassLoader {
 
     @Override
     protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+        if (hiddenClassNames.containsKey(name)) {
+            throw new ClassNotFoundException(String.format("%s not found.", name));
+        }
+
         Class<?> cl;
         try {
             cl = super.loadClass(name, false);
+        } catch (ClassNotFoundException e) {
+            hiddenClassNames.put(name, Boolean.TRUE);
+            throw e;
         } catch (NoClassDefFoundError e) {
             if (classAllowed(name)) {
                 throw e;
             }
             // The class isn't visible
+            hiddenClassNames.put(name, Boolean.TRUE);
             throw new ClassNotFoundException(String.format("%s not found.", name));
         }
 
         if (!allowed(cl)) {
+            hiddenClassNames.put(name, Boolean.TRUE);
             throw new ClassNotFoundException(String.format("%s not found.", cl.getName()));
         }
         if (resolve) {
@@ -169,6 +182,7 @@ public class FilteringClassLoader extends ClassLoader {
      * @param packageName the package name
      */
     public void allowPackage(String packageName) {
+        hiddenClassNames.clear();
         packageNames.add(packageName);
         packagePrefixes.add(packageName + ".");
         resourcePrefixes.add(packageName.replace('.', '/') + '/');
@@ -180,6 +194,7 @@ public class FilteringClassLoader extends ClassLoader {
      * @param clazz the class
      */
     public void allowClass(Class<?> clazz) {
+        hiddenClassNames.clear();
         classNames.add(clazz.getName());
     }
 
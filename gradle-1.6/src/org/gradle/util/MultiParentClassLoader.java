@@ -15,18 +15,33 @@
  */
 package org.gradle.util;
 
+import org.gradle.internal.classpath.ClassPath;
+
+import java.io.File;
 import java.util.*;
 import java.net.URL;
 import java.io.IOException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
 
 /**
  * A {@code ClassLoader} which delegates to multiple parent ClassLoaders.
+ *
+ * <p>Parents are queried in order. A parent may be added along with its class path, in which case a class from a package on that class
+ * path is requested from that parent first, rather than from each parent in turn. The names of classes which none of the parents can load
+ * are remembered until another parent is added.</p>
  */
 public class MultiParentClassLoader extends ClassLoader implements ClasspathSource {
     private final List<ClassLoader> parents;
     private final JavaMethod<ClassLoader, Package[]> getPackagesMethod;
     private final JavaMethod<ClassLoader, Package> getPackageMethod;
+    private final Map<ClassLoader, ClassPath> parentClassPaths = new ConcurrentHashMap<ClassLoader, ClassPath>();
+    private final ConcurrentMap<String, Boolean> missingClasses = new ConcurrentHashMap<String, Boolean>();
+    private volatile Map<String, ClassLoader> packageOwners;
+    private volatile int generation;
 
     public MultiParentClassLoader(ClassLoader... parents) {
         super(null);
@@ -35,8 +50,25 @@ public class MultiParentClassLoader extends ClassLoader implements ClasspathSour
         getPackageMethod = JavaMethod.create(ClassLoader.class, Package.class, "getPackage", String.class);
     }
 
-    public void addParent(ClassLoader parent) {
+    public synchronized void addParent(ClassLoader parent) {
         parents.add(parent);
+        parentsChanged();
+    }
+
+    /**
+     * Adds a parent which loads its classes from the given class path, in addition to those it loads from its own parents. Classes from
+     * the packages on the class path are requested from this parent before any other parent is queried, so the packages should not also
+     * be provided by a preceding parent.
+     */
+    public synchronized void addParent(ClassLoader parent, ClassPath classPath) {
+        parentClassPaths.put(parent, classPath);
+        addParent(parent);
+    }
+
+    private void parentsChanged() {
+        generation++;
+        packageOwners = null;
+        missingClasses.clear();
     }
 
     public void collectClasspath(Collection<? super URL> classpath) {
@@ -47,16 +79,116 @@ public class MultiParentClassLoader extends ClassLoader implements ClasspathSour
 
     @Override
     protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+        if (missingClasses.containsKey(name)) {
+            throw new ClassNotFoundException(String.format("%s not found.", name));
+        }
+
+        int initialGeneration = generation;
+        ClassLoader owner = getPackageOwner(name);
+        if (owner != null) {
+            try {
+                return owner.loadClass(name);
+            } catch (ClassNotFoundException e) {
+                // Not provided by the owner of the package - try the other parents
+            }
+        }
         for (ClassLoader parent : parents) {
+            if (parent == owner) {
+                continue;
+            }
             try {
                 return parent.loadClass(name);
             } catch (ClassNotFoundException e) {
                 // Expected
             }
         }
+
+        synchronized (this) {
+            if (generation == initialGeneration) {
+                missingClasses.put(name, Boolean.TRUE);
+            }
+        }
         throw new ClassNotFoundException(String.format("%s not found.", name));
     }
 
+    private ClassLoader getPackageOwner(String className) {
+        if (parentClassPaths.isEmpty()) {
+            return null;
+        }
+        int index = className.lastIndexOf('.');
+        if (index < 0) {
+            return null;
+        }
+        return getPackageOwners().get(className.substring(0, index));
+    }
+
+    private Map<String, ClassLoader> getPackageOwners() {
+        Map<String, ClassLoader> owners = packageOwners;
+        if (owners != null) {
+            return owners;
+        }
+        synchronized (this) {
+            if (packageOwners == null) {
+                owners = new HashMap<String, ClassLoader>();
+                for (ClassLoader parent : parents) {
+                    ClassPath classPath = parentClassPaths.get(parent);
+                    if (classPath == null) {
+                        continue;
+                    }
+                    Set<String> packages = new HashSet<String>();
+                    for (File file : classPath.getAsFiles()) {
+                        collectPackages(file, packages);
+                    }
+                    for (String packageName : packages) {
+                        if (!owners.containsKey(packageName)) {
+                            owners.put(packageName, parent);
+                        }
+                    }
+                }
+                packageOwners = owners;
+            }
+            return packageOwners;
+        }
+    }
+
+    private static void collectPackages(File file, Set<String> packages) {
+        if (file.isDirectory()) {
+            collectPackages(file, "", packages);
+        } else if (file.isFile()) {
+            try {
+                ZipFile zipFile = new ZipFile(file);
+                try {
+                    Enumeration<? extends ZipEntry> entries = zipFile.entries();
+                    while (entries.hasMoreElements()) {
+                        String entryName = entries.nextElement().getName();
+                        int index = entryName.lastIndexOf('/');
+                        if (index > 0 && entryName.endsWith(".class")) {
+                            packages.add(entryName.substring(0, index).replace('/', '.'));
+                        }
+                    }
+                } finally {
+                    zipFile.close();
+                }
+            } catch (IOException e) {
+                // Not a readable archive - classes in it are found by querying each parent in turn
+            }
+        }
+    }
+
+    private static void collectPackages(File dir, String packageName, Set<String> packages) {
+        File[] children = dir.listFiles();
+        if (children == null) {
+            return;
+        }
+        for (File child : children) {
+            if (child.isDirectory()) {
+                collectPackages(child, packageName.length() == 0 ? child.getName() : packageName + "." + child.getName(), packages);
+            } else if (packageName.length() > 0 && child.getName().endsWith(".class")) {
+                packages.add(packageName);
+            }
+        }
+    }
+
     @Override
     protected Package getPackage(String name) {
         for (ClassLoader parent : parents) {
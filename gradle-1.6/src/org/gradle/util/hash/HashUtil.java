@@ -21,8 +21,26 @@ import org.gradle.internal.UncheckedException;
 import java.io.*;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.Map;
 
 public class HashUtil {
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    // MessageDigest.getInstance() looks up the provider each time it is called, so reuse the digests and read buffers of each thread
+    private static final ThreadLocal<Map<String, MessageDigest>> DIGESTS = new ThreadLocal<Map<String, MessageDigest>>() {
+        @Override
+        protected Map<String, MessageDigest> initialValue() {
+            return new HashMap<String, MessageDigest>();
+        }
+    };
+    private static final ThreadLocal<byte[]> BUFFERS = new ThreadLocal<byte[]>() {
+        @Override
+        protected byte[] initialValue() {
+            return new byte[BUFFER_SIZE];
+        }
+    };
+
     public static HashValue createHash(String scriptText, String algorithm) {
         MessageDigest messageDigest = createMessageDigest(algorithm);
         messageDigest.update(scriptText.getBytes());
@@ -40,7 +58,7 @@ public class HashUtil {
     public static HashValue createHash(InputStream instr, String algorithm) {
         MessageDigest messageDigest = createMessageDigest(algorithm);
         try {
-            byte[] buffer = new byte[4096];
+            byte[] buffer = getBuffer();
             try {
                 while (true) {
                     int nread = instr.read(buffer);
@@ -58,12 +76,29 @@ public class HashUtil {
         return new HashValue(messageDigest.digest());
     }
 
+    /**
+     * Returns a read buffer for use by the current thread. The buffer is shared with other callers on the same thread, so must
+     * not be held on to.
+     */
+    public static byte[] getBuffer() {
+        return BUFFERS.get();
+    }
+
     private static MessageDigest createMessageDigest(String algorithm) {
-        try {
-            return MessageDigest.getInstance(algorithm);
-        } catch (NoSuchAlgorithmException e) {
-            throw UncheckedException.throwAsUncheckedException(e);
+        Map<String, MessageDigest> digests = DIGESTS.get();
+        MessageDigest messageDigest = digests.get(algorithm);
+        if (messageDigest == null) {
+            try {
+                messageDigest = MessageDigest.getInstance(algorithm);
+            } catch (NoSuchAlgorithmException e) {
+                throw UncheckedException.throwAsUncheckedException(e);
+            }
+            digests.put(algorithm, messageDigest);
+        } else {
+            // May have been left part way through a hash by a failed read
+            messageDigest.reset();
         }
+        return messageDigest;
     }
 
     public static String createCompactMD5(String scriptText) {